@@ -0,0 +1,79 @@
+package database;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.split.android.client.storage.db.AttributesEntity;
+import io.split.android.client.storage.db.ImpressionsCountEntity;
+import io.split.android.client.storage.db.MySegmentEntity;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.StorageRecordStatus;
+
+import static io.split.android.client.storage.db.SplitRoomDatabase.MIGRATION_1_2;
+import static io.split.android.client.storage.db.SplitRoomDatabase.MIGRATION_2_3;
+
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration_test";
+
+    @Rule
+    public MigrationTestHelper mHelper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(),
+            SplitRoomDatabase.class.getCanonicalName(),
+            new FrameworkSQLiteOpenHelperFactory());
+
+    @Test
+    public void migrateFrom1To3() throws IOException {
+        SupportSQLiteDatabase db = mHelper.createDatabase(TEST_DB, 1);
+        ContentValues values = new ContentValues();
+        values.put("user_key", "key1");
+        values.put("segment_list", "s1,s2");
+        values.put("updated_at", 100L);
+        db.insert("my_segments", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        mHelper.runMigrationsAndValidate(TEST_DB, 2, true, MIGRATION_1_2).close();
+        mHelper.runMigrationsAndValidate(TEST_DB, 3, true, MIGRATION_2_3).close();
+
+        // Opening with Room checks the migrated tables against the entities
+        SplitRoomDatabase roomDb = Room.databaseBuilder(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                SplitRoomDatabase.class, TEST_DB)
+                .addMigrations(MIGRATION_1_2, MIGRATION_2_3)
+                .build();
+        mHelper.closeWhenFinished(roomDb);
+
+        MySegmentEntity segments = roomDb.mySegmentDao().getByUserKeys("key1");
+        Assert.assertEquals("s1,s2", segments.getSegmentList());
+
+        AttributesEntity attributes = new AttributesEntity();
+        attributes.setUserKey("key1");
+        attributes.setAttributes("{\"att1\":1}");
+        attributes.setUpdatedAt(200L);
+        roomDb.attributesDao().update(attributes);
+        Assert.assertEquals("{\"att1\":1}", roomDb.attributesDao().getByUserKey("key1").getAttributes());
+
+        ImpressionsCountEntity count = new ImpressionsCountEntity();
+        count.setBody("{}");
+        count.setCreatedAt(300L);
+        count.setStatus(StorageRecordStatus.ACTIVE);
+        List<ImpressionsCountEntity> counts = new ArrayList<>();
+        counts.add(count);
+        roomDb.impressionsCountDao().insert(counts);
+        Assert.assertEquals(1, roomDb.impressionsCountDao().getBy(0L, StorageRecordStatus.ACTIVE, 10).size());
+    }
+}
@@ -1,5 +1,6 @@
 package fake;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Map;
@@ -7,6 +8,7 @@ import java.util.Map;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpResponse;
 import io.split.android.client.network.HttpStreamRequest;
 import io.split.android.client.network.HttpStreamResponse;
@@ -39,6 +41,17 @@ public class HttpClientMock implements HttpClient {
         return new HttpRequestMock(response);
     }
 
+    @Override
+    public HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBody body) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            body.writeTo(stream);
+            return request(uri, httpMethod, stream.toString("UTF-8"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public HttpStreamRequest streamRequest(URI uri) {
         HttpStreamResponse response = mResponseDispatcher.getStreamResponse(uri);
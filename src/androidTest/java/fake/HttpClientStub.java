@@ -6,6 +6,7 @@ import java.util.Map;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpStreamRequest;
 
 public class HttpClientStub implements HttpClient {
@@ -27,6 +28,11 @@ public class HttpClientStub implements HttpClient {
         return new HttpRequestStub();
     }
 
+    @Override
+    public HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBody body) {
+        return new HttpRequestStub();
+    }
+
     @Override
     public HttpStreamRequest streamRequest(URI uri) {
         return null;
@@ -116,4 +116,34 @@ public class AlwaysReturnControlSplitClient implements io.split.android.client.S
     }
 
 
+
+    @Override
+    public boolean setAttribute(String attributeName, Object value) {
+        return false;
+    }
+
+    @Override
+    public Object getAttribute(String attributeName) {
+        return null;
+    }
+
+    @Override
+    public boolean setAttributes(Map<String, Object> attributes) {
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> getAllAttributes() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public boolean removeAttribute(String attributeName) {
+        return false;
+    }
+
+    @Override
+    public boolean clearAttributes() {
+        return false;
+    }
 }
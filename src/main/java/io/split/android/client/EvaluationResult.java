@@ -1,10 +1,14 @@
 package io.split.android.client;
 
+/**
+ * Immutable, evaluations return the same instance for the same outcome of a split
+ */
 public final class EvaluationResult {
     private final String _treatment;
     private final String _label;
     private final Long _changeNumber;
     private final String _configurations;
+    private final SplitResult _splitResult;
 
     public EvaluationResult(String treatment, String label) {
         this(treatment, label, null);
@@ -15,10 +19,18 @@ public final class EvaluationResult {
     }
 
     public EvaluationResult(String treatment, String label, Long changeNumber, String configurations) {
-        _treatment = treatment;
+        this(label, changeNumber, new SplitResult(treatment, configurations));
+    }
+
+    /**
+     * @param splitResult treatment and configurations, can be shared by results with different labels
+     */
+    public EvaluationResult(String label, Long changeNumber, SplitResult splitResult) {
+        _treatment = splitResult.treatment();
         _label = label;
         _changeNumber = changeNumber;
-        _configurations = configurations;
+        _configurations = splitResult.config();
+        _splitResult = splitResult;
     }
 
     public String getTreatment() {
@@ -36,4 +48,11 @@ public final class EvaluationResult {
     public String getConfigurations() {
         return _configurations;
     }
+
+    /**
+     * @return treatment and configurations as returned to the client, shared by every call
+     */
+    public SplitResult getSplitResult() {
+        return _splitResult;
+    }
 }
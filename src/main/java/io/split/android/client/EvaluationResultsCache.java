@@ -0,0 +1,111 @@
+package io.split.android.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.split.android.client.storage.StorageVersion;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Bounded LRU cache of evaluation results for a client.
+ * As matching and bucketing keys are fixed for a client,
+ * results only depend on split, attributes and storage content.
+ * Entries are keyed by split name and attributes, and all of them are
+ * discarded when the storage version changes.
+ */
+public class EvaluationResultsCache {
+
+    private final StorageVersion mStorageVersion;
+    private final Map<Key, EvaluationResult> mResults;
+    private long mVersion;
+
+    public EvaluationResultsCache(@NonNull StorageVersion storageVersion, final int maxSize) {
+        checkArgument(maxSize > 0);
+        mStorageVersion = checkNotNull(storageVersion);
+        mVersion = storageVersion.get();
+        mResults = new LinkedHashMap<Key, EvaluationResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, EvaluationResult> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Current storage version. Should be read before evaluating
+     * and passed when the result is put into the cache.
+     */
+    public long version() {
+        return mStorageVersion.get();
+    }
+
+    public synchronized @Nullable EvaluationResult get(@NonNull String splitName,
+                                                       @Nullable Map<String, Object> attributes) {
+        if (!isValid(mStorageVersion.get())) {
+            return null;
+        }
+        return mResults.get(new Key(splitName, attributes));
+    }
+
+    public synchronized void put(@NonNull String splitName,
+                                 @Nullable Map<String, Object> attributes,
+                                 @NonNull EvaluationResult result,
+                                 long version) {
+        // Storage changed while evaluating, so result could be outdated
+        if (!isValid(version) || version != mStorageVersion.get()) {
+            return;
+        }
+        // Attributes are copied to avoid issues if the caller modifies the map later
+        Map<String, Object> attributesCopy = (attributes != null ? new HashMap<>(attributes) : null);
+        mResults.put(new Key(splitName, attributesCopy), result);
+    }
+
+    public synchronized void clear() {
+        mResults.clear();
+    }
+
+    private boolean isValid(long version) {
+        if (version != mVersion) {
+            if (version < mVersion) {
+                return false;
+            }
+            mResults.clear();
+            mVersion = version;
+        }
+        return true;
+    }
+
+    private static class Key {
+        private final String mSplitName;
+        private final Map<String, Object> mAttributes;
+        private final int mHashCode;
+
+        Key(String splitName, Map<String, Object> attributes) {
+            mSplitName = splitName;
+            mAttributes = (attributes != null && !attributes.isEmpty() ? attributes : null);
+            mHashCode = 31 * splitName.hashCode() + (mAttributes != null ? mAttributes.hashCode() : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+
+            Key other = (Key) obj;
+            return mHashCode == other.mHashCode
+                    && mSplitName.equals(other.mSplitName)
+                    && (mAttributes == null ? other.mAttributes == null : mAttributes.equals(other.mAttributes));
+        }
+    }
+}
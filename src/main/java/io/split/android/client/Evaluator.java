@@ -1,7 +1,14 @@
 package io.split.android.client;
 
+import java.util.List;
 import java.util.Map;
 
 public interface Evaluator {
     EvaluationResult getTreatment(String matchingKey, String bucketingKey, String split, Map<String, Object> attributes);
+
+    /**
+     * Evaluates several splits for the same key and attributes.
+     * Work shared between splits (hashing, dependencies) is done only once.
+     */
+    Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, List<String> splits, Map<String, Object> attributes);
 }
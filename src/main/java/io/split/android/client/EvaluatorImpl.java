@@ -1,45 +1,104 @@
 package io.split.android.client;
 
+import com.google.common.base.Objects;
+import com.google.common.collect.Maps;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import io.split.android.client.dtos.ConditionType;
 import io.split.android.client.dtos.Split;
 import io.split.android.client.exceptions.ChangeNumberExceptionWrapper;
+import io.split.android.client.storage.splits.InMemorySplitsSnapshot;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.utils.Logger;
-import io.split.android.engine.experiments.ParsedCondition;
+import io.split.android.engine.MatcherResults;
+import io.split.android.engine.SplitInterpreter;
+import io.split.android.engine.SplitProgram;
 import io.split.android.engine.experiments.ParsedSplit;
 import io.split.android.engine.experiments.SplitFetcher;
 import io.split.android.engine.experiments.SplitParser;
-import io.split.android.engine.splitter.Splitter;
+import io.split.android.engine.splitter.BucketCache;
 import io.split.android.grammar.Treatments;
 
 public class EvaluatorImpl implements Evaluator {
 
+    static final int MAX_DEPENDENCY_DEPTH = 32;
+
+    private static final EvaluationResult DEFINITION_NOT_FOUND_RESULT
+            = new EvaluationResult(Treatments.CONTROL, TreatmentLabels.DEFINITION_NOT_FOUND);
+    private static final EvaluationResult EXCEPTION_RESULT
+            = new EvaluationResult(Treatments.CONTROL, TreatmentLabels.EXCEPTION);
+
     private final SplitsStorage mSplitsStorage;
     private final SplitParser mSplitParser;
+    private final ParsedSplitsCache mParsedSplitsCache;
+    private final BucketCache mBucketCache;
 
     public EvaluatorImpl(SplitsStorage splitsStorage, SplitParser splitParser) {
+        this(splitsStorage, splitParser, new ParsedSplitsCache());
+    }
+
+    public EvaluatorImpl(SplitsStorage splitsStorage, SplitParser splitParser, ParsedSplitsCache parsedSplitsCache) {
+        this(splitsStorage, splitParser, parsedSplitsCache, null);
+    }
+
+    /**
+     * @param bucketCache cache for the client key buckets. Can be null.
+     */
+    public EvaluatorImpl(SplitsStorage splitsStorage, SplitParser splitParser, ParsedSplitsCache parsedSplitsCache,
+                         BucketCache bucketCache) {
         mSplitsStorage = splitsStorage;
         mSplitParser = splitParser;
+        mParsedSplitsCache = parsedSplitsCache;
+        mBucketCache = bucketCache;
     }
 
     @Override
     public EvaluationResult getTreatment(String matchingKey, String bucketingKey, String splitName, Map<String, Object> attributes) {
+        return evaluate(matchingKey, bucketingKey, splitName, attributes, null, null, mBucketCache, null);
+    }
+
+    @Override
+    public Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, List<String> splitNames, Map<String, Object> attributes) {
+        EvaluationContext context = new EvaluationContext(matchingKey, bucketingKey, attributes,
+                mSplitParser.newMatcherResults());
+        Map<String, EvaluationResult> results = Maps.newHashMapWithExpectedSize(splitNames.size());
+        for (String splitName : splitNames) {
+            results.put(splitName, context.getTreatment(matchingKey, bucketingKey, splitName, attributes));
+        }
+        return results;
+    }
+
+    private EvaluationResult evaluate(String matchingKey, String bucketingKey, String splitName, Map<String, Object> attributes,
+                                      InMemorySplitsSnapshot splits, Evaluator evaluator, BucketCache bucketCache,
+                                      MatcherResults matcherResults) {
 
         try {
-            ParsedSplit parsedSplit = mSplitParser.parse(mSplitsStorage.get(splitName));
+            Split split = (splits != null ? splits.get(splitName) : mSplitsStorage.get(splitName));
+            ParsedSplit parsedSplit = getParsedSplit(split);
             if (parsedSplit == null) {
-                return new EvaluationResult(Treatments.CONTROL, TreatmentLabels.DEFINITION_NOT_FOUND);
+                return DEFINITION_NOT_FOUND_RESULT;
             }
-            return getTreatment(matchingKey, bucketingKey, parsedSplit, attributes);
+            if (evaluator == null && parsedSplit.program().hasDependencies()) {
+                // Only splits depending on others need a context for the matchers to call back
+                return new EvaluationContext(matchingKey, bucketingKey, attributes, null)
+                        .getTreatment(matchingKey, bucketingKey, splitName, attributes);
+            }
+            if (matcherResults != null && matcherResults.generation() != parsedSplit.matcherGeneration()) {
+                matcherResults = null;
+            }
+            return getTreatment(matchingKey, bucketingKey, parsedSplit, attributes, evaluator, bucketCache, matcherResults);
 
         } catch (ChangeNumberExceptionWrapper ex) {
             Logger.e(ex, "Catch Change Number Exception");
         } catch (Exception e) {
             Logger.e(e, "Catch All Exception");
         }
-        return new EvaluationResult(Treatments.CONTROL, TreatmentLabels.EXCEPTION);
+        return EXCEPTION_RESULT;
     }
 
     /**
@@ -50,56 +109,151 @@ public class EvaluatorImpl implements Evaluator {
      * @return
      * @throws ChangeNumberExceptionWrapper
      */
-    private EvaluationResult getTreatment(String matchingKey, String bucketingKey, ParsedSplit parsedSplit, Map<String, Object> attributes) throws ChangeNumberExceptionWrapper {
+    private EvaluationResult getTreatment(String matchingKey, String bucketingKey, ParsedSplit parsedSplit, Map<String, Object> attributes,
+                                          Evaluator evaluator, BucketCache bucketCache,
+                                          MatcherResults matcherResults) throws ChangeNumberExceptionWrapper {
         try {
-            if (parsedSplit.killed()) {
-                return new EvaluationResult(parsedSplit.defaultTreatment(), TreatmentLabels.KILLED, parsedSplit.changeNumber(), configForTreatment(parsedSplit, parsedSplit.defaultTreatment()));
-            }
+            SplitProgram program = parsedSplit.program();
+            int outcome = SplitInterpreter.evaluate(program, matchingKey, bucketingKey, attributes, evaluator,
+                    bucketCache, matcherResults);
+            return program.result(outcome);
+        } catch (Exception e) {
+            throw new ChangeNumberExceptionWrapper(e, parsedSplit.changeNumber());
+        }
+    }
 
-            /*
-             * There are three parts to a single Split: 1) Whitelists 2) Traffic Allocation
-             * 3) Rollout. The flag inRollout is there to understand when we move into the Rollout
-             * section. This is because we need to make sure that the Traffic Allocation
-             * computation happens after the whitelist but before the rollout.
-             */
-            boolean inRollout = false;
+    ParsedSplit getParsedSplit(Split split) {
+        if (split == null) {
+            return null;
+        }
 
-            String bk = (bucketingKey == null) ? matchingKey : bucketingKey;
+        ParsedSplit parsedSplit = mParsedSplitsCache.get(split);
+        // Splits parsed before the matcher ids were rebuilt are parsed again
+        // so they keep sharing matcher results with the rest
+        if (parsedSplit == null || !mSplitParser.hasCurrentMatcherIds(parsedSplit)) {
+            parsedSplit = mSplitParser.parse(split);
+            if (parsedSplit != null) {
+                mParsedSplitsCache.put(parsedSplit);
+            }
+        }
+        return parsedSplit;
+    }
 
-            for (ParsedCondition parsedCondition : parsedSplit.parsedConditions()) {
+    /**
+     * Evaluator passed to matchers while running a top level evaluation or a batch of them
+     * for the same key and attributes. Splits used as dependencies are evaluated only once
+     * and buckets are shared between splits having the same seed.
+     * Single evaluations of splits without dependencies don't use a context.
+     * Dependency cycles and chains deeper than {@link #MAX_DEPENDENCY_DEPTH}
+     * evaluate to control instead of recursing until the stack overflows.
+     * Every split is read from the storage snapshot taken on the first evaluation,
+     * so an update arriving in the middle of a call isn't seen partially.
+     * Not thread safe, a new context is used for each call.
+     */
+    private class EvaluationContext implements Evaluator {
+        private final String mMatchingKey;
+        private final String mBucketingKey;
+        private final Map<String, Object> mAttributes;
+        private final BucketCache mBucketCache;
+        private final MatcherResults mMatcherResults;
+        private InMemorySplitsSnapshot mSplits;
+        // Top level split being evaluated, splits being evaluated below it are in
+        // mInProgress. mInProgress and mResults are created on the first dependency.
+        private String mRootSplitName;
+        private Set<String> mInProgress;
+        private Map<String, EvaluationResult> mResults;
+        private int mDepth;
 
-                if (!inRollout && parsedCondition.conditionType() == ConditionType.ROLLOUT) {
+        /**
+         * @param matcherResults results of interned matchers shared by every split evaluated
+         *                       in this context, null to evaluate each matcher every time
+         */
+        EvaluationContext(String matchingKey, String bucketingKey, Map<String, Object> attributes,
+                          MatcherResults matcherResults) {
+            mMatchingKey = matchingKey;
+            mMatcherResults = matcherResults;
+            mBucketingKey = bucketingKey;
+            mAttributes = attributes;
+            mBucketCache = (EvaluatorImpl.this.mBucketCache != null ? EvaluatorImpl.this.mBucketCache
+                    : new BucketCache(bucketingKey != null ? bucketingKey : matchingKey));
+        }
 
-                    if (parsedSplit.trafficAllocation() < 100) {
-                        // if the traffic allocation is 100%, no need to do anything special.
-                        int bucket = Splitter.getBucket(bk, parsedSplit.trafficAllocationSeed(), parsedSplit.algo());
+        @Override
+        public EvaluationResult getTreatment(String matchingKey, String bucketingKey, String splitName, Map<String, Object> attributes) {
+            boolean isSameEvaluation = isSameEvaluation(matchingKey, bucketingKey, attributes);
+            if (isSameEvaluation && mResults != null) {
+                EvaluationResult result = mResults.get(splitName);
+                if (result != null) {
+                    return result;
+                }
+            }
 
-                        if (bucket > parsedSplit.trafficAllocation()) {
-                            // out of split
-                            return new EvaluationResult(parsedSplit.defaultTreatment(), TreatmentLabels.NOT_IN_SPLIT, parsedSplit.changeNumber(), configForTreatment(parsedSplit, parsedSplit.defaultTreatment()));
-                        }
+            if (mDepth >= MAX_DEPENDENCY_DEPTH || (isSameEvaluation && isInProgress(splitName))) {
+                Logger.e("Dependency cycle or chain too deep evaluating split %s", splitName);
+                return EXCEPTION_RESULT;
+            }
 
-                    }
-                    inRollout = true;
+            boolean isDependency = mDepth > 0;
+            mDepth++;
+            if (isSameEvaluation) {
+                setInProgress(splitName, isDependency);
+            }
+            if (mSplits == null) {
+                mSplits = mSplitsStorage.getSnapshot();
+            }
+            EvaluationResult result;
+            try {
+                result = evaluate(matchingKey, bucketingKey, splitName, attributes, mSplits, this, mBucketCache,
+                        isSameEvaluation ? mMatcherResults : null);
+            } finally {
+                mDepth--;
+                if (isSameEvaluation) {
+                    clearInProgress(splitName, isDependency);
                 }
+            }
 
-                if (parsedCondition.matcher().match(matchingKey, bucketingKey, attributes, this)) {
-                    String treatment = Splitter.getTreatment(bk, parsedSplit.seed(), parsedCondition.partitions(), parsedSplit.algo());
-                    return new EvaluationResult(treatment, parsedCondition.label(), parsedSplit.changeNumber(), configForTreatment(parsedSplit, treatment));
+            if (isSameEvaluation && (isDependency || mResults != null)) {
+                if (mResults == null) {
+                    mResults = new HashMap<>();
                 }
+                mResults.put(splitName, result);
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, List<String> splitNames, Map<String, Object> attributes) {
+            return EvaluatorImpl.this.getTreatments(matchingKey, bucketingKey, splitNames, attributes);
+        }
+
+        private boolean isInProgress(String splitName) {
+            return splitName.equals(mRootSplitName)
+                    || (mInProgress != null && mInProgress.contains(splitName));
+        }
+
+        private void setInProgress(String splitName, boolean isDependency) {
+            if (!isDependency) {
+                mRootSplitName = splitName;
+                return;
             }
+            if (mInProgress == null) {
+                mInProgress = new HashSet<>();
+            }
+            mInProgress.add(splitName);
+        }
 
-            return new EvaluationResult(parsedSplit.defaultTreatment(), TreatmentLabels.DEFAULT_RULE, parsedSplit.changeNumber(), configForTreatment(parsedSplit, parsedSplit.defaultTreatment()));
-        } catch (Exception e) {
-            throw new ChangeNumberExceptionWrapper(e, parsedSplit.changeNumber());
+        private void clearInProgress(String splitName, boolean isDependency) {
+            if (!isDependency) {
+                mRootSplitName = null;
+                return;
+            }
+            mInProgress.remove(splitName);
         }
-    }
 
-    private String configForTreatment(ParsedSplit split, String treatment) {
-        String config = null;
-        if (split.configurations() != null) {
-            config = split.configurations().get(treatment);
+        private boolean isSameEvaluation(String matchingKey, String bucketingKey, Map<String, Object> attributes) {
+            return attributes == mAttributes
+                    && Objects.equal(matchingKey, mMatchingKey)
+                    && Objects.equal(bucketingKey, mBucketingKey);
         }
-        return config;
     }
 }
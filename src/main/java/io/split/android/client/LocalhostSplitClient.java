@@ -3,10 +3,13 @@ package io.split.android.client;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 
+import io.split.android.client.attributes.AttributesManager;
+import io.split.android.client.attributes.AttributesManagerImpl;
 import io.split.android.client.localhost.LocalhostGrammar;
 import io.split.android.client.dtos.Split;
 import io.split.android.client.events.SplitEvent;
 import io.split.android.client.events.SplitEventTask;
+import io.split.android.client.storage.attributes.AttributesStorageImpl;
 import io.split.android.grammar.Treatments;
 
 import java.util.HashMap;
@@ -25,12 +28,14 @@ public final class LocalhostSplitClient implements SplitClient {
     private ImmutableMap<String, Split> mFeatureToTreatmentMap;
     private String mKey;
     private LocalhostGrammar mLocalhostGrammar;
+    private final AttributesManager mAttributesManager;
 
     public LocalhostSplitClient(LocalhostSplitFactory container, String key, ImmutableMap<String, Split> featureToTreatmentMap) {
         mFeatureToTreatmentMap = featureToTreatmentMap;
         mfactory = container;
         mKey = key;
         mLocalhostGrammar = new LocalhostGrammar();
+        mAttributesManager = new AttributesManagerImpl(new AttributesStorageImpl());
     }
 
     @Override
@@ -164,4 +169,34 @@ public final class LocalhostSplitClient implements SplitClient {
     public boolean track(String eventType, double value, Map<String, Object> properties) {
         return false;
     }
+
+    @Override
+    public boolean setAttribute(String attributeName, Object value) {
+        return mAttributesManager.setAttribute(attributeName, value);
+    }
+
+    @Override
+    public Object getAttribute(String attributeName) {
+        return mAttributesManager.getAttribute(attributeName);
+    }
+
+    @Override
+    public boolean setAttributes(Map<String, Object> attributes) {
+        return mAttributesManager.setAttributes(attributes);
+    }
+
+    @Override
+    public Map<String, Object> getAllAttributes() {
+        return mAttributesManager.getAllAttributes();
+    }
+
+    @Override
+    public boolean removeAttribute(String attributeName) {
+        return mAttributesManager.removeAttribute(attributeName);
+    }
+
+    @Override
+    public boolean clearAttributes() {
+        return mAttributesManager.clearAttributes();
+    }
 }
@@ -0,0 +1,190 @@
+package io.split.android.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.client.events.ISplitEventsManager;
+import io.split.android.client.events.SplitEvent;
+import io.split.android.client.events.SplitEventTask;
+import io.split.android.client.storage.StorageVersion;
+import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.utils.Logger;
+import io.split.android.engine.experiments.ParsedCondition;
+import io.split.android.engine.experiments.ParsedSplit;
+import io.split.android.engine.matchers.AllKeysMatcher;
+import io.split.android.engine.matchers.AttributeMatcher;
+import io.split.android.engine.matchers.Matcher;
+import io.split.android.engine.matchers.MySegmentsMatcher;
+import io.split.android.engine.matchers.strings.WhitelistMatcher;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Keeps the evaluation result of every split that only depends on the client
+ * key and segments, that is, splits having only all keys, whitelist
+ * and segment matchers over the key.
+ * Results are computed in background when the SDK gets ready and each
+ * time splits or my segments change. The table is published as an immutable
+ * snapshot and it's only used while storage version hasn't changed.
+ */
+public class PrecomputedEvaluations implements StorageVersion.Listener {
+
+    private final String mMatchingKey;
+    private final String mBucketingKey;
+    private final EvaluatorImpl mEvaluator;
+    private final SplitsStorage mSplitsStorage;
+    private final StorageVersion mStorageVersion;
+    private final ISplitEventsManager mEventsManager;
+    private final ExecutorService mExecutor;
+    private final AtomicBoolean mIsComputationScheduled = new AtomicBoolean(false);
+    private volatile Snapshot mSnapshot;
+
+    public PrecomputedEvaluations(@NonNull String matchingKey,
+                                  @Nullable String bucketingKey,
+                                  @NonNull EvaluatorImpl evaluator,
+                                  @NonNull SplitsStorage splitsStorage,
+                                  @NonNull StorageVersion storageVersion,
+                                  @NonNull ISplitEventsManager eventsManager) {
+        mMatchingKey = checkNotNull(matchingKey);
+        mBucketingKey = bucketingKey;
+        mEvaluator = checkNotNull(evaluator);
+        mSplitsStorage = checkNotNull(splitsStorage);
+        mStorageVersion = checkNotNull(storageVersion);
+        mEventsManager = checkNotNull(eventsManager);
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Split-PrecomputedEvaluations-%d")
+                .build();
+        mExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Starts listening for storage changes and SDK readiness.
+     */
+    public void start() {
+        mStorageVersion.addListener(this);
+        if (isSdkReady()) {
+            schedule();
+            return;
+        }
+        SplitEventTask readyTask = new SplitEventTask() {
+            @Override
+            public void onPostExecution(SplitClient client) {
+                schedule();
+            }
+        };
+        mEventsManager.register(SplitEvent.SDK_READY_FROM_CACHE, readyTask);
+        mEventsManager.register(SplitEvent.SDK_READY, readyTask);
+    }
+
+    public void destroy() {
+        mStorageVersion.removeListener(this);
+        mExecutor.shutdownNow();
+    }
+
+    /**
+     * Result for a split if it was precomputed and storage
+     * hasn't changed since then. Null otherwise.
+     */
+    public @Nullable EvaluationResult get(@NonNull String splitName) {
+        Snapshot snapshot = mSnapshot;
+        if (snapshot == null || snapshot.version != mStorageVersion.get()) {
+            return null;
+        }
+        return snapshot.results.get(splitName);
+    }
+
+    @Override
+    public void onVersionChanged(long version) {
+        if (isSdkReady()) {
+            schedule();
+        }
+    }
+
+    void schedule() {
+        if (!mIsComputationScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    mIsComputationScheduled.set(false);
+                    compute();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            mIsComputationScheduled.set(false);
+        }
+    }
+
+    void compute() {
+        try {
+            long version = mStorageVersion.get();
+            Map<String, Split> splits = mSplitsStorage.getAll();
+            if (splits == null) {
+                return;
+            }
+            ImmutableMap.Builder<String, EvaluationResult> results = ImmutableMap.builder();
+            for (Split split : splits.values()) {
+                ParsedSplit parsedSplit = mEvaluator.getParsedSplit(split);
+                if (parsedSplit == null || !isAttributesIndependent(parsedSplit)) {
+                    continue;
+                }
+                EvaluationResult result = mEvaluator.getTreatment(mMatchingKey, mBucketingKey, split.name, null);
+                if (!TreatmentLabels.EXCEPTION.equals(result.getLabel())) {
+                    results.put(split.name, result);
+                }
+            }
+            // If storage changed meanwhile the snapshot is never used
+            // and a new computation has been scheduled
+            mSnapshot = new Snapshot(version, results.build());
+        } catch (Exception e) {
+            Logger.e(e, "Error precomputing evaluations");
+        }
+    }
+
+    private boolean isSdkReady() {
+        return mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY)
+                || mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE);
+    }
+
+    private static boolean isAttributesIndependent(ParsedSplit parsedSplit) {
+        for (ParsedCondition condition : parsedSplit.parsedConditions()) {
+            for (AttributeMatcher attributeMatcher : condition.matcher().attributeMatchers()) {
+                if (attributeMatcher.attribute() != null) {
+                    return false;
+                }
+                Matcher delegate = ((AttributeMatcher.NegatableMatcher) attributeMatcher.matcher()).delegate();
+                if (!(delegate instanceof AllKeysMatcher
+                        || delegate instanceof WhitelistMatcher
+                        || delegate instanceof MySegmentsMatcher)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static class Snapshot {
+        final long version;
+        final Map<String, EvaluationResult> results;
+
+        Snapshot(long version, Map<String, EvaluationResult> results) {
+            this.version = version;
+            this.results = results;
+        }
+    }
+}
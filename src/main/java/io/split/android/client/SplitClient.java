@@ -235,4 +235,47 @@ public interface SplitClient {
      * @return true if the track was successful, false otherwise
      */
     boolean track(String eventType, double value, Map<String,Object> properties);
+
+    /**
+     * Sets an attribute of the client key, used in every evaluation
+     * along with the attributes passed to each getTreatment call.
+     * Those take precedence when both have the same name.
+     *
+     * @param attributeName name of the attribute. MUST NOT be null or empty.
+     * @param value a string, number, boolean or collection of non null values
+     * @return true if the attribute was set, false otherwise
+     */
+    boolean setAttribute(String attributeName, Object value);
+
+    /**
+     * @param attributeName name of the attribute
+     * @return value of the attribute as stored, or null if it isn't set
+     */
+    Object getAttribute(String attributeName);
+
+    /**
+     * Sets several attributes at once. None is set if any of them isn't valid.
+     *
+     * @param attributes attributes to set. MUST NOT be null.
+     * @return true if the attributes were set, false otherwise
+     */
+    boolean setAttributes(Map<String, Object> attributes);
+
+    /**
+     * @return read only map of the attributes set on the client
+     */
+    Map<String, Object> getAllAttributes();
+
+    /**
+     * @param attributeName name of the attribute to remove
+     * @return true if the attribute was removed or wasn't set, false otherwise
+     */
+    boolean removeAttribute(String attributeName);
+
+    /**
+     * Removes every attribute set on the client
+     *
+     * @return true if the attributes were removed, false otherwise
+     */
+    boolean clearAttributes();
 }
@@ -3,6 +3,7 @@ package io.split.android.client;
 
 import io.split.android.android_client.BuildConfig;
 import io.split.android.client.impressions.ImpressionListener;
+import io.split.android.client.impressions.ImpressionsMode;
 import io.split.android.client.utils.Logger;
 
 /**
@@ -37,6 +38,9 @@ public class SplitClientConfig {
 
     private static final int DEFAULT_AUTH_RETRY_BACKOFF_BASE_SECS = 1;
     private static final int DEFAULT_STREAMING_RECONNECT_BACKOFF_BASE_SECS = 1;
+    private static final int DEFAULT_EVALUATION_CACHE_SIZE = 0;
+    private static final int DEFAULT_IMPRESSIONS_DEDUPE_WINDOW_SECS = 3600;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 1024;
 
     private static final int IMPRESSIONS_MAX_SENT_ATTEMPTS = 3;
     private static final int IMPRESSIONS_CHUNK_OUTDATED_TIME = 3600 * 1000; // One day millis
@@ -93,6 +97,14 @@ public class SplitClientConfig {
     private String _authServiceUrl;
     private String _streamingServiceUrl;
 
+    private final int _evaluationCacheSize;
+    private final boolean _persistentAttributesEnabled;
+    private final ImpressionsMode _impressionsMode;
+    private final int _impressionsDedupeWindow;
+    private final boolean _compressRequests;
+    private final int _compressionThreshold;
+    private final boolean _acceptCompressedResponses;
+
     // To be set during startup
     public static String splitSdkVersion;
 
@@ -132,7 +144,14 @@ public class SplitClientConfig {
                               int authRetryBackoffBase,
                               int streamingReconnectBackoffBase,
                               String authServiceUrl,
-                              String streamingServiceUrl) {
+                              String streamingServiceUrl,
+                              int evaluationCacheSize,
+                              boolean persistentAttributesEnabled,
+                              ImpressionsMode impressionsMode,
+                              int impressionsDedupeWindow,
+                              boolean compressRequests,
+                              int compressionThreshold,
+                              boolean acceptCompressedResponses) {
         _endpoint = endpoint;
         _eventsEndpoint = eventsEndpoint;
         _featuresRefreshRate = pollForFeatureChangesEveryNSeconds;
@@ -166,6 +185,13 @@ public class SplitClientConfig {
         _streamingReconnectBackoffBase = streamingReconnectBackoffBase;
         _authServiceUrl = authServiceUrl;
         _streamingServiceUrl = streamingServiceUrl;
+        _evaluationCacheSize = evaluationCacheSize;
+        _persistentAttributesEnabled = persistentAttributesEnabled;
+        _impressionsMode = impressionsMode;
+        _impressionsDedupeWindow = impressionsDedupeWindow;
+        _compressRequests = compressRequests;
+        _compressionThreshold = compressionThreshold;
+        _acceptCompressedResponses = acceptCompressedResponses;
 
         splitSdkVersion = "Android-" + BuildConfig.VERSION_NAME;
 
@@ -386,6 +412,34 @@ public class SplitClientConfig {
         return _streamingServiceUrl;
     }
 
+    public int evaluationCacheSize() {
+        return _evaluationCacheSize;
+    }
+
+    public boolean persistentAttributesEnabled() {
+        return _persistentAttributesEnabled;
+    }
+
+    public ImpressionsMode impressionsMode() {
+        return _impressionsMode;
+    }
+
+    public int impressionsDedupeWindow() {
+        return _impressionsDedupeWindow;
+    }
+
+    public boolean compressRequests() {
+        return _compressRequests;
+    }
+
+    public int compressionThreshold() {
+        return _compressionThreshold;
+    }
+
+    public boolean acceptCompressedResponses() {
+        return _acceptCompressedResponses;
+    }
+
     public static final class Builder {
 
         private ServiceEndpoints _serviceEndpoints = null;
@@ -424,6 +478,14 @@ public class SplitClientConfig {
         private int _streamingReconnectBackoffBase
                 = DEFAULT_STREAMING_RECONNECT_BACKOFF_BASE_SECS;
 
+        private int _evaluationCacheSize = DEFAULT_EVALUATION_CACHE_SIZE;
+        private boolean _persistentAttributesEnabled = false;
+        private ImpressionsMode _impressionsMode = ImpressionsMode.DEBUG;
+        private int _impressionsDedupeWindow = DEFAULT_IMPRESSIONS_DEDUPE_WINDOW_SECS;
+        private boolean _compressRequests = false;
+        private int _compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD_BYTES;
+        private boolean _acceptCompressedResponses = true;
+
         public Builder() {
             _serviceEndpoints = ServiceEndpoints.builder().build();
         }
@@ -789,6 +851,103 @@ public class SplitClientConfig {
             return this;
         }
 
+        /**
+         * Maximum number of evaluation results to keep in memory for each client.
+         * Results are reused when the same split is evaluated again with the same
+         * attributes and neither splits nor my segments have changed.
+         * Impressions are logged anyway.
+         * Zero disables the cache.
+         *
+         * @param evaluationCacheSize MUST be >= 0
+         * @return this builder
+         * @default: 0
+         */
+        public Builder evaluationCacheSize(int evaluationCacheSize) {
+            _evaluationCacheSize = evaluationCacheSize;
+            return this;
+        }
+
+        /**
+         * Keep the attributes set on the client in local storage,
+         * so they are available when the app starts again.
+         * Otherwise they are only kept in memory.
+         *
+         * @param persistentAttributesEnabled
+         * @return this builder
+         * @default: false
+         */
+        public Builder persistentAttributesEnabled(boolean persistentAttributesEnabled) {
+            _persistentAttributesEnabled = persistentAttributesEnabled;
+            return this;
+        }
+
+        /**
+         * How impressions are sent to Split.
+         * DEBUG sends every impression.
+         * OPTIMIZED sends an impression for the same key, split, treatment, label
+         * and change number only once per dedupe window, tagged with the time
+         * it was previously seen.
+         * COUNT only sends the number of impressions by split, treatment and hour.
+         *
+         * @param impressionsMode
+         * @return this builder
+         * @default: DEBUG
+         */
+        public Builder impressionsMode(ImpressionsMode impressionsMode) {
+            _impressionsMode = impressionsMode;
+            return this;
+        }
+
+        /**
+         * Length in seconds of the windows in which repeated impressions
+         * are sent only once when impressions mode is OPTIMIZED.
+         *
+         * @param seconds MUST be > 0
+         * @return this builder
+         * @default: 3600 seconds
+         */
+        public Builder impressionsDedupeWindow(int seconds) {
+            _impressionsDedupeWindow = seconds;
+            return this;
+        }
+
+        /**
+         * Send impressions, events and metrics bodies bigger than
+         * compressionThreshold gzip compressed.
+         *
+         * @param compressRequests
+         * @return this builder
+         * @default: false
+         */
+        public Builder compressRequests(boolean compressRequests) {
+            _compressRequests = compressRequests;
+            return this;
+        }
+
+        /**
+         * Size in bytes from which request bodies are compressed
+         * when compressRequests is enabled.
+         *
+         * @param bytes MUST be >= 0
+         * @return this builder
+         * @default: 1024 bytes
+         */
+        public Builder compressionThreshold(int bytes) {
+            _compressionThreshold = bytes;
+            return this;
+        }
+
+        /**
+         * Ask for gzip compressed split changes and my segments responses.
+         *
+         * @param acceptCompressedResponses
+         * @return this builder
+         * @default: true
+         */
+        public Builder acceptCompressedResponses(boolean acceptCompressedResponses) {
+            _acceptCompressedResponses = acceptCompressedResponses;
+            return this;
+        }
 
         /**
          * Alternative service enpoints URL. Should only be adjusted for playing well in test environments.
@@ -850,6 +1009,22 @@ public class SplitClientConfig {
                         "streaming notifications MUST be greater than zero");
             }
 
+            if (_evaluationCacheSize < 0) {
+                throw new IllegalArgumentException("evaluationCacheSize must be >= 0: " + _evaluationCacheSize);
+            }
+
+            if (_impressionsMode == null) {
+                throw new IllegalArgumentException("impressionsMode must not be null");
+            }
+
+            if (_impressionsDedupeWindow <= 0) {
+                throw new IllegalArgumentException("impressionsDedupeWindow must be > 0: " + _impressionsDedupeWindow);
+            }
+
+            if (_compressionThreshold < 0) {
+                throw new IllegalArgumentException("compressionThreshold must be >= 0: " + _compressionThreshold);
+            }
+
             if (_backgroundSyncPeriod < DEFAULT_BACKGROUND_SYNC_PERIOD_MINUTES) {
                 Logger.w("Background sync period is lower than allowed. " +
                         "Setting to default value.");
@@ -888,7 +1063,14 @@ public class SplitClientConfig {
                     _authRetryBackoffBase,
                     _streamingReconnectBackoffBase,
                     _serviceEndpoints.getAuthServiceEndpoint(),
-                    _serviceEndpoints.getStreamingServiceEndpoint());
+                    _serviceEndpoints.getStreamingServiceEndpoint(),
+                    _evaluationCacheSize,
+                    _persistentAttributesEnabled,
+                    _impressionsMode,
+                    _impressionsDedupeWindow,
+                    _compressRequests,
+                    _compressionThreshold,
+                    _acceptCompressedResponses);
         }
 
         public void set_impressionsChunkSize(long _impressionsChunkSize) {
@@ -1,12 +1,17 @@
 package io.split.android.client;
 
 import io.split.android.client.api.Key;
+import io.split.android.client.attributes.AttributesManager;
+import io.split.android.client.attributes.AttributesManagerImpl;
 import io.split.android.client.dtos.Event;
 import io.split.android.client.events.SplitEvent;
 import io.split.android.client.events.SplitEventTask;
 import io.split.android.client.events.SplitEventsManager;
 import io.split.android.client.impressions.ImpressionListener;
 import io.split.android.client.service.synchronizer.SyncManager;
+import io.split.android.client.storage.StorageVersion;
+import io.split.android.client.storage.attributes.AttributesStorageImpl;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.utils.Logger;
 import io.split.android.client.validators.EventValidator;
@@ -20,6 +25,7 @@ import io.split.android.client.validators.ValidationMessageLogger;
 import io.split.android.client.validators.ValidationMessageLoggerImpl;
 import io.split.android.engine.experiments.SplitParser;
 import io.split.android.engine.metrics.Metrics;
+import io.split.android.engine.splitter.BucketCache;
 
 
 import java.util.Collections;
@@ -43,6 +49,8 @@ public final class SplitClientImpl implements SplitClient {
     private final EventValidator mEventValidator;
     private final ValidationMessageLogger mValidationLogger;
     private final SyncManager mSyncManager;
+    private final PrecomputedEvaluations mPrecomputedEvaluations;
+    private final AttributesManager mAttributesManager;
 
     private static final double TRACK_DEFAULT_VALUE = 0.0;
 
@@ -56,8 +64,28 @@ public final class SplitClientImpl implements SplitClient {
                            SplitClientConfig config,
                            SplitEventsManager eventsManager,
                            SplitsStorage splitsStorage,
+                           ParsedSplitsCache parsedSplitsCache,
+                           StorageVersion storageVersion,
                            EventPropertiesProcessor eventPropertiesProcessor,
                            SyncManager syncManager) {
+        this(container, key, splitParser, impressionListener, metrics, config, eventsManager,
+                splitsStorage, parsedSplitsCache, storageVersion, eventPropertiesProcessor, syncManager,
+                new AttributesManagerImpl(new AttributesStorageImpl()));
+    }
+
+    public SplitClientImpl(SplitFactory container,
+                           Key key,
+                           SplitParser splitParser,
+                           ImpressionListener impressionListener,
+                           Metrics metrics,
+                           SplitClientConfig config,
+                           SplitEventsManager eventsManager,
+                           SplitsStorage splitsStorage,
+                           ParsedSplitsCache parsedSplitsCache,
+                           StorageVersion storageVersion,
+                           EventPropertiesProcessor eventPropertiesProcessor,
+                           SyncManager syncManager,
+                           AttributesManager attributesManager) {
 
         checkNotNull(splitParser);
         checkNotNull(impressionListener);
@@ -70,17 +98,28 @@ public final class SplitClientImpl implements SplitClient {
         mEventsManager = checkNotNull(eventsManager);
         mEventValidator = new EventValidatorImpl(new KeyValidatorImpl(), splitsStorage);
         mValidationLogger = new ValidationMessageLoggerImpl();
+        EvaluationResultsCache evaluationResultsCache = null;
+        if (mConfig.evaluationCacheSize() > 0) {
+            evaluationResultsCache = new EvaluationResultsCache(storageVersion, mConfig.evaluationCacheSize());
+        }
+        EvaluatorImpl evaluator = new EvaluatorImpl(splitsStorage, splitParser, parsedSplitsCache,
+                new BucketCache(mBucketingKey != null ? mBucketingKey : mMatchingKey));
+        mPrecomputedEvaluations = new PrecomputedEvaluations(mMatchingKey, mBucketingKey,
+                evaluator, splitsStorage, checkNotNull(storageVersion), eventsManager);
         mTreatmentManager = new TreatmentManagerImpl(
-                mMatchingKey, mBucketingKey, new EvaluatorImpl(splitsStorage, splitParser),
+                mMatchingKey, mBucketingKey, evaluator,
                 new KeyValidatorImpl(), new SplitValidatorImpl(), metrics,
-                impressionListener, mConfig, eventsManager);
+                impressionListener, mConfig, eventsManager, evaluationResultsCache, mPrecomputedEvaluations);
         mEventPropertiesProcessor = checkNotNull(eventPropertiesProcessor);
         mSyncManager = checkNotNull(syncManager);
+        mAttributesManager = checkNotNull(attributesManager);
+        mPrecomputedEvaluations.start();
     }
 
     @Override
     public void destroy() {
         mIsClientDestroyed = true;
+        mPrecomputedEvaluations.destroy();
         mSplitFactory.destroy();
     }
 
@@ -101,22 +140,52 @@ public final class SplitClientImpl implements SplitClient {
 
     @Override
     public String getTreatment(String split, Map<String, Object> attributes) {
-        return mTreatmentManager.getTreatment(split, attributes, mIsClientDestroyed);
+        return mTreatmentManager.getTreatment(split, mAttributesManager.merge(attributes), mIsClientDestroyed);
     }
 
     @Override
     public SplitResult getTreatmentWithConfig(String split, Map<String, Object> attributes) {
-        return mTreatmentManager.getTreatmentWithConfig(split, attributes, mIsClientDestroyed);
+        return mTreatmentManager.getTreatmentWithConfig(split, mAttributesManager.merge(attributes), mIsClientDestroyed);
     }
 
     @Override
     public Map<String, String> getTreatments(List<String> splits, Map<String, Object> attributes) {
-        return mTreatmentManager.getTreatments(splits, attributes, mIsClientDestroyed);
+        return mTreatmentManager.getTreatments(splits, mAttributesManager.merge(attributes), mIsClientDestroyed);
     }
 
     @Override
     public Map<String, SplitResult> getTreatmentsWithConfig(List<String> splits, Map<String, Object> attributes) {
-        return mTreatmentManager.getTreatmentsWithConfig(splits, attributes, mIsClientDestroyed);
+        return mTreatmentManager.getTreatmentsWithConfig(splits, mAttributesManager.merge(attributes), mIsClientDestroyed);
+    }
+
+    @Override
+    public boolean setAttribute(String attributeName, Object value) {
+        return mAttributesManager.setAttribute(attributeName, value);
+    }
+
+    @Override
+    public Object getAttribute(String attributeName) {
+        return mAttributesManager.getAttribute(attributeName);
+    }
+
+    @Override
+    public boolean setAttributes(Map<String, Object> attributes) {
+        return mAttributesManager.setAttributes(attributes);
+    }
+
+    @Override
+    public Map<String, Object> getAllAttributes() {
+        return mAttributesManager.getAllAttributes();
+    }
+
+    @Override
+    public boolean removeAttribute(String attributeName) {
+        return mAttributesManager.removeAttribute(attributeName);
+    }
+
+    @Override
+    public boolean clearAttributes() {
+        return mAttributesManager.clearAttributes();
     }
 
     public void on(SplitEvent event, SplitEventTask task){
@@ -9,14 +9,23 @@ import java.net.URISyntaxException;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 import io.split.android.client.api.Key;
+import io.split.android.client.attributes.AttributesManager;
+import io.split.android.client.attributes.AttributesManagerImpl;
+import io.split.android.client.impressions.ImpressionListener;
+import io.split.android.client.impressions.ImpressionsCountListener;
+import io.split.android.client.impressions.SyncImpressionListener;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.SplitHttpHeadersBuilder;
+import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.service.ServiceFactory;
 import io.split.android.client.service.SplitApiFacade;
 import io.split.android.client.service.executor.SplitTaskExecutor;
 import io.split.android.client.service.executor.SplitTaskFactory;
+import io.split.android.client.service.impressions.ImpressionsCounter;
+import io.split.android.client.service.impressions.ImpressionsObserver;
 import io.split.android.client.service.sseclient.EventStreamParser;
 import io.split.android.client.service.sseclient.PushNotificationManager;
 import io.split.android.client.service.sseclient.ReconnectBackoffCounter;
@@ -33,8 +42,11 @@ import io.split.android.client.service.synchronizer.SyncManagerImpl;
 import io.split.android.client.service.synchronizer.Synchronizer;
 import io.split.android.client.service.synchronizer.WorkManagerWrapper;
 import io.split.android.client.storage.SplitStorageContainer;
+import io.split.android.client.storage.StorageVersion;
+import io.split.android.client.storage.attributes.AttributesStorageImpl;
 import io.split.android.client.storage.db.SplitRoomDatabase;
 import io.split.android.client.storage.db.StorageFactory;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.utils.NetworkHelper;
 import io.split.android.client.utils.Utils;
 import io.split.android.engine.metrics.Metrics;
@@ -60,11 +72,43 @@ class SplitFactoryHelper {
 
     SplitStorageContainer buildStorageContainer(Context context, Key key, String databaseName) {
         SplitRoomDatabase splitRoomDatabase = SplitRoomDatabase.getDatabase(context, databaseName);
+        ParsedSplitsCache parsedSplitsCache = new ParsedSplitsCache();
+        StorageVersion storageVersion = new StorageVersion();
         return new SplitStorageContainer(
-                StorageFactory.getSplitsStorage(splitRoomDatabase),
-                StorageFactory.getMySegmentsStorage(splitRoomDatabase, key.matchingKey()),
+                StorageFactory.getSplitsStorage(splitRoomDatabase, parsedSplitsCache, storageVersion),
+                StorageFactory.getMySegmentsStorage(splitRoomDatabase, key.matchingKey(), storageVersion),
                 StorageFactory.getPersistenEventsStorage(splitRoomDatabase),
-                StorageFactory.getPersistenImpressionsStorage(splitRoomDatabase));
+                StorageFactory.getPersistenImpressionsStorage(splitRoomDatabase),
+                StorageFactory.getPersistentImpressionsCountStorage(splitRoomDatabase),
+                parsedSplitsCache,
+                storageVersion);
+    }
+
+    AttributesManager buildAttributesManager(SplitClientConfig splitClientConfig,
+                                             Context context, Key key, String databaseName,
+                                             SplitTaskExecutor splitTaskExecutor) {
+        if (!splitClientConfig.persistentAttributesEnabled()) {
+            return new AttributesManagerImpl(new AttributesStorageImpl());
+        }
+        SplitRoomDatabase splitRoomDatabase = SplitRoomDatabase.getDatabase(context, databaseName);
+        return new AttributesManagerImpl(new AttributesStorageImpl(
+                StorageFactory.getPersistentAttributesStorage(splitRoomDatabase, key.matchingKey())),
+                splitTaskExecutor);
+    }
+
+    ImpressionListener buildImpressionListener(SplitClientConfig splitClientConfig,
+                                               SyncManager syncManager,
+                                               ImpressionsCounter impressionsCounter) {
+        switch (splitClientConfig.impressionsMode()) {
+            case OPTIMIZED:
+                return new SyncImpressionListener(syncManager,
+                        new ImpressionsObserver(ServiceConstants.IMPRESSIONS_OBSERVER_SIZE),
+                        TimeUnit.SECONDS.toMillis(splitClientConfig.impressionsDedupeWindow()));
+            case COUNT:
+                return new ImpressionsCountListener(impressionsCounter);
+            default:
+                return new SyncImpressionListener(syncManager);
+        }
     }
 
     SplitApiFacade buildApiFacade(SplitClientConfig splitClientConfig,
@@ -83,6 +127,8 @@ class SplitFactoryHelper {
                 ServiceFactory.getEventsRecorder(networkHelper, httpClient,
                         splitClientConfig.eventsEndpoint()),
                 ServiceFactory.getImpressionsRecorder(networkHelper, httpClient,
+                        splitClientConfig.eventsEndpoint()),
+                ServiceFactory.getImpressionsCountRecorder(networkHelper, httpClient,
                         splitClientConfig.eventsEndpoint()));
     }
 
@@ -18,7 +18,6 @@ import io.split.android.client.events.SplitEventsManager;
 import io.split.android.client.factory.FactoryMonitor;
 import io.split.android.client.factory.FactoryMonitorImpl;
 import io.split.android.client.impressions.ImpressionListener;
-import io.split.android.client.impressions.SyncImpressionListener;
 import io.split.android.client.lifecycle.LifecycleManager;
 import io.split.android.client.metrics.CachedMetrics;
 import io.split.android.client.metrics.FireAndForgetMetrics;
@@ -30,6 +29,7 @@ import io.split.android.client.service.executor.SplitTaskExecutor;
 import io.split.android.client.service.executor.SplitTaskExecutorImpl;
 import io.split.android.client.service.executor.SplitTaskFactory;
 import io.split.android.client.service.executor.SplitTaskFactoryImpl;
+import io.split.android.client.service.impressions.ImpressionsCounter;
 import io.split.android.client.service.synchronizer.SyncManager;
 import io.split.android.client.service.synchronizer.Synchronizer;
 import io.split.android.client.service.synchronizer.SynchronizerImpl;
@@ -77,7 +77,9 @@ public class SplitFactoryImpl implements SplitFactory {
 
     public SplitFactoryImpl(String apiToken, Key key, SplitClientConfig config, Context context)
             throws URISyntaxException {
-        this(apiToken, key, config, context, new HttpClientImpl());
+        this(apiToken, key, config, context, new HttpClientImpl(
+                config.compressRequests() ? config.compressionThreshold() : HttpClientImpl.NO_REQUEST_COMPRESSION,
+                config.acceptCompressedResponses()));
     }
 
     private SplitFactoryImpl(String apiToken, Key key, SplitClientConfig config,
@@ -133,8 +135,9 @@ public class SplitFactoryImpl implements SplitFactory {
                 httpClient, cachedFireAndForgetMetrics);
 
         SplitTaskExecutor _splitTaskExecutor = new SplitTaskExecutorImpl();
+        ImpressionsCounter impressionsCounter = new ImpressionsCounter();
         SplitTaskFactory splitTaskFactory = new SplitTaskFactoryImpl(
-                config, splitApiFacade, storageContainer, key.matchingKey());
+                config, splitApiFacade, storageContainer, key.matchingKey(), impressionsCounter);
 
         Synchronizer synchronizer = new SynchronizerImpl(
                 config, _splitTaskExecutor, storageContainer, splitTaskFactory,
@@ -147,7 +150,7 @@ public class SplitFactoryImpl implements SplitFactory {
         _syncManager.start();
 
         final ImpressionListener splitImpressionListener
-                = new SyncImpressionListener(_syncManager);
+                = factoryHelper.buildImpressionListener(config, _syncManager, impressionsCounter);
         final ImpressionListener customerImpressionListener;
 
         if (config.impressionListener() != null) {
@@ -200,8 +203,11 @@ public class SplitFactoryImpl implements SplitFactory {
 
         _client = new SplitClientImpl(this, key, splitParser,
                 customerImpressionListener, cachedFireAndForgetMetrics, config, _eventsManager,
-                storageContainer.getSplitsStorage(), new EventPropertiesProcessorImpl(),
-                _syncManager);
+                storageContainer.getSplitsStorage(), storageContainer.getParsedSplitsCache(),
+                storageContainer.getStorageVersion(),
+                new EventPropertiesProcessorImpl(),
+                _syncManager,
+                factoryHelper.buildAttributesManager(config, context, key, databaseName, _splitTaskExecutor));
         _manager = new SplitManagerImpl(
                 storageContainer.getSplitsStorage(),
                 new SplitValidatorImpl(), splitParser);
@@ -12,7 +12,7 @@ public interface SplitManager {
      * Retrieves the features (or Splits) that are currently registered with the
      * SDK.
      *
-     * @return a List of SplitView or empty
+     * @return a read only List of SplitView or empty
      */
     List<SplitView> splits();
 
@@ -26,7 +26,7 @@ public interface SplitManager {
     /**
      * Returns the names of features (or Splits) registered with the SDK.
      *
-     * @return a List of String (Split Feature Names) or empty
+     * @return a read only List of String (Split Feature Names) or empty
      */
     List<String> splitNames();
 
@@ -3,6 +3,7 @@ package io.split.android.client;
 import io.split.android.client.api.SplitView;
 import io.split.android.client.dtos.Partition;
 import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.splits.InMemorySplitsSnapshot;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.utils.Logger;
 import io.split.android.client.validators.SplitValidator;
@@ -14,8 +15,9 @@ import io.split.android.engine.experiments.ParsedSplit;
 import io.split.android.engine.experiments.SplitParser;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +32,12 @@ public class SplitManagerImpl implements SplitManager {
     private ValidationMessageLogger _validationMessageLogger;
     private final SplitParser _splitParser;
 
+    // Views are shared between calls and rebuilt only when the split change number changes
+    private final Map<String, SplitView> _splitViews = new HashMap<>();
+    private Map<String, Split> _viewedSplits;
+    private List<SplitView> _splitViewList = Collections.emptyList();
+    private List<String> _splitNameList = Collections.emptyList();
+
     public SplitManagerImpl(SplitsStorage splitsStorage,
                             SplitValidator splitValidator,
                             SplitParser splitParser) {
@@ -42,24 +50,15 @@ public class SplitManagerImpl implements SplitManager {
 
     @Override
     public List<SplitView> splits() {
-        List<SplitView> result = new ArrayList<>();
-
         if (_isManagerDestroyed) {
             Logger.e("Manager has already been destroyed - no calls possible");
-            return result;
+            return new ArrayList<>();
         }
 
-        Map<String, Split> splitMap = _splitsStorage.getAll();
-        if (splitMap != null && splitMap.size() > 0) {
-            Collection<Split> splits = _splitsStorage.getAll().values();
-            for (Split split : splits) {
-                ParsedSplit parsedSplit = _splitParser.parse(split);
-                if (parsedSplit != null) {
-                    result.add(toSplitView(parsedSplit));
-                }
-            }
+        synchronized (this) {
+            updateViews(currentSplits());
+            return _splitViewList;
         }
-        return result;
     }
 
     @Override
@@ -82,34 +81,34 @@ public class SplitManagerImpl implements SplitManager {
             splitName = featureName.trim();
         }
 
-        ParsedSplit parsedSplit = null;
-        Split split = _splitsStorage.get(splitName);
+        SplitView splitView = null;
+        Split split = getSplit(splitName);
         if (split != null) {
-            parsedSplit = _splitParser.parse(split);
+            synchronized (this) {
+                splitView = viewOf(split);
+                if (splitView != null) {
+                    _splitViews.put(split.name, splitView);
+                }
+            }
         }
-        if (parsedSplit == null) {
+        if (splitView == null) {
             _validationMessageLogger.w(_splitValidator.splitNotFoundMessage(splitName), validationTag);
             return null;
         }
-        return toSplitView(parsedSplit);
+        return splitView;
     }
 
     @Override
     public List<String> splitNames() {
-        List<String> result = new ArrayList<>();
-
         if (_isManagerDestroyed) {
             Logger.e("Manager has already been destroyed - no calls possible");
-            return result;
+            return new ArrayList<>();
         }
 
-        Map<String, Split> splitMap = _splitsStorage.getAll();
-        if (splitMap != null && splitMap.size() > 0) {
-            for (Split split : splitMap.values()) {
-                result.add(split.name);
-            }
+        synchronized (this) {
+            updateViews(currentSplits());
+            return _splitNameList;
         }
-        return result;
     }
 
     @Override
@@ -117,22 +116,75 @@ public class SplitManagerImpl implements SplitManager {
         _isManagerDestroyed = true;
     }
 
+    private Map<String, Split> currentSplits() {
+        InMemorySplitsSnapshot snapshot = _splitsStorage.getSnapshot();
+        Map<String, Split> splits = (snapshot != null ? snapshot.getSplits() : _splitsStorage.getAll());
+        return (splits != null ? splits : Collections.<String, Split>emptyMap());
+    }
+
+    private Split getSplit(String name) {
+        InMemorySplitsSnapshot snapshot = _splitsStorage.getSnapshot();
+        return (snapshot != null ? snapshot.get(name) : _splitsStorage.get(name));
+    }
+
+    /**
+     * Brings views and lists up to date with the given splits.
+     * Does nothing if they were built from the same map, otherwise
+     * only splits whose change number changed are parsed again.
+     */
+    private void updateViews(Map<String, Split> splits) {
+        if (splits == _viewedSplits) {
+            return;
+        }
+
+        Map<String, SplitView> views = new HashMap<>();
+        List<SplitView> viewList = new ArrayList<>(splits.size());
+        List<String> nameList = new ArrayList<>(splits.size());
+        for (Split split : splits.values()) {
+            nameList.add(split.name);
+            SplitView splitView = viewOf(split);
+            if (splitView != null) {
+                views.put(split.name, splitView);
+                viewList.add(splitView);
+            }
+        }
+
+        _splitViews.clear();
+        _splitViews.putAll(views);
+        _splitViewList = Collections.unmodifiableList(viewList);
+        _splitNameList = Collections.unmodifiableList(nameList);
+        _viewedSplits = splits;
+    }
+
+    /**
+     * @return cached view of the split if it has the same change number, a new one otherwise
+     */
+    private SplitView viewOf(Split split) {
+        SplitView splitView = _splitViews.get(split.name);
+        if (splitView != null && splitView.changeNumber == split.changeNumber) {
+            return splitView;
+        }
+        ParsedSplit parsedSplit = _splitParser.parse(split);
+        return (parsedSplit != null ? toSplitView(parsedSplit) : null);
+    }
+
     private SplitView toSplitView(ParsedSplit parsedSplit) {
         SplitView splitView = new SplitView();
         splitView.name = parsedSplit.feature();
         splitView.trafficType = parsedSplit.trafficTypeName();
         splitView.killed = parsedSplit.killed();
         splitView.changeNumber = parsedSplit.changeNumber();
-        splitView.configs = parsedSplit.configurations();
+        Map<String, String> configs = parsedSplit.configurations();
+        splitView.configs = (configs != null ? Collections.unmodifiableMap(configs) : null);
 
-        Set<String> treatments = new HashSet<>();
+        Set<String> treatments = new LinkedHashSet<>();
         for (ParsedCondition condition : parsedSplit.parsedConditions()) {
             for (Partition partition : condition.partitions()) {
                 treatments.add(partition.treatment);
             }
         }
         treatments.add(parsedSplit.defaultTreatment());
-        splitView.treatments = new ArrayList<>(treatments);
+        splitView.treatments = Collections.unmodifiableList(new ArrayList<>(treatments));
 
         return splitView;
     }
@@ -1,8 +1,26 @@
 package io.split.android.client;
 
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonParseException;
+
+import java.util.Map;
+
+import io.split.android.client.utils.JsonTree;
+import io.split.android.client.utils.Logger;
+
+/**
+ * Immutable, so the same instance can be returned by several calls
+ */
 public class SplitResult {
-    private String treatment;
-    private String config;
+    private static final Object NOT_PARSED = new Object();
+    private static final Object INVALID = new Object();
+
+    private final String treatment;
+    private final String config;
+    // Parsed on first use. Evaluations share one instance for each treatment
+    // of a split change number, so the config is parsed once for all of them.
+    private volatile Object parsedConfig = NOT_PARSED;
 
     public SplitResult(String treatment, String config) {
         this.treatment = treatment;
@@ -20,4 +38,33 @@ public class SplitResult {
     public String config() {
         return config;
     }
+
+    /**
+     * Dynamic configuration parsed into a read only tree: JSON objects are maps,
+     * arrays are lists, integral numbers are Long and other numbers Double.
+     *
+     * @return parsed configuration, or null if there is none or it isn't a valid JSON object
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable Map<String, Object> parsedConfig() {
+        Object parsed = parsedConfig;
+        if (parsed == NOT_PARSED) {
+            parsed = parseConfig();
+            // Concurrent callers could parse it twice, both trees are equal
+            parsedConfig = parsed;
+        }
+        return (parsed != INVALID ? (Map<String, Object>) parsed : null);
+    }
+
+    private Object parseConfig() {
+        if (config == null) {
+            return INVALID;
+        }
+        try {
+            return JsonTree.parseObject(config);
+        } catch (JsonParseException e) {
+            Logger.e("Invalid config for treatment " + treatment + ": " + e.getLocalizedMessage());
+            return INVALID;
+        }
+    }
 }
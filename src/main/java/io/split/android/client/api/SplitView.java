@@ -5,7 +5,8 @@ import java.util.Map;
 
 /**
  * A view of a Split meant for consumption through SplitManager interface.
- *
+ * Views returned by the manager are cached and shared between calls
+ * while the split doesn't change, so they should be treated as read only.
  */
 public class SplitView {
     public String name;
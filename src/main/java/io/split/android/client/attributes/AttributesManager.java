@@ -0,0 +1,32 @@
+package io.split.android.client.attributes;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * Attributes set once on a client and used in every evaluation.
+ */
+public interface AttributesManager {
+
+    boolean setAttribute(String name, Object value);
+
+    @Nullable Object getAttribute(String name);
+
+    boolean setAttributes(Map<String, Object> attributes);
+
+    @NonNull Map<String, Object> getAllAttributes();
+
+    boolean removeAttribute(String name);
+
+    boolean clearAttributes();
+
+    /**
+     * @param attributes attributes of a single evaluation call, they take precedence
+     *                   over the client ones. Can be null.
+     * @return attributes to evaluate with. Client attributes are returned
+     * without copying them when the call has no attributes.
+     */
+    @NonNull Map<String, Object> merge(@Nullable Map<String, Object> attributes);
+}
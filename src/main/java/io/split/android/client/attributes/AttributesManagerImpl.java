@@ -0,0 +1,169 @@
+package io.split.android.client.attributes;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.split.android.client.service.attributes.LoadAttributesTask;
+import io.split.android.client.service.attributes.UpdateAttributesTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskExecutionListener;
+import io.split.android.client.service.executor.SplitTaskExecutor;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.storage.attributes.AttributeValues;
+import io.split.android.client.storage.attributes.AttributesStorage;
+import io.split.android.client.validators.ValidationMessageLogger;
+import io.split.android.client.validators.ValidationMessageLoggerImpl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validates and normalizes client attributes before storing them.
+ * When a task executor is given, persisted attributes are loaded
+ * in background and every change is written back to local storage
+ * once loading has finished.
+ */
+public class AttributesManagerImpl implements AttributesManager, SplitTaskExecutionListener {
+
+    private static final String VALIDATION_TAG = "attributes";
+
+    private final AttributesStorage mAttributesStorage;
+    private final SplitTaskExecutor mTaskExecutor;
+    private final ValidationMessageLogger mValidationLogger;
+    private volatile boolean mIsLocalLoaded = false;
+
+    public AttributesManagerImpl(@NonNull AttributesStorage attributesStorage) {
+        this(attributesStorage, null);
+    }
+
+    /**
+     * @param taskExecutor executor to load and persist attributes. Null to keep them only in memory.
+     */
+    public AttributesManagerImpl(@NonNull AttributesStorage attributesStorage,
+                                 @Nullable SplitTaskExecutor taskExecutor) {
+        mAttributesStorage = checkNotNull(attributesStorage);
+        mTaskExecutor = taskExecutor;
+        mValidationLogger = new ValidationMessageLoggerImpl();
+        if (mTaskExecutor != null) {
+            mTaskExecutor.submit(new LoadAttributesTask(mAttributesStorage), this);
+        }
+    }
+
+    @Override
+    public boolean setAttribute(String name, Object value) {
+        if (!isValidName(name)) {
+            return false;
+        }
+        Object normalizedValue = normalize(name, value);
+        if (normalizedValue == null) {
+            return false;
+        }
+        mAttributesStorage.set(name, normalizedValue);
+        persist();
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Object getAttribute(String name) {
+        if (name == null) {
+            return null;
+        }
+        return mAttributesStorage.get(name);
+    }
+
+    @Override
+    public boolean setAttributes(Map<String, Object> attributes) {
+        if (attributes == null) {
+            mValidationLogger.e("attributes must be a non null map", VALIDATION_TAG);
+            return false;
+        }
+        Map<String, Object> normalizedAttributes = new HashMap<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            if (!isValidName(attribute.getKey())) {
+                return false;
+            }
+            Object normalizedValue = normalize(attribute.getKey(), attribute.getValue());
+            if (normalizedValue == null) {
+                return false;
+            }
+            normalizedAttributes.put(attribute.getKey(), normalizedValue);
+        }
+        mAttributesStorage.set(normalizedAttributes);
+        persist();
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> getAllAttributes() {
+        return mAttributesStorage.getAll();
+    }
+
+    @Override
+    public boolean removeAttribute(String name) {
+        if (name == null) {
+            return false;
+        }
+        mAttributesStorage.remove(name);
+        persist();
+        return true;
+    }
+
+    @Override
+    public boolean clearAttributes() {
+        mAttributesStorage.clear();
+        persist();
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> merge(@Nullable Map<String, Object> attributes) {
+        Map<String, Object> clientAttributes = mAttributesStorage.getAll();
+        if (attributes == null || attributes.isEmpty()) {
+            return clientAttributes;
+        }
+        if (clientAttributes.isEmpty()) {
+            return attributes;
+        }
+        Map<String, Object> merged = new HashMap<>(clientAttributes);
+        merged.putAll(attributes);
+        return merged;
+    }
+
+    @Override
+    public void taskExecuted(@NonNull SplitTaskExecutionInfo taskInfo) {
+        if (taskInfo.getTaskType() == SplitTaskType.LOAD_LOCAL_ATTRIBUTES) {
+            mIsLocalLoaded = true;
+            // Changes made after the load task persisted attributes
+            persist();
+        }
+    }
+
+    private void persist() {
+        // Until loading finishes the load task writes the changes along with the persisted attributes
+        if (mTaskExecutor != null && mIsLocalLoaded) {
+            mTaskExecutor.submit(new UpdateAttributesTask(mAttributesStorage), null);
+        }
+    }
+
+    private boolean isValidName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            mValidationLogger.e("attribute name must be a non empty string", VALIDATION_TAG);
+            return false;
+        }
+        return true;
+    }
+
+    private Object normalize(String name, Object value) {
+        Object normalizedValue = AttributeValues.normalize(value);
+        if (normalizedValue == null) {
+            mValidationLogger.e("attribute " + name + " must be a string, number, boolean " +
+                    "or a collection of non null values", VALIDATION_TAG);
+        }
+        return normalizedValue;
+    }
+}
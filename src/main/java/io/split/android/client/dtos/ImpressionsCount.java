@@ -0,0 +1,14 @@
+package io.split.android.client.dtos;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+public class ImpressionsCount {
+    @SerializedName("pf")
+    public List<ImpressionsCountPerFeature> perFeature;
+
+    public ImpressionsCount(List<ImpressionsCountPerFeature> perFeature) {
+        this.perFeature = perFeature;
+    }
+}
@@ -0,0 +1,28 @@
+package io.split.android.client.dtos;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Number of impressions of a split treatment in an hour
+ */
+public class ImpressionsCountPerFeature {
+    public transient long storageId;
+    @SerializedName("f")
+    public String feature;
+    @SerializedName("t")
+    public String treatment;
+    @SerializedName("m")
+    public long timeframe;
+    @SerializedName("rc")
+    public int count;
+
+    public ImpressionsCountPerFeature() {
+    }
+
+    public ImpressionsCountPerFeature(String feature, String treatment, long timeframe, int count) {
+        this.feature = feature;
+        this.treatment = treatment;
+        this.timeframe = timeframe;
+        this.count = count;
+    }
+}
@@ -1,5 +1,6 @@
 package io.split.android.client.dtos;
 
+import com.google.gson.annotations.SerializedName;
 
 import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.storage.InBytesSizable;
@@ -15,6 +16,8 @@ public class KeyImpression implements InBytesSizable {
     public String label;
     public long time;
     public Long changeNumber; // can be null if there is no changeNumber
+    @SerializedName("pt")
+    public Long previousTime; // null unless the impression was seen before
 
     public KeyImpression() {
     }
@@ -27,6 +30,7 @@ public class KeyImpression implements InBytesSizable {
         this.treatment = impression.treatment();
         this.time = impression.time();
         this.changeNumber = impression.changeNumber();
+        this.previousTime = impression.previousTime();
     }
 
     @Override
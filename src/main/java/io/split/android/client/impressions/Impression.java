@@ -12,9 +12,14 @@ public class Impression {
     private final String _appliedRule;
     private final Long _changeNumber;
     private final Map<String, Object> _attributes;
+    private final Long _previousTime;
 
 
     public Impression(String key, String bucketingKey, String split, String treatment, long time, String appliedRule, Long changeNumber, Map<String, Object> atributes) {
+        this(key, bucketingKey, split, treatment, time, appliedRule, changeNumber, atributes, null);
+    }
+
+    private Impression(String key, String bucketingKey, String split, String treatment, long time, String appliedRule, Long changeNumber, Map<String, Object> atributes, Long previousTime) {
         _key = key;
         _bucketingKey = bucketingKey;
         _split = split;
@@ -23,6 +28,7 @@ public class Impression {
         _appliedRule = appliedRule;
         _changeNumber = changeNumber;
         _attributes = atributes;
+        _previousTime = previousTime;
     }
 
     public String key() {
@@ -56,4 +62,15 @@ public class Impression {
     public Map<String, Object> attributes() {
         return _attributes;
     }
+
+    /**
+     * @return time the same impression was previously seen, or null if it wasn't
+     */
+    public Long previousTime() {
+        return _previousTime;
+    }
+
+    public Impression withPreviousTime(Long previousTime) {
+        return new Impression(_key, _bucketingKey, _split, _treatment, _time, _appliedRule, _changeNumber, _attributes, previousTime);
+    }
 }
@@ -0,0 +1,26 @@
+package io.split.android.client.impressions;
+
+import io.split.android.client.service.impressions.ImpressionsCounter;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Counts impressions by split, treatment and hour instead of storing each one
+ */
+public class ImpressionsCountListener implements ImpressionListener {
+
+    private final ImpressionsCounter mImpressionsCounter;
+
+    public ImpressionsCountListener(ImpressionsCounter impressionsCounter) {
+        mImpressionsCounter = checkNotNull(impressionsCounter);
+    }
+
+    @Override
+    public void log(Impression impression) {
+        mImpressionsCounter.inc(impression.split(), impression.treatment(), impression.time(), 1);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,19 @@
+package io.split.android.client.impressions;
+
+/**
+ * How impressions generated by the client are sent to Split
+ */
+public enum ImpressionsMode {
+    /**
+     * Repeated impressions are sent once per dedupe window
+     */
+    OPTIMIZED,
+    /**
+     * Every impression is sent
+     */
+    DEBUG,
+    /**
+     * Only the number of impressions by split, treatment and hour is sent
+     */
+    COUNT
+}
@@ -1,5 +1,8 @@
 package io.split.android.client.impressions;
 
+import androidx.annotation.Nullable;
+
+import io.split.android.client.service.impressions.ImpressionsObserver;
 import io.split.android.client.service.synchronizer.SyncManager;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -7,17 +10,43 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class SyncImpressionListener implements ImpressionListener {
 
     private final SyncManager mSyncManager;
+    private final ImpressionsObserver mImpressionsObserver;
+    private final long mDedupeWindowInMillis;
 
     public SyncImpressionListener(SyncManager syncManager) {
+        this(syncManager, null, 0);
+    }
+
+    /**
+     * @param impressionsObserver if not null, impressions already seen in the same
+     *                            dedupe window are dropped, the rest are tagged
+     *                            with the time they were previously seen
+     */
+    public SyncImpressionListener(SyncManager syncManager,
+                                  @Nullable ImpressionsObserver impressionsObserver,
+                                  long dedupeWindowInMillis) {
         mSyncManager = checkNotNull(syncManager);
+        mImpressionsObserver = impressionsObserver;
+        mDedupeWindowInMillis = dedupeWindowInMillis;
     }
 
     @Override
     public void log(Impression impression) {
+        if (mImpressionsObserver != null) {
+            Long previousTime = mImpressionsObserver.testAndSet(impression);
+            if (previousTime != null && isSameWindow(previousTime, impression.time())) {
+                return;
+            }
+            impression = impression.withPreviousTime(previousTime);
+        }
         mSyncManager.pushImpression(impression);
     }
 
     @Override
     public void close() {
     }
+
+    private boolean isSameWindow(long previousTime, long time) {
+        return previousTime / mDedupeWindowInMillis == time / mDedupeWindowInMillis;
+    }
 }
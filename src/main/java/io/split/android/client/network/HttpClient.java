@@ -8,6 +8,7 @@ public interface HttpClient {
     void addHeaders(Map<String, String> headers);
     HttpRequest request(URI uri, HttpMethod httpMethod);
     HttpRequest request(URI uri, HttpMethod httpMethod, String body);
+    HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBody body);
     HttpStreamRequest streamRequest(URI uri);
     void close();
 }
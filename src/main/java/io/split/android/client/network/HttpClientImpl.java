@@ -6,20 +6,43 @@ import java.util.Map;
 
 public class HttpClientImpl implements HttpClient {
 
+    public static final int NO_REQUEST_COMPRESSION = -1;
+
     private Map<String, String> mHeaders;
+    private final int mRequestCompressionThreshold;
+    private final boolean mAcceptCompressedResponses;
 
     public HttpClientImpl() {
+        this(NO_REQUEST_COMPRESSION, false);
+    }
+
+    /**
+     * @param requestCompressionThreshold POST bodies bigger than this number of bytes
+     *                                    are sent gzip compressed.
+     *                                    {@link #NO_REQUEST_COMPRESSION} to never compress them
+     * @param acceptCompressedResponses true to ask for gzip compressed GET responses
+     */
+    public HttpClientImpl(int requestCompressionThreshold, boolean acceptCompressedResponses) {
         mHeaders = new HashMap<>();
+        mRequestCompressionThreshold = requestCompressionThreshold;
+        mAcceptCompressedResponses = acceptCompressedResponses;
     }
 
     @Override
     public HttpRequest request(URI uri, HttpMethod requestMethod) {
-        return request(uri, requestMethod, null);
+        return request(uri, requestMethod, (String) null);
     }
 
     @Override
     public HttpRequest request(URI uri, HttpMethod requestMethod, String body) {
-        return new HttpRequestImpl(uri, requestMethod, body, mHeaders);
+        return new HttpRequestImpl(uri, requestMethod, body, mHeaders,
+                mRequestCompressionThreshold, mAcceptCompressedResponses);
+    }
+
+    @Override
+    public HttpRequest request(URI uri, HttpMethod requestMethod, HttpRequestBody body) {
+        return new HttpRequestImpl(uri, requestMethod, body, mHeaders,
+                mRequestCompressionThreshold, mAcceptCompressedResponses);
     }
 
     @Override
@@ -0,0 +1,14 @@
+package io.split.android.client.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Request body written straight to the connection output stream,
+ * so big payloads don't have to be kept in memory as a String.
+ */
+public interface HttpRequestBody {
+    void writeTo(@NonNull OutputStream stream) throws IOException;
+}
@@ -1,7 +1,10 @@
 package io.split.android.client.network;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
@@ -11,15 +14,27 @@ import java.net.URI;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class HttpRequestImpl implements HttpRequest {
 
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String GZIP_ENCODING = "gzip";
+    // Chunk length used by HttpURLConnection when 0 is passed
+    private static final int DEFAULT_CHUNK_LENGTH = 0;
+    private static final int BODY_BUFFER_SIZE = 8192;
+
     private URI mUri;
     private String mBody;
+    private HttpRequestBody mStreamedBody;
     private HttpMethod mHttpMethod;
     private Map<String, String> mHeaders;
+    private int mCompressionThreshold = HttpClientImpl.NO_REQUEST_COMPRESSION;
+    private boolean mAcceptCompressedResponse;
 
     HttpRequestImpl(URI uri, HttpMethod httpMethod, String body, Map<String, String> headers) {
         mUri = uri;
@@ -28,6 +43,24 @@ public class HttpRequestImpl implements HttpRequest {
         mHeaders = new HashMap<>(checkNotNull(headers));
     }
 
+    /**
+     * @param compressionThreshold bodies bigger than this number of bytes are sent gzip compressed,
+     *                             {@link HttpClientImpl#NO_REQUEST_COMPRESSION} to never compress them
+     * @param acceptCompressedResponse true to ask for a gzip compressed response on GET requests
+     */
+    HttpRequestImpl(URI uri, HttpMethod httpMethod, String body, Map<String, String> headers,
+                    int compressionThreshold, boolean acceptCompressedResponse) {
+        this(uri, httpMethod, body, headers);
+        mCompressionThreshold = compressionThreshold;
+        mAcceptCompressedResponse = acceptCompressedResponse;
+    }
+
+    HttpRequestImpl(URI uri, HttpMethod httpMethod, HttpRequestBody body, Map<String, String> headers,
+                    int compressionThreshold, boolean acceptCompressedResponse) {
+        this(uri, httpMethod, (String) null, headers, compressionThreshold, acceptCompressedResponse);
+        mStreamedBody = body;
+    }
+
     @Override
     public HttpResponse execute() throws HttpException {
 
@@ -55,6 +88,9 @@ public class HttpRequestImpl implements HttpRequest {
             connection = (HttpURLConnection) url.openConnection();
             connection.setRequestMethod(mHttpMethod.name());
             addHeaders(connection);
+            if (mAcceptCompressedResponse) {
+                connection.setRequestProperty(ACCEPT_ENCODING_HEADER, GZIP_ENCODING);
+            }
             response = buildResponse(connection);
             connection.disconnect();
         } catch (MalformedURLException e) {
@@ -74,12 +110,19 @@ public class HttpRequestImpl implements HttpRequest {
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
         addHeaders(connection);
         connection.setRequestMethod(mHttpMethod.name());
-        if(mBody != null && !mBody.isEmpty()) {
+        if (mStreamedBody != null) {
+            writeStreamedBody(connection);
+        } else if(mBody != null && !mBody.isEmpty()) {
+            byte[] body = mBody.getBytes();
+            if (isCompressionEnabled() && body.length > mCompressionThreshold) {
+                body = gzip(body);
+                connection.setRequestProperty(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+            }
             connection.setDoOutput(true);
             OutputStream bodyStream = null;
             try {
                 bodyStream = connection.getOutputStream();
-                bodyStream.write(mBody.getBytes());
+                bodyStream.write(body);
                 bodyStream.flush();
             } finally {
                 if(bodyStream != null) {
@@ -92,6 +135,41 @@ public class HttpRequestImpl implements HttpRequest {
         return httpResponse;
     }
 
+    private void writeStreamedBody(HttpURLConnection connection) throws IOException {
+        // Body length isn't known until it is written, so it's sent chunked
+        // instead of letting the connection buffer it to compute Content-Length
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(DEFAULT_CHUNK_LENGTH);
+        OutputStream bodyStream;
+        if (isCompressionEnabled()) {
+            bodyStream = new CompressingBodyStream(connection, mCompressionThreshold);
+        } else {
+            bodyStream = connection.getOutputStream();
+        }
+        try {
+            bodyStream = new BufferedOutputStream(bodyStream, BODY_BUFFER_SIZE);
+            mStreamedBody.writeTo(bodyStream);
+            bodyStream.flush();
+            // Closing the gzip stream writes the trailer
+            bodyStream.close();
+        } catch (IOException e) {
+            connection.disconnect();
+            throw e;
+        }
+    }
+
+    private boolean isCompressionEnabled() {
+        return mCompressionThreshold != HttpClientImpl.NO_REQUEST_COMPRESSION;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4);
+        GZIPOutputStream gzipStream = new GZIPOutputStream(compressed);
+        gzipStream.write(data);
+        gzipStream.close();
+        return compressed.toByteArray();
+    }
+
     private void addHeaders(HttpURLConnection connection) {
         for (Map.Entry<String, String> entry : mHeaders.entrySet()) {
             connection.setRequestProperty(entry.getKey(), entry.getValue());
@@ -101,8 +179,11 @@ public class HttpRequestImpl implements HttpRequest {
     private HttpResponse buildResponse(HttpURLConnection connection) throws IOException {
         int responseCode = connection.getResponseCode();
         if (responseCode >= HttpURLConnection.HTTP_OK && responseCode < 300) {
-            BufferedReader in = new BufferedReader(new InputStreamReader(
-                    connection.getInputStream()));
+            InputStream responseStream = connection.getInputStream();
+            if (GZIP_ENCODING.equalsIgnoreCase(connection.getContentEncoding())) {
+                responseStream = new GZIPInputStream(responseStream, BODY_BUFFER_SIZE);
+            }
+            BufferedReader in = new BufferedReader(new InputStreamReader(responseStream));
 
             String inputLine;
             StringBuilder responseData = new StringBuilder();
@@ -116,4 +197,65 @@ public class HttpRequestImpl implements HttpRequest {
         return new HttpResponseImpl(responseCode);
     }
 
+    /**
+     * Keeps the body in memory until it gets bigger than the threshold,
+     * so small bodies are sent as they are and bigger ones gzip compressed.
+     * The connection stream is opened once that is known
+     * because Content-Encoding header has to be set before.
+     */
+    private static class CompressingBodyStream extends OutputStream {
+        private final HttpURLConnection mConnection;
+        private final int mThreshold;
+        private ByteArrayOutputStream mHead;
+        private OutputStream mStream;
+
+        CompressingBodyStream(HttpURLConnection connection, int threshold) {
+            mConnection = connection;
+            mThreshold = threshold;
+            mHead = new ByteArrayOutputStream(Math.min(threshold, BODY_BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (mStream == null) {
+                if (mHead.size() + len <= mThreshold) {
+                    mHead.write(b, off, len);
+                    return;
+                }
+                open(true);
+            }
+            mStream.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (mStream != null) {
+                mStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (mStream == null) {
+                open(false);
+            }
+            mStream.close();
+        }
+
+        private void open(boolean compressed) throws IOException {
+            if (compressed) {
+                mConnection.setRequestProperty(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+                mStream = new GZIPOutputStream(mConnection.getOutputStream(), BODY_BUFFER_SIZE);
+            } else {
+                mStream = mConnection.getOutputStream();
+            }
+            mHead.writeTo(mStream);
+            mHead = null;
+        }
+    }
 }
@@ -8,6 +8,7 @@ public class SdkTargetPath {
     public static final String MY_SEGMENTS = "/mySegments";
     public static final String EVENTS = "/events/bulk";
     public static final String IMPRESSIONS = "/testImpressions/bulk";
+    public static final String IMPRESSIONS_COUNT = "/testImpressions/count";
     public static final String SSE_AUTHENTICATION = "/auth";
 
     public static final URI splitChanges(String baseUrl) throws URISyntaxException {
@@ -26,6 +27,10 @@ public class SdkTargetPath {
         return buildUrl(baseUrl, IMPRESSIONS);
     }
 
+    public static final URI impressionsCount(String baseUrl) throws URISyntaxException {
+        return buildUrl(baseUrl, IMPRESSIONS_COUNT);
+    }
+
     public static final URI sseAuthentication(String baseUrl) throws URISyntaxException {
         return buildUrl(baseUrl, SSE_AUTHENTICATION);
     }
@@ -7,6 +7,13 @@ public class ServiceConstants {
     public static final long NO_INITIAL_DELAY = 0;
     public static final long DEFAULT_INITIAL_DELAY = 15L;
     public static final int DEFAULT_RECORDS_PER_PUSH = 100;
+    public static final int RECORDS_WRITER_BATCH_SIZE = 100;
+    public static final int RECORDS_WRITER_MAX_PENDING = 10000;
+    public static final long RECORDS_WRITER_MAX_DELAY_MS = 100L;
+    public static final long RECORDS_WRITER_WRITE_NOW_TIMEOUT_MS = 2000L;
+    public static final int IMPRESSIONS_OBSERVER_SIZE = 2000;
+    public static final int IMPRESSIONS_COUNT_PER_PUSH = 1000;
+    public static final long IMPRESSIONS_COUNT_SAVE_PERIOD = 60L;
 
     public final static String TASK_INFO_FIELD_STATUS = "taskStatus";
     public final static String TASK_INFO_FIELD_TYPE = "taskType";
@@ -20,4 +27,6 @@ public class ServiceConstants {
     public final static String WORKER_PARAM_EVENTS_ENDPOINT = "eventsEndpoint";
     public final static String WORKER_PARAM_IMPRESSIONS_PER_PUSH = "impressionsPerPush";
     public final static String WORKER_PARAM_EVENTS_PER_PUSH = "eventsPerPush";
+    public final static String WORKER_PARAM_COMPRESSION_THRESHOLD = "compressionThreshold";
+    public final static String WORKER_PARAM_ACCEPT_COMPRESSED_RESPONSES = "acceptCompressedResponses";
 }
@@ -6,18 +6,20 @@ import java.net.URISyntaxException;
 import java.util.List;
 
 import io.split.android.client.dtos.Event;
+import io.split.android.client.dtos.ImpressionsCount;
 import io.split.android.client.dtos.KeyImpression;
 import io.split.android.client.dtos.MySegment;
 import io.split.android.client.dtos.SplitChange;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.SdkTargetPath;
-import io.split.android.client.service.events.EventsRequestBodySerializer;
+import io.split.android.client.service.events.EventsRequestBodyWriter;
 import io.split.android.client.service.http.HttpFetcher;
 import io.split.android.client.service.http.HttpFetcherImpl;
 import io.split.android.client.service.http.HttpRecorder;
 import io.split.android.client.service.http.HttpRecorderImpl;
 import io.split.android.client.service.http.HttpSseAuthTokenFetcher;
-import io.split.android.client.service.impressions.ImpressionsRequestBodySerializer;
+import io.split.android.client.service.impressions.ImpressionsCountRequestBodySerializer;
+import io.split.android.client.service.impressions.ImpressionsRequestBodyWriter;
 import io.split.android.client.service.mysegments.MySegmentsResponseParser;
 import io.split.android.client.service.splits.SplitChangeResponseParser;
 import io.split.android.client.service.sseauthentication.SseAuthenticationResponseParser;
@@ -71,7 +73,7 @@ public class ServiceFactory {
             String endPoint) throws URISyntaxException {
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.events(endPoint), networkHelper,
-                new EventsRequestBodySerializer());
+                new EventsRequestBodyWriter());
     }
 
     public static HttpRecorder<List<KeyImpression>> getImpressionsRecorder(
@@ -80,7 +82,16 @@ public class ServiceFactory {
             String endPoint) throws URISyntaxException {
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.impressions(endPoint), networkHelper,
-                new ImpressionsRequestBodySerializer());
+                new ImpressionsRequestBodyWriter());
+    }
+
+    public static HttpRecorder<ImpressionsCount> getImpressionsCountRecorder(
+            NetworkHelper networkHelper,
+            HttpClient httpClient,
+            String endPoint) throws URISyntaxException {
+        return new HttpRecorderImpl<>(
+                httpClient, SdkTargetPath.impressionsCount(endPoint), networkHelper,
+                new ImpressionsCountRequestBodySerializer());
     }
 
     public static HttpSseAuthTokenFetcher getSseAuthenticationFetcher(
@@ -5,6 +5,7 @@ import androidx.annotation.NonNull;
 import java.util.List;
 
 import io.split.android.client.dtos.Event;
+import io.split.android.client.dtos.ImpressionsCount;
 import io.split.android.client.dtos.KeyImpression;
 import io.split.android.client.dtos.MySegment;
 import io.split.android.client.dtos.SplitChange;
@@ -21,17 +22,20 @@ public class SplitApiFacade {
     private final HttpFetcher<SseAuthenticationResponse> mSseAuthenticationFetcher;
     private final HttpRecorder<List<Event>> mEventsRecorder;
     private final HttpRecorder<List<KeyImpression>> mImpressionsRecorder;
+    private final HttpRecorder<ImpressionsCount> mImpressionsCountRecorder;
 
     public SplitApiFacade(@NonNull HttpFetcher<SplitChange> splitFetcher,
                           @NonNull HttpFetcher<List<MySegment>> mySegmentsFetcher,
                           @NonNull HttpSseAuthTokenFetcher sseAuthenticationFetcher,
                           @NonNull HttpRecorder<List<Event>> eventsRecorder,
-                          @NonNull HttpRecorder<List<KeyImpression>> impressionsRecorder) {
+                          @NonNull HttpRecorder<List<KeyImpression>> impressionsRecorder,
+                          @NonNull HttpRecorder<ImpressionsCount> impressionsCountRecorder) {
         mSplitFetcher = checkNotNull(splitFetcher);
         mMySegmentsFetcher = checkNotNull(mySegmentsFetcher);
         mSseAuthenticationFetcher = checkNotNull(sseAuthenticationFetcher);
         mEventsRecorder = checkNotNull(eventsRecorder);
         mImpressionsRecorder = checkNotNull(impressionsRecorder);
+        mImpressionsCountRecorder = checkNotNull(impressionsCountRecorder);
     }
 
     public HttpFetcher<SplitChange> getSplitFetcher() {
@@ -53,4 +57,8 @@ public class SplitApiFacade {
     public HttpRecorder<List<KeyImpression>> getImpressionsRecorder() {
         return mImpressionsRecorder;
     }
+
+    public HttpRecorder<ImpressionsCount> getImpressionsCountRecorder() {
+        return mImpressionsCountRecorder;
+    }
 }
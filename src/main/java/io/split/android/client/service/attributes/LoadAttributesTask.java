@@ -0,0 +1,34 @@
+package io.split.android.client.service.attributes;
+
+import androidx.annotation.NonNull;
+
+import io.split.android.client.service.executor.SplitTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.storage.attributes.AttributesStorage;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class LoadAttributesTask implements SplitTask {
+
+    private final AttributesStorage mAttributesStorage;
+
+    public LoadAttributesTask(@NonNull AttributesStorage attributesStorage) {
+        mAttributesStorage = checkNotNull(attributesStorage);
+    }
+
+    @Override
+    @NonNull
+    public SplitTaskExecutionInfo execute() {
+        try {
+            mAttributesStorage.loadLocal();
+            // Attributes set while loading are written along with the loaded ones
+            mAttributesStorage.persist();
+        } catch (Exception e) {
+            Logger.e("Error while loading attributes: " + e.getLocalizedMessage());
+            return SplitTaskExecutionInfo.error(SplitTaskType.LOAD_LOCAL_ATTRIBUTES);
+        }
+        return SplitTaskExecutionInfo.success(SplitTaskType.LOAD_LOCAL_ATTRIBUTES);
+    }
+}
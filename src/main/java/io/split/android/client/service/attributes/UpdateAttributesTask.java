@@ -0,0 +1,32 @@
+package io.split.android.client.service.attributes;
+
+import androidx.annotation.NonNull;
+
+import io.split.android.client.service.executor.SplitTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.storage.attributes.AttributesStorage;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class UpdateAttributesTask implements SplitTask {
+
+    private final AttributesStorage mAttributesStorage;
+
+    public UpdateAttributesTask(@NonNull AttributesStorage attributesStorage) {
+        mAttributesStorage = checkNotNull(attributesStorage);
+    }
+
+    @Override
+    @NonNull
+    public SplitTaskExecutionInfo execute() {
+        try {
+            mAttributesStorage.persist();
+        } catch (Exception e) {
+            Logger.e("Error while persisting attributes: " + e.getLocalizedMessage());
+            return SplitTaskExecutionInfo.error(SplitTaskType.ATTRIBUTES_UPDATE);
+        }
+        return SplitTaskExecutionInfo.success(SplitTaskType.ATTRIBUTES_UPDATE);
+    }
+}
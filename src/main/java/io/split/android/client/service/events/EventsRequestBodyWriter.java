@@ -0,0 +1,24 @@
+package io.split.android.client.service.events;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import io.split.android.client.dtos.Event;
+import io.split.android.client.service.http.HttpRequestBodyWriter;
+import io.split.android.client.utils.Json;
+
+public class EventsRequestBodyWriter implements HttpRequestBodyWriter<List<Event>> {
+
+    @Override
+    public void write(@NonNull List<Event> data, @NonNull JsonWriter writer) throws IOException {
+        writer.beginArray();
+        for (Event event : data) {
+            Json.toJson(event, Event.class, writer);
+        }
+        writer.endArray();
+    }
+}
@@ -4,7 +4,9 @@ import java.util.List;
 
 import io.split.android.client.dtos.Split;
 import io.split.android.client.service.events.EventsRecorderTask;
+import io.split.android.client.service.impressions.ImpressionsCountRecorderTask;
 import io.split.android.client.service.impressions.ImpressionsRecorderTask;
+import io.split.android.client.service.impressions.SaveImpressionsCountTask;
 import io.split.android.client.service.mysegments.LoadMySegmentsTask;
 import io.split.android.client.service.mysegments.MySegmentsSyncTask;
 import io.split.android.client.service.mysegments.MySegmentsUpdateTask;
@@ -19,6 +21,10 @@ public interface SplitTaskFactory {
 
     ImpressionsRecorderTask createImpressionsRecorderTask();
 
+    SaveImpressionsCountTask createSaveImpressionsCountTask();
+
+    ImpressionsCountRecorderTask createImpressionsCountRecorderTask();
+
     SplitsSyncTask createSplitsSyncTask(boolean retryOnFail);
 
     MySegmentsSyncTask createMySegmentsSyncTask(boolean retryOnFail);
@@ -10,8 +10,11 @@ import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.service.SplitApiFacade;
 import io.split.android.client.service.events.EventsRecorderTask;
 import io.split.android.client.service.events.EventsRecorderTaskConfig;
+import io.split.android.client.service.impressions.ImpressionsCountRecorderTask;
+import io.split.android.client.service.impressions.ImpressionsCounter;
 import io.split.android.client.service.impressions.ImpressionsRecorderTask;
 import io.split.android.client.service.impressions.ImpressionsRecorderTaskConfig;
+import io.split.android.client.service.impressions.SaveImpressionsCountTask;
 import io.split.android.client.service.mysegments.LoadMySegmentsTask;
 import io.split.android.client.service.mysegments.MySegmentsSyncTask;
 import io.split.android.client.service.mysegments.MySegmentsUpdateTask;
@@ -32,16 +35,19 @@ public class SplitTaskFactoryImpl implements SplitTaskFactory {
     private final SplitStorageContainer mSplitsStorageContainer;
     private final SplitClientConfig mSplitClientConfig;
     private final String mUserKey;
+    private final ImpressionsCounter mImpressionsCounter;
 
     public SplitTaskFactoryImpl(@NonNull SplitClientConfig splitClientConfig,
                                 @NonNull SplitApiFacade splitApiFacade,
                                 @NonNull SplitStorageContainer splitStorageContainer,
-                                @NonNull String userKey) {
+                                @NonNull String userKey,
+                                @NonNull ImpressionsCounter impressionsCounter) {
 
         mSplitClientConfig = checkNotNull(splitClientConfig);
         mSplitApiFacade = checkNotNull(splitApiFacade);
         mSplitsStorageContainer = checkNotNull(splitStorageContainer);
         mUserKey = checkNotNull(userKey);
+        mImpressionsCounter = checkNotNull(impressionsCounter);
     }
 
     @Override
@@ -62,6 +68,22 @@ public class SplitTaskFactoryImpl implements SplitTaskFactory {
                         ServiceConstants.ESTIMATED_IMPRESSION_SIZE_IN_BYTES));
     }
 
+    @Override
+    public SaveImpressionsCountTask createSaveImpressionsCountTask() {
+        return new SaveImpressionsCountTask(
+                mImpressionsCounter,
+                mSplitsStorageContainer.getImpressionsCountStorage());
+    }
+
+    @Override
+    public ImpressionsCountRecorderTask createImpressionsCountRecorderTask() {
+        return new ImpressionsCountRecorderTask(
+                mSplitApiFacade.getImpressionsCountRecorder(),
+                mImpressionsCounter,
+                mSplitsStorageContainer.getImpressionsCountStorage(),
+                ServiceConstants.IMPRESSIONS_COUNT_PER_PUSH);
+    }
+
     @Override
     public SplitsSyncTask createSplitsSyncTask(boolean retryOnFail) {
         return new SplitsSyncTask(
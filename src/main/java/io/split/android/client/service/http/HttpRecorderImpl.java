@@ -2,10 +2,18 @@ package io.split.android.client.service.http;
 
 import androidx.annotation.NonNull;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.URI;
+import java.nio.charset.Charset;
 
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpMethod;
+import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpResponse;
 import io.split.android.client.utils.NetworkHelper;
 
@@ -13,10 +21,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 public class HttpRecorderImpl<T> implements HttpRecorder<T> {
 
+    private static final Charset BODY_CHARSET = Charset.forName("UTF-8");
+
     private final HttpClient mClient;
     private final URI mTarget;
     private final NetworkHelper mNetworkHelper;
     private HttpRequestBodySerializer<T> mRequestSerializer;
+    private HttpRequestBodyWriter<T> mRequestBodyWriter;
 
     public HttpRecorderImpl(@NonNull HttpClient client,
                             @NonNull URI target,
@@ -29,17 +40,41 @@ public class HttpRecorderImpl<T> implements HttpRecorder<T> {
         mRequestSerializer = checkNotNull(requestSerializer);
     }
 
+    /**
+     * Recorder streaming the request body to the connection
+     * instead of serializing it to a String first
+     */
+    public HttpRecorderImpl(@NonNull HttpClient client,
+                            @NonNull URI target,
+                            @NonNull NetworkHelper networkHelper,
+                            @NonNull HttpRequestBodyWriter<T> requestBodyWriter) {
+
+        mClient = checkNotNull(client);
+        mTarget = checkNotNull(target);
+        mNetworkHelper = checkNotNull(networkHelper);
+        mRequestBodyWriter = checkNotNull(requestBodyWriter);
+    }
+
     @Override
     public void execute(@NonNull T data) throws HttpRecorderException {
         checkNotNull(data);
 
-        String serializedData = mRequestSerializer.serialize(data);
+        String serializedData = null;
+        if (mRequestSerializer != null) {
+            serializedData = mRequestSerializer.serialize(data);
+        }
         try {
             if (!mNetworkHelper.isReachable(mTarget)) {
                 throw new IllegalStateException("Source not reachable");
             }
 
-            HttpResponse response = mClient.request(mTarget, HttpMethod.POST, serializedData).execute();
+            HttpRequest request;
+            if (mRequestBodyWriter != null) {
+                request = mClient.request(mTarget, HttpMethod.POST, new JsonRequestBody(data));
+            } else {
+                request = mClient.request(mTarget, HttpMethod.POST, serializedData);
+            }
+            HttpResponse response = request.execute();
             if (!response.isSuccess()) {
                 throw new IllegalStateException("http return code " + response.getHttpStatus());
             }
@@ -47,7 +82,20 @@ public class HttpRecorderImpl<T> implements HttpRecorder<T> {
             throw new HttpRecorderException(mTarget.toString(), e.getLocalizedMessage());
         }
     }
-}
 
+    private class JsonRequestBody implements HttpRequestBody {
+        private final T mData;
 
+        JsonRequestBody(T data) {
+            mData = data;
+        }
 
+        @Override
+        public void writeTo(@NonNull OutputStream stream) throws IOException {
+            // Writer isn't closed so the request closes the connection stream
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(stream, BODY_CHARSET));
+            mRequestBodyWriter.write(mData, writer);
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.split.android.client.service.http;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public interface HttpRequestBodyWriter<T> {
+    void write(@NonNull T data, @NonNull JsonWriter writer) throws IOException;
+}
@@ -0,0 +1,42 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import io.split.android.client.impressions.Impression;
+import io.split.android.client.utils.MurmurHash3;
+
+/**
+ * 64 bits murmur hash of the fields identifying repeated impressions:
+ * key, split, treatment, label and change number.
+ * Made of two 32 bits hashes with different seeds, each one chaining
+ * the hash of every field so no intermediate string is built.
+ */
+public class ImpressionHasher {
+
+    private static final int LOW_SEED = 0;
+    private static final int HIGH_SEED = 0x5bd1e995;
+
+    public static long process(@NonNull Impression impression) {
+        long low = hash(impression, LOW_SEED) & 0xFFFFFFFFL;
+        long high = hash(impression, HIGH_SEED) & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+
+    private static int hash(Impression impression, int seed) {
+        int hash = seed;
+        hash = hash(impression.key(), hash);
+        hash = hash(impression.split(), hash);
+        hash = hash(impression.treatment(), hash);
+        hash = hash(impression.appliedRule(), hash);
+        Long changeNumber = impression.changeNumber();
+        long mixed = MurmurHash3.fmix64(((long) hash << 32) ^ (changeNumber != null ? changeNumber : 0L));
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int hash(String value, int seed) {
+        if (value == null) {
+            return MurmurHash3.fmix32(seed ^ 1);
+        }
+        return (int) MurmurHash3.murmurhash3_x86_32(value, 0, value.length(), seed);
+    }
+}
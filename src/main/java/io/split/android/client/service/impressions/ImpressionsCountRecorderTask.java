@@ -0,0 +1,92 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.dtos.ImpressionsCount;
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.service.executor.SplitTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskExecutionStatus;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.service.http.HttpRecorder;
+import io.split.android.client.service.http.HttpRecorderException;
+import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Sends impression counts to Split. Counts still in memory are saved first,
+ * and counts stored for the same split, treatment and hour are merged
+ * before posting them. Stored counts are removed only once they are sent.
+ */
+public class ImpressionsCountRecorderTask implements SplitTask {
+
+    private final HttpRecorder<ImpressionsCount> mHttpRecorder;
+    private final ImpressionsCounter mImpressionsCounter;
+    private final PersistentImpressionsCountStorage mImpressionsCountStorage;
+    private final int mCountsPerPush;
+
+    public ImpressionsCountRecorderTask(@NonNull HttpRecorder<ImpressionsCount> httpRecorder,
+                                        @NonNull ImpressionsCounter impressionsCounter,
+                                        @NonNull PersistentImpressionsCountStorage impressionsCountStorage,
+                                        int countsPerPush) {
+        mHttpRecorder = checkNotNull(httpRecorder);
+        mImpressionsCounter = checkNotNull(impressionsCounter);
+        mImpressionsCountStorage = checkNotNull(impressionsCountStorage);
+        mCountsPerPush = countsPerPush;
+    }
+
+    @Override
+    @NonNull
+    public SplitTaskExecutionInfo execute() {
+        SplitTaskExecutionStatus status = SplitTaskExecutionStatus.SUCCESS;
+        mImpressionsCountStorage.pushMany(mImpressionsCounter.popAll());
+
+        List<ImpressionsCountPerFeature> counts;
+        do {
+            counts = mImpressionsCountStorage.pop(mCountsPerPush);
+            if (counts.size() > 0) {
+                List<ImpressionsCountPerFeature> merged = merge(counts);
+                try {
+                    Logger.d("Posting %d Split impression counts", merged.size());
+                    mHttpRecorder.execute(new ImpressionsCount(merged));
+                    mImpressionsCountStorage.delete(counts);
+                    Logger.d("%d split impression counts sent", merged.size());
+                } catch (HttpRecorderException e) {
+                    status = SplitTaskExecutionStatus.ERROR;
+                    Logger.e("Impressions count recorder task: Some counts couldn't be sent." +
+                            "Saving to send them in a new iteration" +
+                            e.getLocalizedMessage());
+                    mImpressionsCountStorage.setActive(counts);
+                    break;
+                }
+            }
+        } while (counts.size() == mCountsPerPush);
+
+        if (status == SplitTaskExecutionStatus.ERROR) {
+            return SplitTaskExecutionInfo.error(SplitTaskType.IMPRESSIONS_COUNT_RECORDER);
+        }
+        return SplitTaskExecutionInfo.success(SplitTaskType.IMPRESSIONS_COUNT_RECORDER);
+    }
+
+    private List<ImpressionsCountPerFeature> merge(List<ImpressionsCountPerFeature> counts) {
+        Map<String, ImpressionsCountPerFeature> merged = new LinkedHashMap<>();
+        for (ImpressionsCountPerFeature count : counts) {
+            String key = count.feature + "::" + count.treatment + "::" + count.timeframe;
+            ImpressionsCountPerFeature current = merged.get(key);
+            if (current == null) {
+                merged.put(key, new ImpressionsCountPerFeature(
+                        count.feature, count.treatment, count.timeframe, count.count));
+            } else {
+                current.count += count.count;
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
@@ -0,0 +1,107 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+
+/**
+ * In memory number of impressions by split, treatment and hour.
+ * Counting is lock free: a counter being popped is marked as removed
+ * so increments racing with it go to a new counter instead of being lost.
+ */
+public class ImpressionsCounter {
+
+    private static final long TIMEFRAME_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int REMOVED = Integer.MIN_VALUE;
+
+    private final ConcurrentHashMap<Key, AtomicInteger> mCounts = new ConcurrentHashMap<>();
+
+    public void inc(@NonNull String feature, String treatment, long timestamp, int amount) {
+        Key key = new Key(feature, treatment, truncateTimeframe(timestamp));
+        while (true) {
+            AtomicInteger counter = mCounts.get(key);
+            if (counter == null) {
+                counter = new AtomicInteger(0);
+                AtomicInteger current = mCounts.putIfAbsent(key, counter);
+                if (current != null) {
+                    counter = current;
+                }
+            }
+            int count = counter.get();
+            if (count == REMOVED) {
+                // Being popped, wait for it to leave the map and use a new one
+                continue;
+            }
+            if (counter.compareAndSet(count, count + amount)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return counts since the last call, leaving the counter empty
+     */
+    public List<ImpressionsCountPerFeature> popAll() {
+        List<ImpressionsCountPerFeature> counts = new ArrayList<>();
+        for (Map.Entry<Key, AtomicInteger> entry : mCounts.entrySet()) {
+            Key key = entry.getKey();
+            AtomicInteger counter = entry.getValue();
+            int count = counter.getAndSet(REMOVED);
+            mCounts.remove(key, counter);
+            if (count > 0) {
+                counts.add(new ImpressionsCountPerFeature(key.feature, key.treatment, key.timeframe, count));
+            }
+        }
+        return counts;
+    }
+
+    public boolean isEmpty() {
+        return mCounts.isEmpty();
+    }
+
+    /**
+     * @return start of the hour the timestamp belongs to
+     */
+    public static long truncateTimeframe(long timestamp) {
+        return timestamp - (timestamp % TIMEFRAME_MILLIS);
+    }
+
+    private static final class Key {
+        final String feature;
+        final String treatment;
+        final long timeframe;
+
+        Key(String feature, String treatment, long timeframe) {
+            this.feature = feature;
+            this.treatment = treatment;
+            this.timeframe = timeframe;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (timeframe != key.timeframe) return false;
+            if (!feature.equals(key.feature)) return false;
+            return treatment != null ? treatment.equals(key.treatment) : key.treatment == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = feature.hashCode();
+            result = 31 * result + (treatment != null ? treatment.hashCode() : 0);
+            result = 31 * result + (int) (timeframe ^ (timeframe >>> 32));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.split.android.client.impressions.Impression;
+
+/**
+ * Keeps the last time each impression was seen, identified by its hash,
+ * for the most recently seen {@code size} impressions.
+ */
+public class ImpressionsObserver {
+
+    private final int mSize;
+    private final Map<Long, Long> mLastSeen;
+
+    public ImpressionsObserver(int size) {
+        mSize = size;
+        mLastSeen = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > mSize;
+            }
+        };
+    }
+
+    /**
+     * Records the impression time.
+     *
+     * @return time the same impression was seen before, or null if it wasn't
+     */
+    public synchronized Long testAndSet(@NonNull Impression impression) {
+        return mLastSeen.put(ImpressionHasher.process(impression), impression.time());
+    }
+}
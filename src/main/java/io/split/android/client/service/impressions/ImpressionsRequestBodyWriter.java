@@ -0,0 +1,45 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.dtos.KeyImpression;
+import io.split.android.client.dtos.TestImpressions;
+import io.split.android.client.service.http.HttpRequestBodyWriter;
+import io.split.android.client.utils.Json;
+
+/**
+ * Writes impressions grouped by feature with the same format than
+ * {@link ImpressionsRequestBodySerializer}, one group at a time.
+ */
+public class ImpressionsRequestBodyWriter implements HttpRequestBodyWriter<List<KeyImpression>> {
+
+    @Override
+    public void write(@NonNull List<KeyImpression> data, @NonNull JsonWriter writer) throws IOException {
+        Map<String, List<KeyImpression>> groupedImpressions = new LinkedHashMap<>();
+        for (KeyImpression impression : data) {
+            List<KeyImpression> featureImpressions = groupedImpressions.get(impression.feature);
+            if (featureImpressions == null) {
+                featureImpressions = new ArrayList<>();
+                groupedImpressions.put(impression.feature, featureImpressions);
+            }
+            featureImpressions.add(impression);
+        }
+
+        TestImpressions testImpressions = new TestImpressions();
+        writer.beginArray();
+        for (Map.Entry<String, List<KeyImpression>> entry : groupedImpressions.entrySet()) {
+            testImpressions.testName = entry.getKey();
+            testImpressions.keyImpressions = entry.getValue();
+            Json.toJson(testImpressions, TestImpressions.class, writer);
+        }
+        writer.endArray();
+    }
+}
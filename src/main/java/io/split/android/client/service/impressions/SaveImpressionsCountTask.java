@@ -0,0 +1,43 @@
+package io.split.android.client.service.impressions;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.service.executor.SplitTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Moves in memory impression counts to local storage,
+ * so they aren't lost if the app is killed before they are sent.
+ */
+public class SaveImpressionsCountTask implements SplitTask {
+
+    private final ImpressionsCounter mImpressionsCounter;
+    private final PersistentImpressionsCountStorage mImpressionsCountStorage;
+
+    public SaveImpressionsCountTask(@NonNull ImpressionsCounter impressionsCounter,
+                                    @NonNull PersistentImpressionsCountStorage impressionsCountStorage) {
+        mImpressionsCounter = checkNotNull(impressionsCounter);
+        mImpressionsCountStorage = checkNotNull(impressionsCountStorage);
+    }
+
+    @Override
+    @NonNull
+    public SplitTaskExecutionInfo execute() {
+        try {
+            List<ImpressionsCountPerFeature> counts = mImpressionsCounter.popAll();
+            mImpressionsCountStorage.pushMany(counts);
+        } catch (Exception e) {
+            Logger.e("Error while saving impressions count: " + e.getLocalizedMessage());
+            return SplitTaskExecutionInfo.error(SplitTaskType.SAVE_IMPRESSIONS_COUNT);
+        }
+        return SplitTaskExecutionInfo.success(SplitTaskType.SAVE_IMPRESSIONS_COUNT);
+    }
+}
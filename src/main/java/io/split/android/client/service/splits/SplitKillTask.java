@@ -37,11 +37,9 @@ public class SplitKillTask implements SplitTask {
                 return SplitTaskExecutionInfo.success(SplitTaskType.SPLIT_KILL);
             }
 
-            Split splitToKill = mSplitsStorage.get(mKilledSplit.name);
-            splitToKill.killed = true;
-            splitToKill.defaultTreatment = mKilledSplit.defaultTreatment;
-            splitToKill.changeNumber = mKilledSplit.changeNumber;
-
+            // Stored split belongs to a published snapshot that readers may be
+            // holding, so a killed copy is stored instead of changing it
+            Split splitToKill = killedCopy(mSplitsStorage.get(mKilledSplit.name));
             mSplitsStorage.updateWithoutChecks(splitToKill);
         } catch (Exception e) {
             logError("Unknown error while updating killed split: " + e.getLocalizedMessage());
@@ -51,6 +49,23 @@ public class SplitKillTask implements SplitTask {
         return SplitTaskExecutionInfo.success(SplitTaskType.SPLIT_KILL);
     }
 
+    private Split killedCopy(Split split) {
+        Split copy = new Split();
+        copy.name = split.name;
+        copy.seed = split.seed;
+        copy.status = split.status;
+        copy.conditions = split.conditions;
+        copy.trafficTypeName = split.trafficTypeName;
+        copy.trafficAllocation = split.trafficAllocation;
+        copy.trafficAllocationSeed = split.trafficAllocationSeed;
+        copy.algo = split.algo;
+        copy.configurations = split.configurations;
+        copy.killed = true;
+        copy.defaultTreatment = mKilledSplit.defaultTreatment;
+        copy.changeNumber = mKilledSplit.changeNumber;
+        return copy;
+    }
+
     private void logError(String message) {
         Logger.e("Error while executing Split kill task: " + message);
     }
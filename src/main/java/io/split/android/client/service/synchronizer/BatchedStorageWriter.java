@@ -0,0 +1,239 @@
+package io.split.android.client.service.synchronizer;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.split.android.client.storage.StoragePusher;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Writes records to a storage from a single long lived thread.
+ * Any thread can add records to a bounded lock free queue, the writer
+ * drains it and stores them with one pushMany call per batch.
+ * A batch is written when it reaches the batch size or when the oldest
+ * pending record has waited the max delay.
+ * When the queue is full new records are dropped and a warning is logged,
+ * so adding records never blocks nor does storage work in the caller thread.
+ * Callers that need records in storage before reading it, like recorder
+ * tasks, ask for pending records to be stored with {@link #writeNow(Runnable)}
+ * and are called back from the writer thread once they are.
+ */
+final class BatchedStorageWriter<T> implements Runnable {
+
+    private final StoragePusher<T> mStorage;
+    private final int mBatchSize;
+    private final int mMaxPending;
+    private final long mMaxDelayNanos;
+    private final Queue<T> mQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mPendingCount = new AtomicInteger(0);
+    private final Thread mThread;
+    private final long mWriteNowTimeoutNanos;
+    private final Object mWriteNowLock = new Object();
+    // Each writeNow call takes a number, the writer drains the queue and then
+    // calls back every request whose number was taken before the drain started
+    private final AtomicLong mWriteNowRequested = new AtomicLong(0);
+    private final Queue<WriteNowRequest> mWriteNowRequests = new ArrayDeque<>();
+    private boolean mIsFinished = false;
+    // Only used by the writer thread
+    private long mWriteNowDone = 0;
+    private volatile boolean mIsStopped = false;
+    private volatile boolean mIsOverflowLogged = false;
+
+    BatchedStorageWriter(@NonNull String name,
+                         @NonNull StoragePusher<T> storage,
+                         int batchSize,
+                         int maxPending,
+                         long maxDelayMillis,
+                         long writeNowTimeoutMillis) {
+        mStorage = checkNotNull(storage);
+        mWriteNowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeNowTimeoutMillis);
+        mBatchSize = batchSize;
+        mMaxPending = maxPending;
+        mMaxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        mThread = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Split-StorageWriter-" + checkNotNull(name) + "-%d")
+                .build()
+                .newThread(this);
+        mThread.start();
+    }
+
+    /**
+     * Adds a record to be written by the writer thread.
+     *
+     * @return false if the record was dropped because the queue is full or the writer stopped
+     */
+    boolean write(@NonNull T record) {
+        if (mIsStopped) {
+            return false;
+        }
+        int pendingCount = mPendingCount.incrementAndGet();
+        if (pendingCount > mMaxPending) {
+            mPendingCount.decrementAndGet();
+            if (!mIsOverflowLogged) {
+                mIsOverflowLogged = true;
+                Logger.w("Too many records waiting to be stored, new ones will be dropped");
+            }
+            return false;
+        }
+        mQueue.offer(record);
+        // Wake up the writer when it could be idle or a batch is complete
+        if (pendingCount == 1 || pendingCount == mBatchSize) {
+            LockSupport.unpark(mThread);
+        }
+        return true;
+    }
+
+    /**
+     * Makes the writer store every record added before this call without blocking.
+     * onStored is run from the writer thread once they are stored,
+     * or from the caller thread if the writer already finished.
+     */
+    void writeNow(@NonNull Runnable onStored) {
+        checkNotNull(onStored);
+        boolean isFinished;
+        synchronized (mWriteNowLock) {
+            isFinished = mIsFinished;
+            if (!isFinished) {
+                mWriteNowRequests.add(new WriteNowRequest(
+                        mWriteNowRequested.incrementAndGet(), onStored));
+            }
+        }
+        if (isFinished) {
+            onStored.run();
+            return;
+        }
+        LockSupport.unpark(mThread);
+    }
+
+    /**
+     * Same as {@link #writeNow(Runnable)} but blocks until the records
+     * are stored or the write now timeout expires.
+     *
+     * @return false if the timeout expired or the thread was interrupted while waiting
+     */
+    boolean writeNow() {
+        final CountDownLatch storedLatch = new CountDownLatch(1);
+        writeNow(new Runnable() {
+            @Override
+            public void run() {
+                storedLatch.countDown();
+            }
+        });
+        try {
+            if (!storedLatch.await(mWriteNowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                Logger.w("Timeout waiting for records to be stored");
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stores pending records, waiting for them as {@link #writeNow()} does,
+     * and ends the writer thread. Records added later are dropped.
+     */
+    void stop() {
+        mIsStopped = true;
+        writeNow();
+    }
+
+    @Override
+    public void run() {
+        List<T> batch = new ArrayList<>(mBatchSize);
+        while (true) {
+            long writeNowRequest = mWriteNowRequested.get();
+            if (writeNowRequest > mWriteNowDone) {
+                while (writeBatch(batch)) {
+                    // Full batches may be followed by more records
+                }
+                mWriteNowDone = writeNowRequest;
+                runWriteNowCallbacks(writeNowRequest, false);
+                continue;
+            }
+            boolean isStopped = mIsStopped;
+            int pendingCount = mPendingCount.get();
+            if (pendingCount == 0) {
+                if (isStopped) {
+                    runWriteNowCallbacks(writeNowRequest, true);
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            if (!isStopped && pendingCount < mBatchSize) {
+                LockSupport.parkNanos(this, mMaxDelayNanos);
+            }
+            writeBatch(batch);
+        }
+    }
+
+    private void runWriteNowCallbacks(long writeNowRequest, boolean isFinished) {
+        List<Runnable> callbacks = new ArrayList<>();
+        synchronized (mWriteNowLock) {
+            mIsFinished = isFinished;
+            WriteNowRequest request;
+            while ((request = mWriteNowRequests.peek()) != null &&
+                    (isFinished || request.number <= writeNowRequest)) {
+                callbacks.add(mWriteNowRequests.poll().onStored);
+            }
+        }
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                Logger.e("Error running stored records callback: " + e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true if a full batch was written, so more records could be waiting
+     */
+    private boolean writeBatch(List<T> batch) {
+        T record;
+        while (batch.size() < mBatchSize && (record = mQueue.poll()) != null) {
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        boolean isFull = batch.size() == mBatchSize;
+        mPendingCount.addAndGet(-batch.size());
+        mIsOverflowLogged = false;
+        try {
+            mStorage.pushMany(new ArrayList<>(batch));
+        } catch (Exception e) {
+            Logger.e("Error storing records: " + e.getLocalizedMessage());
+        }
+        batch.clear();
+        return isFull;
+    }
+
+    private static final class WriteNowRequest {
+        final long number;
+        final Runnable onStored;
+
+        WriteNowRequest(long number, Runnable onStored) {
+            this.number = number;
+            this.onStored = onStored;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.split.android.client.service.synchronizer;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import io.split.android.client.service.executor.SplitTaskExecutionListener;
@@ -8,4 +9,15 @@ import io.split.android.client.storage.InBytesSizable;
 @VisibleForTesting()
 public interface RecorderSyncHelper<T extends InBytesSizable> extends SplitTaskExecutionListener {
     boolean pushAndCheckIfFlushNeeded(T entity);
+
+    /**
+     * Stores records pushed before the call without blocking
+     * and runs onStored once they are in storage
+     */
+    void writeNow(@NonNull Runnable onStored);
+
+    /**
+     * Stores pending records, waiting for them, and stops accepting new ones
+     */
+    void destroy();
 }
@@ -5,6 +5,8 @@ import androidx.annotation.VisibleForTesting;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+
+import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
 import io.split.android.client.service.executor.SplitTaskExecutionStatus;
 import io.split.android.client.service.executor.SplitTaskType;
@@ -15,7 +17,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 class RecorderSyncHelperImpl<T extends InBytesSizable> implements RecorderSyncHelper<T> {
 
-    private final StoragePusher mStorage;
+    private final BatchedStorageWriter<T> mStorageWriter;
     private AtomicInteger mPushedCount;
     private AtomicLong mTotalPushedSizeInBytes;
     private final int mMaxQueueSize;
@@ -23,11 +25,16 @@ class RecorderSyncHelperImpl<T extends InBytesSizable> implements RecorderSyncHe
     private final SplitTaskType mTaskType;
 
     public RecorderSyncHelperImpl(SplitTaskType taskType,
-                                  StoragePusher storage,
+                                  StoragePusher<T> storage,
                                   int maxQueueSize,
                                   long maxQueueSizeInBytes) {
         mTaskType = checkNotNull(taskType);
-        mStorage = checkNotNull(storage);
+        mStorageWriter = new BatchedStorageWriter<>(taskType.name(),
+                checkNotNull(storage),
+                ServiceConstants.RECORDS_WRITER_BATCH_SIZE,
+                ServiceConstants.RECORDS_WRITER_MAX_PENDING,
+                ServiceConstants.RECORDS_WRITER_MAX_DELAY_MS,
+                ServiceConstants.RECORDS_WRITER_WRITE_NOW_TIMEOUT_MS);
         mPushedCount = new AtomicInteger(0);
         mTotalPushedSizeInBytes = new AtomicLong(0);
         mMaxQueueSize = maxQueueSize;
@@ -36,7 +43,9 @@ class RecorderSyncHelperImpl<T extends InBytesSizable> implements RecorderSyncHe
 
     @Override
     public boolean pushAndCheckIfFlushNeeded(T entity) {
-        pushAsync(entity);
+        if (!mStorageWriter.write(entity)) {
+            return false;
+        }
         int pushedEventCount = mPushedCount.addAndGet(1);
         long totalEventsSizeInBytes = mTotalPushedSizeInBytes.addAndGet(entity.getSizeInBytes());
         if (pushedEventCount > mMaxQueueSize ||
@@ -59,12 +68,13 @@ class RecorderSyncHelperImpl<T extends InBytesSizable> implements RecorderSyncHe
         }
     }
 
-    private void pushAsync(T entity) {
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                mStorage.push(entity);
-            }
-        }).start();
+    @Override
+    public void writeNow(@NonNull Runnable onStored) {
+        mStorageWriter.writeNow(onStored);
+    }
+
+    @Override
+    public void destroy() {
+        mStorageWriter.stop();
     }
 }
@@ -12,6 +12,7 @@ import io.split.android.client.dtos.KeyImpression;
 import io.split.android.client.events.SplitEventsManager;
 import io.split.android.client.events.SplitInternalEvent;
 import io.split.android.client.impressions.Impression;
+import io.split.android.client.impressions.ImpressionsMode;
 import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.service.executor.SplitTask;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
@@ -49,6 +50,8 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
     private String mMySegmentsFetcherTaskId;
     private String mEventsRecorderTaskId;
     private String mImpressionsRecorderTaskId;
+    private String mSaveImpressionsCountTaskId;
+    private String mImpressionsCountRecorderTaskId;
 
     public SynchronizerImpl(@NonNull SplitClientConfig splitClientConfig,
                             @NonNull SplitTaskExecutor taskExecutor,
@@ -124,6 +127,9 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
     public void startPeriodicRecording() {
         scheduleEventsRecorderTask();
         scheduleImpressionsRecorderTask();
+        if (isImpressionsCountEnabled()) {
+            scheduleImpressionsCountTasks();
+        }
         Logger.i("Peridic recording tasks scheduled");
     }
 
@@ -131,6 +137,10 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
     public void stopPeriodicRecording() {
         mTaskExecutor.stopTask(mEventsRecorderTaskId);
         mTaskExecutor.stopTask(mImpressionsRecorderTaskId);
+        if (isImpressionsCountEnabled()) {
+            mTaskExecutor.stopTask(mSaveImpressionsCountTaskId);
+            mTaskExecutor.stopTask(mImpressionsCountRecorderTaskId);
+        }
         Logger.i("Stoping periodic recording tasks. " + mEventsRecorderTaskId);
     }
 
@@ -171,22 +181,26 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
     @Override
     public void destroy() {
         flush();
+        mEventsSyncHelper.destroy();
+        mImpressionsSyncHelper.destroy();
         mTaskExecutor.stop();
     }
 
     public void flush() {
-        mTaskExecutor.submit(mSplitTaskFactory.createEventsRecorderTask(),
+        submitRecorderTask(mSplitTaskFactory.createEventsRecorderTask(),
                 mEventsSyncHelper);
-        mTaskExecutor.submit(
-                mSplitTaskFactory.createImpressionsRecorderTask(),
+        submitRecorderTask(mSplitTaskFactory.createImpressionsRecorderTask(),
                 mImpressionsSyncHelper);
+        if (isImpressionsCountEnabled()) {
+            mTaskExecutor.submit(
+                    mSplitTaskFactory.createImpressionsCountRecorderTask(), null);
+        }
     }
 
     @Override
     public void pushEvent(Event event) {
         if (mEventsSyncHelper.pushAndCheckIfFlushNeeded(event)) {
-            mTaskExecutor.submit(
-                    mSplitTaskFactory.createEventsRecorderTask(),
+            submitRecorderTask(mSplitTaskFactory.createEventsRecorderTask(),
                     mEventsSyncHelper);
         }
     }
@@ -194,12 +208,23 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
     @Override
     public void pushImpression(Impression impression) {
         if (mImpressionsSyncHelper.pushAndCheckIfFlushNeeded(new KeyImpression(impression))) {
-            mTaskExecutor.submit(
-                    mSplitTaskFactory.createImpressionsRecorderTask(),
+            submitRecorderTask(mSplitTaskFactory.createImpressionsRecorderTask(),
                     mImpressionsSyncHelper);
         }
     }
 
+    private void submitRecorderTask(final SplitTask recorderTask,
+                                    final RecorderSyncHelper<?> syncHelper) {
+        // Recorder tasks read from storage, so they are submitted once
+        // records still waiting to be written are stored
+        syncHelper.writeNow(new Runnable() {
+            @Override
+            public void run() {
+                mTaskExecutor.submit(recorderTask, syncHelper);
+            }
+        });
+    }
+
     private void scheduleSplitsFetcherTask() {
         mSplitsFetcherTaskId = mTaskExecutor.schedule(
                 mSplitTaskFactory.createSplitsSyncTask(false),
@@ -229,6 +254,21 @@ public class SynchronizerImpl implements Synchronizer, SplitTaskExecutionListene
                 mSplitClientConfig.impressionsRefreshRate(), mImpressionsSyncHelper);
     }
 
+    private void scheduleImpressionsCountTasks() {
+        mSaveImpressionsCountTaskId = mTaskExecutor.schedule(
+                mSplitTaskFactory.createSaveImpressionsCountTask(),
+                ServiceConstants.IMPRESSIONS_COUNT_SAVE_PERIOD,
+                ServiceConstants.IMPRESSIONS_COUNT_SAVE_PERIOD, null);
+        mImpressionsCountRecorderTaskId = mTaskExecutor.schedule(
+                mSplitTaskFactory.createImpressionsCountRecorderTask(),
+                ServiceConstants.NO_INITIAL_DELAY,
+                mSplitClientConfig.impressionsRefreshRate(), null);
+    }
+
+    private boolean isImpressionsCountEnabled() {
+        return mSplitClientConfig.impressionsMode() == ImpressionsMode.COUNT;
+    }
+
     private void submitSplitLoadingTask(SplitTaskExecutionListener listener) {
         mTaskExecutor.submit(mSplitTaskFactory.createLoadSplitsTask(),
                 listener);
@@ -22,6 +22,7 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import io.split.android.client.SplitClientConfig;
+import io.split.android.client.network.HttpClientImpl;
 import io.split.android.client.service.ServiceConstants;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
 import io.split.android.client.service.executor.SplitTaskExecutionListener;
@@ -128,6 +129,11 @@ public class WorkManagerWrapper {
         dataBuilder.putString(ServiceConstants.WORKER_PARAM_API_KEY, mApiKey);
         dataBuilder.putString(
                 ServiceConstants.WORKER_PARAM_EVENTS_ENDPOINT, mSplitClientConfig.eventsEndpoint());
+        dataBuilder.putInt(ServiceConstants.WORKER_PARAM_COMPRESSION_THRESHOLD,
+                mSplitClientConfig.compressRequests() ? mSplitClientConfig.compressionThreshold()
+                        : HttpClientImpl.NO_REQUEST_COMPRESSION);
+        dataBuilder.putBoolean(ServiceConstants.WORKER_PARAM_ACCEPT_COMPRESSED_RESPONSES,
+                mSplitClientConfig.acceptCompressedResponses());
         if (customData != null) {
             dataBuilder.putAll(customData);
         }
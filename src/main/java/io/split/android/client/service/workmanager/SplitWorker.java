@@ -51,7 +51,10 @@ public abstract class SplitWorker extends Worker {
         SplitHttpHeadersBuilder headersBuilder = new SplitHttpHeadersBuilder();
         headersBuilder.setClientVersion(BuildConfig.VERSION_NAME);
         headersBuilder.setApiToken(apiKey);
-        mHttpClient = new HttpClientImpl();
+        mHttpClient = new HttpClientImpl(
+                inputData.getInt(ServiceConstants.WORKER_PARAM_COMPRESSION_THRESHOLD,
+                        HttpClientImpl.NO_REQUEST_COMPRESSION),
+                inputData.getBoolean(ServiceConstants.WORKER_PARAM_ACCEPT_COMPRESSED_RESPONSES, false));
         mHttpClient.addHeaders(headersBuilder.build());
         mNetworkHelper = new NetworkHelper();
 
@@ -3,8 +3,10 @@ package io.split.android.client.storage;
 import androidx.annotation.NonNull;
 
 import io.split.android.client.storage.events.PersistentEventsStorage;
+import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.storage.splits.SplitsStorage;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -14,16 +16,25 @@ public class SplitStorageContainer {
     private final MySegmentsStorage mMySegmentsStorage;
     private final PersistentEventsStorage mPersistentEventsStorage;
     private final PersistentImpressionsStorage mPersistentImpressionsStorage;
+    private final PersistentImpressionsCountStorage mPersistentImpressionsCountStorage;
+    private final ParsedSplitsCache mParsedSplitsCache;
+    private final StorageVersion mStorageVersion;
 
     public SplitStorageContainer(@NonNull SplitsStorage splitStorage,
                                  @NonNull MySegmentsStorage mySegmentsStorage,
                                  @NonNull PersistentEventsStorage persistentEventsStorage,
-                                 @NonNull PersistentImpressionsStorage persistentImpressionsStorage) {
+                                 @NonNull PersistentImpressionsStorage persistentImpressionsStorage,
+                                 @NonNull PersistentImpressionsCountStorage persistentImpressionsCountStorage,
+                                 @NonNull ParsedSplitsCache parsedSplitsCache,
+                                 @NonNull StorageVersion storageVersion) {
 
         mSplitStorage = checkNotNull(splitStorage);
         mMySegmentsStorage = checkNotNull(mySegmentsStorage);
         mPersistentEventsStorage = checkNotNull(persistentEventsStorage);
         mPersistentImpressionsStorage = checkNotNull(persistentImpressionsStorage);
+        mPersistentImpressionsCountStorage = checkNotNull(persistentImpressionsCountStorage);
+        mParsedSplitsCache = checkNotNull(parsedSplitsCache);
+        mStorageVersion = checkNotNull(storageVersion);
     }
 
     public SplitsStorage getSplitsStorage() {
@@ -41,4 +52,16 @@ public class SplitStorageContainer {
     public PersistentImpressionsStorage getImpressionsStorage() {
         return mPersistentImpressionsStorage;
     }
+
+    public PersistentImpressionsCountStorage getImpressionsCountStorage() {
+        return mPersistentImpressionsCountStorage;
+    }
+
+    public ParsedSplitsCache getParsedSplitsCache() {
+        return mParsedSplitsCache;
+    }
+
+    public StorageVersion getStorageVersion() {
+        return mStorageVersion;
+    }
 }
@@ -0,0 +1,44 @@
+package io.split.android.client.storage;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Counter shared by splits and my segments storages.
+ * It is increased each time any of them changes, so components
+ * holding data derived from storage (i.e. evaluation results)
+ * can easily know if that data is still valid.
+ */
+public class StorageVersion {
+
+    public interface Listener {
+        void onVersionChanged(long version);
+    }
+
+    private final AtomicLong mVersion = new AtomicLong(0);
+    private final List<Listener> mListeners = new CopyOnWriteArrayList<>();
+
+    public long get() {
+        return mVersion.get();
+    }
+
+    public void increment() {
+        long version = mVersion.incrementAndGet();
+        for (Listener listener : mListeners) {
+            listener.onVersionChanged(version);
+        }
+    }
+
+    public void addListener(@NonNull Listener listener) {
+        mListeners.add(checkNotNull(listener));
+    }
+
+    public void removeListener(@NonNull Listener listener) {
+        mListeners.remove(listener);
+    }
+}
@@ -0,0 +1,52 @@
+package io.split.android.client.storage.attributes;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Normalizes attribute values to the types matchers work with,
+ * so they are converted once when stored instead of on every evaluation:
+ * integral numbers to Long, other numbers to Double, booleans,
+ * strings and collections to a read only list of strings.
+ */
+public final class AttributeValues {
+
+    private AttributeValues() {
+    }
+
+    /**
+     * @return normalized value, or null if the type of the value isn't supported
+     */
+    public static @Nullable Object normalize(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String || value instanceof Boolean
+                || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            // Parsing the string keeps the value the float prints instead of its binary expansion
+            return Double.valueOf(value.toString());
+        }
+        if (value instanceof Collection) {
+            Collection<?> values = (Collection<?>) value;
+            List<String> strings = new ArrayList<>(values.size());
+            for (Object element : values) {
+                if (element == null) {
+                    return null;
+                }
+                strings.add(element instanceof String ? (String) element : element.toString());
+            }
+            return Collections.unmodifiableList(strings);
+        }
+        return null;
+    }
+}
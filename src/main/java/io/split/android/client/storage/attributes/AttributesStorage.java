@@ -0,0 +1,40 @@
+package io.split.android.client.storage.attributes;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+public interface AttributesStorage {
+
+    /**
+     * Adds persisted attributes not set in memory yet. Does nothing if persistence is disabled.
+     */
+    void loadLocal();
+
+    @Nullable Object get(@NonNull String name);
+
+    /**
+     * @return read only map of attributes, it isn't modified by later updates
+     */
+    @NonNull Map<String, Object> getAll();
+
+    /**
+     * @param value MUST be normalized with {@link AttributeValues#normalize(Object)}
+     */
+    void set(@NonNull String name, @NonNull Object value);
+
+    /**
+     * @param attributes values MUST be normalized with {@link AttributeValues#normalize(Object)}
+     */
+    void set(@NonNull Map<String, Object> attributes);
+
+    void remove(@NonNull String name);
+
+    void clear();
+
+    /**
+     * Writes current attributes to local storage. Does nothing if persistence is disabled.
+     */
+    void persist();
+}
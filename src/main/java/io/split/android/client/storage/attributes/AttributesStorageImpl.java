@@ -0,0 +1,105 @@
+package io.split.android.client.storage.attributes;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class AttributesStorageImpl implements AttributesStorage {
+
+    private final PersistentAttributesStorage mPersistentStorage;
+    private final Object mPersistLock = new Object();
+    // Replaced as a whole on each update, so evaluations can use it
+    // as their attributes map without copying it
+    private volatile Map<String, Object> mInMemoryAttributes = ImmutableMap.of();
+
+    public AttributesStorageImpl() {
+        this(null);
+    }
+
+    /**
+     * @param persistentStorage local storage for attributes. Null to keep them only in memory.
+     */
+    public AttributesStorageImpl(@Nullable PersistentAttributesStorage persistentStorage) {
+        mPersistentStorage = persistentStorage;
+    }
+
+    @Override
+    public synchronized void loadLocal() {
+        if (mPersistentStorage == null) {
+            return;
+        }
+        Map<String, Object> attributes = new HashMap<>();
+        for (Map.Entry<String, Object> attribute : mPersistentStorage.getSnapshot().entrySet()) {
+            Object value = AttributeValues.normalize(attribute.getValue());
+            if (attribute.getKey() != null && value != null) {
+                attributes.put(attribute.getKey(), value);
+            }
+        }
+        // Attributes set while loading are newer than the persisted ones
+        attributes.putAll(mInMemoryAttributes);
+        mInMemoryAttributes = ImmutableMap.copyOf(attributes);
+    }
+
+    @Nullable
+    @Override
+    public Object get(@NonNull String name) {
+        return mInMemoryAttributes.get(name);
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> getAll() {
+        return mInMemoryAttributes;
+    }
+
+    @Override
+    public synchronized void set(@NonNull String name, @NonNull Object value) {
+        Map<String, Object> attributes = new HashMap<>(mInMemoryAttributes);
+        attributes.put(checkNotNull(name), checkNotNull(value));
+        mInMemoryAttributes = ImmutableMap.copyOf(attributes);
+    }
+
+    @Override
+    public synchronized void set(@NonNull Map<String, Object> attributes) {
+        Map<String, Object> updated = new HashMap<>(mInMemoryAttributes);
+        updated.putAll(attributes);
+        mInMemoryAttributes = ImmutableMap.copyOf(updated);
+    }
+
+    @Override
+    public synchronized void remove(@NonNull String name) {
+        if (!mInMemoryAttributes.containsKey(name)) {
+            return;
+        }
+        Map<String, Object> attributes = new HashMap<>(mInMemoryAttributes);
+        attributes.remove(name);
+        mInMemoryAttributes = ImmutableMap.copyOf(attributes);
+    }
+
+    @Override
+    public synchronized void clear() {
+        mInMemoryAttributes = ImmutableMap.of();
+    }
+
+    @Override
+    public void persist() {
+        if (mPersistentStorage == null) {
+            return;
+        }
+        // Current attributes are read inside the lock so the last write is always the newest
+        synchronized (mPersistLock) {
+            Map<String, Object> attributes = mInMemoryAttributes;
+            if (attributes.isEmpty()) {
+                mPersistentStorage.clear();
+            } else {
+                mPersistentStorage.set(attributes);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.split.android.client.storage.attributes;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+
+public interface PersistentAttributesStorage {
+    void set(@NonNull Map<String, Object> attributes);
+    @NonNull Map<String, Object> getSnapshot();
+    void clear();
+}
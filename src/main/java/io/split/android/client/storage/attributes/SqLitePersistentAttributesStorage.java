@@ -0,0 +1,105 @@
+package io.split.android.client.storage.attributes;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.base.Strings;
+import com.google.gson.JsonSyntaxException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.storage.db.AttributesEntity;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.utils.Json;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class SqLitePersistentAttributesStorage implements PersistentAttributesStorage {
+
+    final SplitRoomDatabase mDatabase;
+    final String mUserKey;
+
+    public SqLitePersistentAttributesStorage(@NonNull SplitRoomDatabase database, @NonNull String userKey) {
+        mDatabase = checkNotNull(database);
+        mUserKey = checkNotNull(userKey);
+    }
+
+    @Override
+    public void set(@NonNull Map<String, Object> attributes) {
+        AttributesEntity entity = new AttributesEntity();
+        entity.setUserKey(mUserKey);
+        entity.setAttributes(Json.toJson(TypedAttributes.of(attributes)));
+        entity.setUpdatedAt(System.currentTimeMillis() / 1000);
+        mDatabase.attributesDao().update(entity);
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Object> getSnapshot() {
+        AttributesEntity entity = mDatabase.attributesDao().getByUserKey(mUserKey);
+        if (entity == null || Strings.isNullOrEmpty(entity.getAttributes())) {
+            return new HashMap<>();
+        }
+        try {
+            return Json.fromJson(entity.getAttributes(), TypedAttributes.class).toMap();
+        } catch (JsonSyntaxException e) {
+            Logger.e("Error parsing persisted attributes: " + e.getLocalizedMessage());
+            return new HashMap<>();
+        }
+    }
+
+    @Override
+    public void clear() {
+        mDatabase.attributesDao().deleteByUserKey(mUserKey);
+    }
+
+    /**
+     * Attributes grouped by type, so numbers are read back
+     * as the same type they had when they were stored.
+     */
+    static class TypedAttributes {
+        Map<String, Long> longs = new HashMap<>();
+        Map<String, Double> doubles = new HashMap<>();
+        Map<String, Boolean> booleans = new HashMap<>();
+        Map<String, String> strings = new HashMap<>();
+        Map<String, List<String>> collections = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        static TypedAttributes of(Map<String, Object> attributes) {
+            TypedAttributes typed = new TypedAttributes();
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                Object value = attribute.getValue();
+                if (value instanceof Long) {
+                    typed.longs.put(attribute.getKey(), (Long) value);
+                } else if (value instanceof Double) {
+                    typed.doubles.put(attribute.getKey(), (Double) value);
+                } else if (value instanceof Boolean) {
+                    typed.booleans.put(attribute.getKey(), (Boolean) value);
+                } else if (value instanceof String) {
+                    typed.strings.put(attribute.getKey(), (String) value);
+                } else if (value instanceof List) {
+                    typed.collections.put(attribute.getKey(), (List<String>) value);
+                }
+            }
+            return typed;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> attributes = new HashMap<>();
+            putAll(attributes, longs);
+            putAll(attributes, doubles);
+            putAll(attributes, booleans);
+            putAll(attributes, strings);
+            putAll(attributes, collections);
+            return attributes;
+        }
+
+        private static void putAll(Map<String, Object> attributes, Map<String, ?> values) {
+            if (values != null) {
+                attributes.putAll(values);
+            }
+        }
+    }
+}
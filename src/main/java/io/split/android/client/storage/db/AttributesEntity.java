@@ -0,0 +1,48 @@
+package io.split.android.client.storage.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "attributes")
+public class AttributesEntity {
+
+    @PrimaryKey()
+    @NonNull
+    @ColumnInfo(name = "user_key")
+    private String userKey;
+
+    @NonNull
+    @ColumnInfo(name = "attributes")
+    private String attributes;
+
+    @ColumnInfo(name = "updated_at")
+    private long updatedAt;
+
+    @NonNull
+    public String getUserKey() {
+        return userKey;
+    }
+
+    public void setUserKey(@NonNull String userKey) {
+        this.userKey = userKey;
+    }
+
+    @NonNull
+    public String getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(@NonNull String attributes) {
+        this.attributes = attributes;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package io.split.android.client.storage.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface ImpressionsCountDao {
+    @Insert
+    void insert(List<ImpressionsCountEntity> counts);
+
+    @Query("SELECT id, body, created_at, status FROM impressions_count " +
+            "WHERE created_at >= :timestamp " +
+            "AND status = :status ORDER BY created_at LIMIT :maxRows")
+    List<ImpressionsCountEntity> getBy(long timestamp, int status, int maxRows);
+
+    @Query("UPDATE impressions_count SET status = :status " +
+            " WHERE id IN (:ids)")
+    void updateStatus(List<Long> ids, int status);
+
+    @Query("DELETE FROM impressions_count WHERE id IN (:ids)")
+    void delete(List<Long> ids);
+
+    @Query("DELETE FROM impressions_count WHERE created_at < :timestamp")
+    void deleteOutdated(long timestamp);
+}
@@ -2,9 +2,12 @@ package io.split.android.client.storage.db;
 
 import android.content.Context;
 
+import androidx.annotation.VisibleForTesting;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -12,9 +15,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Database(
         entities = {
                 MySegmentEntity.class, SplitEntity.class, EventEntity.class,
-                ImpressionEntity.class, GeneralInfoEntity.class
+                ImpressionEntity.class, GeneralInfoEntity.class, AttributesEntity.class,
+                ImpressionsCountEntity.class
         },
-        version = 1
+        version = 3
 )
 public abstract class SplitRoomDatabase extends RoomDatabase {
 
@@ -28,6 +32,29 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
 
     public abstract GeneralInfoDao generalInfoDao();
 
+    public abstract AttributesDao attributesDao();
+
+    public abstract ImpressionsCountDao impressionsCountDao();
+
+    @VisibleForTesting
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `attributes` (`user_key` TEXT NOT NULL, " +
+                    "`attributes` TEXT NOT NULL, `updated_at` INTEGER NOT NULL, PRIMARY KEY(`user_key`))");
+        }
+    };
+
+    @VisibleForTesting
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `impressions_count` (`id` INTEGER PRIMARY KEY " +
+                    "AUTOINCREMENT NOT NULL, `body` TEXT NOT NULL, `created_at` INTEGER NOT NULL, " +
+                    "`status` INTEGER NOT NULL)");
+        }
+    };
+
     private static volatile SplitRoomDatabase mInstance;
 
     public static SplitRoomDatabase getDatabase(final Context context, final String databaseName) {
@@ -40,6 +67,7 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
                 if (mInstance == null) {
                     mInstance = Room.databaseBuilder(context.getApplicationContext(),
                             SplitRoomDatabase.class, databaseName)
+                            .addMigrations(MIGRATION_1_2, MIGRATION_2_3)
                             .build();
                 }
             }
@@ -3,14 +3,20 @@ package io.split.android.client.storage.db;
 import androidx.annotation.RestrictTo;
 
 import io.split.android.client.service.ServiceConstants;
+import io.split.android.client.storage.StorageVersion;
+import io.split.android.client.storage.attributes.PersistentAttributesStorage;
+import io.split.android.client.storage.attributes.SqLitePersistentAttributesStorage;
 import io.split.android.client.storage.events.PersistentEventsStorage;
 import io.split.android.client.storage.events.SqLitePersistentEventsStorage;
+import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
+import io.split.android.client.storage.impressions.SqLitePersistentImpressionsCountStorage;
 import io.split.android.client.storage.impressions.SqLitePersistentImpressionsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorageImpl;
 import io.split.android.client.storage.mysegments.PersistentMySegmentsStorage;
 import io.split.android.client.storage.mysegments.SqLitePersistentMySegmentsStorage;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.storage.splits.PersistentSplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorageImpl;
@@ -26,6 +32,21 @@ public class StorageFactory {
         return new SplitsStorageImpl(persistentSplitsStorage);
     }
 
+    public static SplitsStorage getSplitsStorage(SplitRoomDatabase splitRoomDatabase,
+                                                 ParsedSplitsCache parsedSplitsCache) {
+        PersistentSplitsStorage persistentSplitsStorage
+                = new SqLitePersistentSplitsStorage(splitRoomDatabase);
+        return new SplitsStorageImpl(persistentSplitsStorage, parsedSplitsCache);
+    }
+
+    public static SplitsStorage getSplitsStorage(SplitRoomDatabase splitRoomDatabase,
+                                                 ParsedSplitsCache parsedSplitsCache,
+                                                 StorageVersion storageVersion) {
+        PersistentSplitsStorage persistentSplitsStorage
+                = new SqLitePersistentSplitsStorage(splitRoomDatabase);
+        return new SplitsStorageImpl(persistentSplitsStorage, parsedSplitsCache, storageVersion);
+    }
+
     public static MySegmentsStorage getMySegmentsStorage(SplitRoomDatabase splitRoomDatabase,
                                                          String key) {
         PersistentMySegmentsStorage persistentMySegmentsStorage
@@ -33,6 +54,14 @@ public class StorageFactory {
         return new MySegmentsStorageImpl(persistentMySegmentsStorage);
     }
 
+    public static MySegmentsStorage getMySegmentsStorage(SplitRoomDatabase splitRoomDatabase,
+                                                         String key,
+                                                         StorageVersion storageVersion) {
+        PersistentMySegmentsStorage persistentMySegmentsStorage
+                = new SqLitePersistentMySegmentsStorage(splitRoomDatabase, key);
+        return new MySegmentsStorageImpl(persistentMySegmentsStorage, storageVersion);
+    }
+
     public static PersistentImpressionsStorage getPersistenImpressionsStorage(
             SplitRoomDatabase splitRoomDatabase) {
         return new SqLitePersistentImpressionsStorage(splitRoomDatabase,
@@ -44,4 +73,15 @@ public class StorageFactory {
         return new SqLitePersistentEventsStorage(splitRoomDatabase,
                 ServiceConstants.EXPIRATION_PERIOD);
     }
-}
\ No newline at end of file
+
+    public static PersistentImpressionsCountStorage getPersistentImpressionsCountStorage(
+            SplitRoomDatabase splitRoomDatabase) {
+        return new SqLitePersistentImpressionsCountStorage(splitRoomDatabase,
+                ServiceConstants.EXPIRATION_PERIOD);
+    }
+
+    public static PersistentAttributesStorage getPersistentAttributesStorage(
+            SplitRoomDatabase splitRoomDatabase, String key) {
+        return new SqLitePersistentAttributesStorage(splitRoomDatabase, key);
+    }
+}
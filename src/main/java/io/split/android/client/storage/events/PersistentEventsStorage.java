@@ -8,7 +8,7 @@ import io.split.android.client.dtos.Event;
 import io.split.android.client.storage.StoragePusher;
 
 public interface PersistentEventsStorage extends StoragePusher<Event> {
-    // Push method is defined in StoragePusher interface
+    // Push methods are defined in StoragePusher interface
     List<Event> pop(int count);
     List<Event> getCritical();
     void setActive(@NonNull List<Event> events);
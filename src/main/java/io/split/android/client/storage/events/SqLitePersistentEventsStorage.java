@@ -35,11 +35,19 @@ public class SqLitePersistentEventsStorage implements PersistentEventsStorage {
         if (event == null) {
             return;
         }
-        EventEntity entity = new EventEntity();
-        entity.setStatus(StorageRecordStatus.ACTIVE);
-        entity.setBody(Json.toJson(event));
-        entity.setCreatedAt(System.currentTimeMillis() / 1000);
-        mEventDao.insert(entity);
+        mEventDao.insert(entityForEvent(event));
+    }
+
+    @Override
+    public void pushMany(@NonNull List<Event> events) {
+        if (events == null || events.size() == 0) {
+            return;
+        }
+        List<EventEntity> entities = new ArrayList<>();
+        for (Event event : events) {
+            entities.add(entityForEvent(event));
+        }
+        mEventDao.insert(entities);
     }
 
     @Override
@@ -81,6 +89,14 @@ public class SqLitePersistentEventsStorage implements PersistentEventsStorage {
         return events;
     }
 
+    private EventEntity entityForEvent(Event event) {
+        EventEntity entity = new EventEntity();
+        entity.setStatus(StorageRecordStatus.ACTIVE);
+        entity.setBody(Json.toJson(event));
+        entity.setCreatedAt(System.currentTimeMillis() / 1000);
+        return entity;
+    }
+
     private List<Long> getEventsId(List<Event> entities) {
         List<Long> ids = new ArrayList<>();
         if (entities == null) {
@@ -0,0 +1,23 @@
+package io.split.android.client.storage.impressions;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.storage.StoragePusher;
+
+public interface PersistentImpressionsCountStorage extends StoragePusher<ImpressionsCountPerFeature> {
+    // Push methods are defined in StoragePusher interface
+
+    /**
+     * Returns up to count stored counts and marks them as deleted, so they
+     * aren't returned again. They stay stored until {@link #delete} is called
+     * once they are sent, or {@link #setActive} if they couldn't be sent.
+     */
+    List<ImpressionsCountPerFeature> pop(int count);
+
+    void setActive(@NonNull List<ImpressionsCountPerFeature> counts);
+
+    void delete(@NonNull List<ImpressionsCountPerFeature> counts);
+}
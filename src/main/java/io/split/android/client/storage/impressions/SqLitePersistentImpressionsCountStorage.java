@@ -0,0 +1,134 @@
+package io.split.android.client.storage.impressions;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonSyntaxException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.storage.db.ImpressionsCountDao;
+import io.split.android.client.storage.db.ImpressionsCountEntity;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.StorageRecordStatus;
+import io.split.android.client.utils.Json;
+import io.split.android.client.utils.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class SqLitePersistentImpressionsCountStorage implements PersistentImpressionsCountStorage {
+
+    final SplitRoomDatabase mDatabase;
+    final ImpressionsCountDao mImpressionsCountDao;
+    final long mExpirationPeriod;
+
+    public SqLitePersistentImpressionsCountStorage(@NonNull SplitRoomDatabase database, long expirationPeriod) {
+        mDatabase = checkNotNull(database);
+        mImpressionsCountDao = mDatabase.impressionsCountDao();
+        mExpirationPeriod = expirationPeriod;
+    }
+
+    @Override
+    public void push(@NonNull ImpressionsCountPerFeature count) {
+        if (count == null) {
+            return;
+        }
+        List<ImpressionsCountEntity> entities = new ArrayList<>();
+        entities.add(entityForCount(count));
+        mImpressionsCountDao.insert(entities);
+    }
+
+    @Override
+    public void pushMany(@NonNull List<ImpressionsCountPerFeature> counts) {
+        if (counts == null || counts.size() == 0) {
+            return;
+        }
+        List<ImpressionsCountEntity> entities = new ArrayList<>();
+        for (ImpressionsCountPerFeature count : counts) {
+            entities.add(entityForCount(count));
+        }
+        mImpressionsCountDao.insert(entities);
+    }
+
+    @Override
+    public List<ImpressionsCountPerFeature> pop(int count) {
+        List<ImpressionsCountEntity> entities = new ArrayList<>();
+        mDatabase.runInTransaction(
+                new GetAndUpdateTransaction(mImpressionsCountDao, entities, count, mExpirationPeriod)
+        );
+        return entitiesToCounts(entities);
+    }
+
+    @Override
+    public void setActive(@NonNull List<ImpressionsCountPerFeature> counts) {
+        checkNotNull(counts);
+        mImpressionsCountDao.updateStatus(getCountsId(counts), StorageRecordStatus.ACTIVE);
+    }
+
+    @Override
+    public void delete(@NonNull List<ImpressionsCountPerFeature> counts) {
+        checkNotNull(counts);
+        mImpressionsCountDao.delete(getCountsId(counts));
+    }
+
+    private List<ImpressionsCountPerFeature> entitiesToCounts(List<ImpressionsCountEntity> entities) {
+        List<ImpressionsCountPerFeature> counts = new ArrayList<>();
+        for (ImpressionsCountEntity entity : entities) {
+            try {
+                ImpressionsCountPerFeature count = Json.fromJson(entity.getBody(), ImpressionsCountPerFeature.class);
+                count.storageId = entity.getId();
+                counts.add(count);
+            } catch (JsonSyntaxException e) {
+                Logger.e("Unable to parse impressions count entity: " +
+                        entity.getBody() + " Error: " + e.getLocalizedMessage());
+            }
+        }
+        return counts;
+    }
+
+    private ImpressionsCountEntity entityForCount(ImpressionsCountPerFeature count) {
+        ImpressionsCountEntity entity = new ImpressionsCountEntity();
+        entity.setStatus(StorageRecordStatus.ACTIVE);
+        entity.setBody(Json.toJson(count));
+        entity.setCreatedAt(System.currentTimeMillis() / 1000);
+        return entity;
+    }
+
+    private List<Long> getCountsId(List<ImpressionsCountPerFeature> counts) {
+        List<Long> ids = new ArrayList<>();
+        for (ImpressionsCountPerFeature count : counts) {
+            ids.add(count.storageId);
+        }
+        return ids;
+    }
+
+    static final class GetAndUpdateTransaction implements Runnable {
+        ImpressionsCountDao mImpressionsCountDao;
+        int mCount;
+        List<ImpressionsCountEntity> mEntities;
+        long mExpirationPeriod;
+
+        GetAndUpdateTransaction(ImpressionsCountDao impressionsCountDao,
+                                List<ImpressionsCountEntity> entities,
+                                int count,
+                                long expirationPeriod) {
+            mEntities = checkNotNull(entities);
+            mImpressionsCountDao = checkNotNull(impressionsCountDao);
+            mCount = count;
+            mExpirationPeriod = expirationPeriod;
+        }
+
+        public void run() {
+            long timestamp = System.currentTimeMillis() / 1000 - mExpirationPeriod;
+            mImpressionsCountDao.deleteOutdated(timestamp);
+            mEntities.addAll(mImpressionsCountDao.getBy(timestamp,
+                    StorageRecordStatus.ACTIVE, mCount));
+            List<Long> ids = new ArrayList<>();
+            for (ImpressionsCountEntity entity : mEntities) {
+                ids.add(entity.getId());
+            }
+            mImpressionsCountDao.updateStatus(ids, StorageRecordStatus.DELETED);
+        }
+    }
+}
@@ -10,6 +10,16 @@ public interface MySegmentsStorage {
 
     Set<String> getAll();
 
+    /**
+     * @return id of the segment in the bitset returned by {@link #getMembership()}
+     */
+    int segmentId(@NonNull String segmentName);
+
+    /**
+     * @return current user segments, it isn't modified by later updates
+     */
+    SegmentMembership getMembership();
+
     void set(@NonNull List<String> mySegments);
 
     void clear();
@@ -2,48 +2,75 @@ package io.split.android.client.storage.mysegments;
 
 import androidx.annotation.NonNull;
 
-import com.google.common.collect.Sets;
-
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import io.split.android.client.storage.StorageVersion;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class MySegmentsStorageImpl implements MySegmentsStorage {
 
     private PersistentMySegmentsStorage mPersistentStorage;
-    private Set<String> mInMemoryMySegments;
-
+    private StorageVersion mStorageVersion;
+    private final SegmentIds mSegmentIds;
+    // Replaced as a whole so readers never see it empty or half updated while being set
+    private volatile SegmentMembership mInMemoryMySegments;
 
     public MySegmentsStorageImpl(@NonNull PersistentMySegmentsStorage persistentStorage) {
+        this(persistentStorage, new StorageVersion());
+    }
+
+    public MySegmentsStorageImpl(@NonNull PersistentMySegmentsStorage persistentStorage,
+                                 @NonNull StorageVersion storageVersion) {
         mPersistentStorage = checkNotNull(persistentStorage);
-        mInMemoryMySegments = Sets.newConcurrentHashSet();
+        mStorageVersion = checkNotNull(storageVersion);
+        mSegmentIds = new SegmentIds();
+        mInMemoryMySegments = new SegmentMembership(mSegmentIds, Collections.<String>emptyList());
     }
 
     @Override
-    public void loadLocal() {
-        mInMemoryMySegments.addAll(mPersistentStorage.getSnapshot());
+    public synchronized void loadLocal() {
+        List<String> mySegments = new ArrayList<>(mInMemoryMySegments);
+        mySegments.addAll(mPersistentStorage.getSnapshot());
+        mInMemoryMySegments = new SegmentMembership(mSegmentIds, mySegments);
+        mStorageVersion.increment();
     }
 
+    /**
+     * @return read only set, it isn't modified by later updates
+     */
     @Override
     public Set<String> getAll() {
         return mInMemoryMySegments;
     }
 
     @Override
-    public void set(List<String> mySegments) {
+    public int segmentId(@NonNull String segmentName) {
+        return mSegmentIds.intern(segmentName);
+    }
+
+    @Override
+    public SegmentMembership getMembership() {
+        return mInMemoryMySegments;
+    }
+
+    @Override
+    public synchronized void set(List<String> mySegments) {
         if (mySegments == null) {
             return;
         }
-        mInMemoryMySegments.clear();
-        mInMemoryMySegments.addAll(mySegments);
+        mInMemoryMySegments = new SegmentMembership(mSegmentIds, mySegments);
+        mStorageVersion.increment();
         mPersistentStorage.set(mySegments);
     }
 
     @Override
-    public void clear() {
-        mInMemoryMySegments.clear();
+    public synchronized void clear() {
+        mInMemoryMySegments = new SegmentMembership(mSegmentIds, Collections.<String>emptyList());
+        mStorageVersion.increment();
         mPersistentStorage.set(new ArrayList<>());
     }
 }
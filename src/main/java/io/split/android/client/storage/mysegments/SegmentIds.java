@@ -0,0 +1,59 @@
+package io.split.android.client.storage.mysegments;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning table giving each segment name a dense and stable id.
+ * Segment matchers resolve their id when a split is parsed and
+ * user segments are stored as a bitset indexed by it.
+ * Ids are never reused, so parsed splits stay valid when segments change.
+ */
+public final class SegmentIds {
+
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> mIds = new ConcurrentHashMap<>();
+    private volatile String[] mNames = new String[0];
+
+    /**
+     * @return id of the segment, a new one is given if the name wasn't interned yet
+     */
+    public int intern(@NonNull String segmentName) {
+        Integer id = mIds.get(segmentName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = mIds.get(segmentName);
+            if (id != null) {
+                return id;
+            }
+            String[] names = mNames;
+            String[] updated = new String[names.length + 1];
+            System.arraycopy(names, 0, updated, 0, names.length);
+            updated[names.length] = segmentName;
+            // Names are published before the id so any id read can be resolved
+            mNames = updated;
+            mIds.put(segmentName, names.length);
+            return names.length;
+        }
+    }
+
+    /**
+     * @return id of the segment or {@link #NOT_FOUND}, doesn't intern the name
+     */
+    public int find(Object segmentName) {
+        if (segmentName == null) {
+            return NOT_FOUND;
+        }
+        Integer id = mIds.get(segmentName);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    String nameOf(int id) {
+        return mNames[id];
+    }
+}
@@ -0,0 +1,82 @@
+package io.split.android.client.storage.mysegments;
+
+import androidx.annotation.NonNull;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Immutable set of the segments a key belongs to, stored as a bitset
+ * indexed by {@link SegmentIds}. Membership of an interned segment
+ * is a single bit test.
+ * Storage replaces the whole instance on each update, so a reader
+ * holding one always sees the segments of a single update.
+ */
+public final class SegmentMembership extends AbstractSet<String> {
+
+    private final SegmentIds mSegmentIds;
+    private final long[] mBits;
+    private final int mSize;
+
+    SegmentMembership(@NonNull SegmentIds segmentIds, @NonNull Collection<String> segmentNames) {
+        mSegmentIds = segmentIds;
+        int[] ids = new int[segmentNames.size()];
+        int maxId = -1;
+        int i = 0;
+        for (String segmentName : segmentNames) {
+            ids[i] = segmentIds.intern(segmentName);
+            maxId = Math.max(maxId, ids[i]);
+            i++;
+        }
+        mBits = new long[maxId / Long.SIZE + 1];
+        int size = 0;
+        for (int id : ids) {
+            long bit = 1L << (id % Long.SIZE);
+            if ((mBits[id / Long.SIZE] & bit) == 0) {
+                mBits[id / Long.SIZE] |= bit;
+                size++;
+            }
+        }
+        mSize = size;
+    }
+
+    /**
+     * @param segmentId id given by {@link SegmentIds#intern(String)}
+     */
+    public boolean contains(int segmentId) {
+        int word = segmentId / Long.SIZE;
+        return segmentId >= 0 && word < mBits.length && (mBits[word] & (1L << (segmentId % Long.SIZE))) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return contains(mSegmentIds.find(o));
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new AbstractIterator<String>() {
+            private int mNextId = 0;
+
+            @Override
+            protected String computeNext() {
+                int idCount = mBits.length * Long.SIZE;
+                while (mNextId < idCount) {
+                    int id = mNextId++;
+                    if (contains(id)) {
+                        return mSegmentIds.nameOf(id);
+                    }
+                }
+                return endOfData();
+            }
+        };
+    }
+}
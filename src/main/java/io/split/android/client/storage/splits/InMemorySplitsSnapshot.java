@@ -0,0 +1,123 @@
+package io.split.android.client.storage.splits;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.split.android.client.dtos.Split;
+
+/**
+ * Immutable state of the in memory splits: splits by name, change number
+ * and traffic type counts. {@link SplitsStorageImpl} publishes a new instance
+ * on each update, so readers holding one never see a half applied change.
+ */
+public final class InMemorySplitsSnapshot {
+
+    static final InMemorySplitsSnapshot EMPTY = new InMemorySplitsSnapshot(
+            Collections.<String, Split>emptyMap(), Collections.<String, Integer>emptyMap(), -1);
+
+    private final Map<String, Split> mSplits;
+    private final Map<String, Integer> mTrafficTypes;
+    private final long mChangeNumber;
+
+    InMemorySplitsSnapshot(Map<String, Split> splits, Map<String, Integer> trafficTypes, long changeNumber) {
+        mSplits = Collections.unmodifiableMap(splits);
+        mTrafficTypes = Collections.unmodifiableMap(trafficTypes);
+        mChangeNumber = changeNumber;
+    }
+
+    public Split get(@NonNull String name) {
+        return mSplits.get(name);
+    }
+
+    /**
+     * @return read only map of splits by name
+     */
+    public Map<String, Split> getSplits() {
+        return mSplits;
+    }
+
+    public long getChangeNumber() {
+        return mChangeNumber;
+    }
+
+    public boolean isValidTrafficType(String name) {
+        if (name == null) {
+            return false;
+        }
+        return mTrafficTypes.get(name.toLowerCase()) != null;
+    }
+
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Copy of a snapshot to apply changes on before publishing it
+     */
+    static final class Builder {
+        private final Map<String, Split> mSplits;
+        private final Map<String, Integer> mTrafficTypes;
+        private long mChangeNumber;
+
+        private Builder(InMemorySplitsSnapshot snapshot) {
+            mSplits = new HashMap<>(snapshot.mSplits);
+            mTrafficTypes = new HashMap<>(snapshot.mTrafficTypes);
+            mChangeNumber = snapshot.mChangeNumber;
+        }
+
+        Builder put(Split split) {
+            Split loadedSplit = mSplits.put(split.name, split);
+            if (loadedSplit != null) {
+                decreaseTrafficTypeCount(loadedSplit.trafficTypeName);
+            }
+            increaseTrafficTypeCount(split.trafficTypeName);
+            return this;
+        }
+
+        Builder remove(String name) {
+            Split removedSplit = mSplits.remove(name);
+            if (removedSplit != null) {
+                decreaseTrafficTypeCount(removedSplit.trafficTypeName);
+            }
+            return this;
+        }
+
+        Builder changeNumber(long changeNumber) {
+            mChangeNumber = changeNumber;
+            return this;
+        }
+
+        InMemorySplitsSnapshot build() {
+            return new InMemorySplitsSnapshot(mSplits, mTrafficTypes, mChangeNumber);
+        }
+
+        private void increaseTrafficTypeCount(String name) {
+            if (name == null) {
+                return;
+            }
+            String lowercaseName = name.toLowerCase();
+            mTrafficTypes.put(lowercaseName, countForTrafficType(lowercaseName) + 1);
+        }
+
+        private void decreaseTrafficTypeCount(String name) {
+            if (name == null) {
+                return;
+            }
+            String lowercaseName = name.toLowerCase();
+            int count = countForTrafficType(lowercaseName);
+            if (count > 1) {
+                mTrafficTypes.put(lowercaseName, count - 1);
+            } else {
+                mTrafficTypes.remove(lowercaseName);
+            }
+        }
+
+        private int countForTrafficType(String name) {
+            Integer count = mTrafficTypes.get(name);
+            return count != null ? count : 0;
+        }
+    }
+}
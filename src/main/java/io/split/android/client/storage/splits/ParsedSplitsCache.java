@@ -0,0 +1,56 @@
+package io.split.android.client.storage.splits;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.engine.experiments.ParsedSplit;
+
+/**
+ * Keeps the parsed version of each split so evaluations don't
+ * have to rebuild matchers on every call.
+ * Entries are keyed by split name and are only considered valid
+ * while their change number matches the one of the split being evaluated.
+ * Splits storage removes entries when a split is updated or archived.
+ */
+public class ParsedSplitsCache {
+
+    private final Map<String, ParsedSplit> mParsedSplits;
+
+    public ParsedSplitsCache() {
+        mParsedSplits = new ConcurrentHashMap<>();
+    }
+
+    public @Nullable ParsedSplit get(@NonNull Split split) {
+        ParsedSplit parsedSplit = mParsedSplits.get(split.name);
+        if (parsedSplit == null || parsedSplit.changeNumber() != split.changeNumber) {
+            return null;
+        }
+        return parsedSplit;
+    }
+
+    public void put(@NonNull ParsedSplit parsedSplit) {
+        mParsedSplits.put(parsedSplit.feature(), parsedSplit);
+    }
+
+    public void remove(@NonNull String splitName) {
+        mParsedSplits.remove(splitName);
+    }
+
+    public void remove(@Nullable List<Split> splits) {
+        if (splits == null) {
+            return;
+        }
+        for (Split split : splits) {
+            mParsedSplits.remove(split.name);
+        }
+    }
+
+    public void clear() {
+        mParsedSplits.clear();
+    }
+}
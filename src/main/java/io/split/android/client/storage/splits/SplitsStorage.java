@@ -16,6 +16,12 @@ public interface SplitsStorage {
 
     Map<String, Split> getAll();
 
+    /**
+     * @return current state of the in memory splits. It doesn't change,
+     * so callers can read several splits from the same update
+     */
+    InMemorySplitsSnapshot getSnapshot();
+
     void update(ProcessedSplitChange splitChange);
 
     void updateWithoutChecks(Split split);
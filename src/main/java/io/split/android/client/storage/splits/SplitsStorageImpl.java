@@ -5,50 +5,66 @@ import androidx.annotation.NonNull;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.StorageVersion;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class SplitsStorageImpl implements SplitsStorage {
 
     private PersistentSplitsStorage mPersistentStorage;
-    private Map<String, Split> mInMemorySplits;
-    private long mChangeNumber;
-    private Map<String, Integer> mTrafficTypes;
+    private ParsedSplitsCache mParsedSplitsCache;
+    private StorageVersion mStorageVersion;
+    // Replaced as a whole by writers so readers get splits, change number
+    // and traffic types from the same update without locking
+    private volatile InMemorySplitsSnapshot mSnapshot = InMemorySplitsSnapshot.EMPTY;
 
     public SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage) {
+        this(persistentStorage, new ParsedSplitsCache());
+    }
+
+    public SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage,
+                             @NonNull ParsedSplitsCache parsedSplitsCache) {
+        this(persistentStorage, parsedSplitsCache, new StorageVersion());
+    }
+
+    public SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage,
+                             @NonNull ParsedSplitsCache parsedSplitsCache,
+                             @NonNull StorageVersion storageVersion) {
         mPersistentStorage = checkNotNull(persistentStorage);
-        mInMemorySplits = new ConcurrentHashMap<String, Split>();
-        mTrafficTypes = new ConcurrentHashMap<String, Integer>();
+        mParsedSplitsCache = checkNotNull(parsedSplitsCache);
+        mStorageVersion = checkNotNull(storageVersion);
     }
 
     @Override
-    public void loadLocal() {
+    public synchronized void loadLocal() {
         SplitsSnapshot snapshot = mPersistentStorage.getSnapshot();
         List<Split> splits = snapshot.getSplits();
-        mChangeNumber = snapshot.getChangeNumber();
+        InMemorySplitsSnapshot.Builder builder = mSnapshot.toBuilder();
         for (Split split : splits) {
-            mInMemorySplits.put(split.name, split);
+            builder.put(split);
         }
+        mSnapshot = builder.changeNumber(snapshot.getChangeNumber()).build();
+        mParsedSplitsCache.clear();
+        mStorageVersion.increment();
     }
 
     @Override
     public Split get(@NonNull String name) {
-        return mInMemorySplits.get(name);
+        return mSnapshot.get(name);
     }
 
     @Override
     public Map<String, Split> getMany(@NonNull List<String> splitNames) {
-        Map<String, Split> splits = new HashMap<>();
+        Map<String, Split> inMemorySplits = mSnapshot.getSplits();
         if(splitNames == null || splitNames.isEmpty()) {
-            splits.putAll(mInMemorySplits);
-            return splits;
+            return new HashMap<>(inMemorySplits);
         }
 
+        Map<String, Split> splits = new HashMap<>();
         for(String name : splitNames) {
-            Split split = mInMemorySplits.get(name);
+            Split split = inMemorySplits.get(name);
             if(split != null) {
                 splits.put(name, split);
             }
@@ -61,90 +77,66 @@ public class SplitsStorageImpl implements SplitsStorage {
         return getMany(null);
     }
 
+    @NonNull
+    @Override
+    public InMemorySplitsSnapshot getSnapshot() {
+        return mSnapshot;
+    }
+
     @Override
-    public void update(ProcessedSplitChange splitChange) {
+    public synchronized void update(ProcessedSplitChange splitChange) {
         if(splitChange == null) {
             return;
         }
         List<Split> activeSplits = splitChange.getActiveSplits();
         List<Split> archivedSplits = splitChange.getArchivedSplits();
+        InMemorySplitsSnapshot.Builder builder = mSnapshot.toBuilder();
         if(activeSplits != null) {
             for (Split split : activeSplits) {
-                Split loadedSplit = mInMemorySplits.get(split.name);
-                if (loadedSplit != null && loadedSplit.trafficTypeName != null) {
-                    decreaseTrafficTypeCount(loadedSplit.trafficTypeName);
-                }
-                increaseTrafficTypeCount(split.trafficTypeName);
-                mInMemorySplits.put(split.name, split);
+                builder.put(split);
             }
         }
 
         if(archivedSplits != null) {
             for (Split split : archivedSplits) {
-                if(mInMemorySplits.remove(split.name) != null) {
-                    decreaseTrafficTypeCount(split.trafficTypeName);
-                }
+                builder.remove(split.name);
             }
         }
 
-        mChangeNumber = splitChange.getChangeNumber();
+        mSnapshot = builder.changeNumber(splitChange.getChangeNumber()).build();
+        if(activeSplits != null) {
+            mParsedSplitsCache.remove(activeSplits);
+        }
+        if(archivedSplits != null) {
+            mParsedSplitsCache.remove(archivedSplits);
+        }
+        mStorageVersion.increment();
         mPersistentStorage.update(splitChange);
     }
 
     @Override
-    public void updateWithoutChecks(Split split) {
-        mInMemorySplits.put(split.name, split);
+    public synchronized void updateWithoutChecks(Split split) {
+        mSnapshot = mSnapshot.toBuilder().put(split).build();
+        mParsedSplitsCache.remove(split.name);
+        mStorageVersion.increment();
         mPersistentStorage.update(split);
     }
 
     @Override
     public long getTill() {
-        return mChangeNumber;
+        return mSnapshot.getChangeNumber();
     }
 
     @Override
-    public void clear() {
-        mInMemorySplits.clear();
+    public synchronized void clear() {
+        mSnapshot = new InMemorySplitsSnapshot(new HashMap<String, Split>(),
+                new HashMap<String, Integer>(), mSnapshot.getChangeNumber());
+        mParsedSplitsCache.clear();
+        mStorageVersion.increment();
     }
 
     @Override
     public boolean isValidTrafficType(String name) {
-        if (name == null) {
-            return false;
-        }
-        return (mTrafficTypes.get(name.toLowerCase()) != null);
-    }
-
-    private void increaseTrafficTypeCount(@NonNull String name) {
-        if (name == null) {
-            return;
-        }
-
-        String lowercaseName = name.toLowerCase();
-        int count = countForTrafficType(lowercaseName);
-        mTrafficTypes.put(lowercaseName, ++count);
-    }
-
-    private void decreaseTrafficTypeCount(@NonNull String name) {
-        if (name == null) {
-            return;
-        }
-        String lowercaseName = name.toLowerCase();
-
-        int count = countForTrafficType(lowercaseName);
-        if (count > 1) {
-            mTrafficTypes.put(lowercaseName, --count);
-        } else {
-            mTrafficTypes.remove(lowercaseName);
-        }
-    }
-
-    private int countForTrafficType(@NonNull String name) {
-        int count = 0;
-        Integer countValue = mTrafficTypes.get(name);
-        if (countValue != null) {
-            count = countValue;
-        }
-        return count;
+        return mSnapshot.isValidTrafficType(name);
     }
 }
@@ -2,8 +2,10 @@ package io.split.android.client.utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -17,6 +19,13 @@ public class Json {
         return _json.toJson(obj);
     }
 
+    /**
+     * Writes the object to the writer with the same settings than {@link #toJson(Object)}
+     */
+    public static void toJson(Object obj, Type typeOfObj, JsonWriter writer) throws JsonIOException {
+        _json.toJson(obj, typeOfObj, writer);
+    }
+
     public static <T> T fromJson(String json, Type typeOfT) throws JsonSyntaxException {
         return _json.fromJson(json, typeOfT);
     }
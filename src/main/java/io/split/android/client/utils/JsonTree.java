@@ -0,0 +1,93 @@
+package io.split.android.client.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses JSON into a read only tree of standard types:
+ * objects to Map, arrays to List, integral numbers to Long,
+ * other numbers to Double, plus String, Boolean and null.
+ * Unlike Gson elements the tree can be shared between callers.
+ */
+public final class JsonTree {
+
+    private JsonTree() {
+    }
+
+    /**
+     * @return read only map for a JSON object
+     * @throws JsonParseException if the json isn't valid or isn't an object
+     */
+    public static Map<String, Object> parseObject(String json) throws JsonParseException {
+        JsonElement element = new JsonParser().parse(json);
+        if (!element.isJsonObject()) {
+            throw new JsonParseException("JSON object expected");
+        }
+        return toMap(element.getAsJsonObject());
+    }
+
+    private static Object toValue(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonObject()) {
+            return toMap(element.getAsJsonObject());
+        }
+        if (element.isJsonArray()) {
+            return toList(element.getAsJsonArray());
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            return toNumber(primitive.getAsString());
+        }
+        return primitive.getAsString();
+    }
+
+    private static Map<String, Object> toMap(JsonObject object) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            map.put(entry.getKey(), toValue(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static List<Object> toList(JsonArray array) {
+        List<Object> list = new ArrayList<>(array.size());
+        for (JsonElement element : array) {
+            list.add(toValue(element));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Number toNumber(String number) {
+        boolean isIntegral = true;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                isIntegral = false;
+                break;
+            }
+        }
+        if (isIntegral) {
+            try {
+                return Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                // Doesn't fit in a long
+            }
+        }
+        return Double.parseDouble(number);
+    }
+}
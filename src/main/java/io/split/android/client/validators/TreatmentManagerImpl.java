@@ -1,10 +1,17 @@
 package io.split.android.client.validators;
 
+import androidx.annotation.Nullable;
+
+import com.google.common.collect.Maps;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import io.split.android.client.EvaluationResult;
+import io.split.android.client.EvaluationResultsCache;
+import io.split.android.client.PrecomputedEvaluations;
 import io.split.android.client.Evaluator;
 import io.split.android.client.SplitClientConfig;
 import io.split.android.client.SplitResult;
@@ -27,8 +34,15 @@ public class TreatmentManagerImpl implements TreatmentManager {
     }
 
     private final String CLIENT_DESTROYED_MESSAGE = "Client has already been destroyed - no calls possible";
+    private final String SDK_NOT_READY_MESSAGE = "the SDK is not ready, results may be incorrect. Make sure to wait for SDK readiness before using this method";
     private final String SDK_READY_NOT_FIRED = "No listeners for SDK Readiness detected. Incorrect control treatments could be logged if you call getTreatment while the SDK is not yet ready";
 
+    // Results are immutable, so these are shared by every call
+    private static final EvaluationResult CONTROL_EVALUATION = new EvaluationResult(Treatments.CONTROL, null);
+    private static final EvaluationResult NOT_READY_EVALUATION
+            = new EvaluationResult(Treatments.CONTROL, TreatmentLabels.NOT_READY, null, null);
+    private static final SplitResult CONTROL_RESULT = CONTROL_EVALUATION.getSplitResult();
+
     private final Evaluator mEvaluator;
     private final KeyValidator mKeyValidator;
     private final SplitValidator mSplitValidator;
@@ -39,12 +53,25 @@ public class TreatmentManagerImpl implements TreatmentManager {
     private final SplitClientConfig mSplitClientConfig;
     private final ValidationMessageLogger mValidationLogger;
     private final ISplitEventsManager mEventsManager;
+    private final EvaluationResultsCache mEvaluationResultsCache;
+    private final PrecomputedEvaluations mPrecomputedEvaluations;
 
     public TreatmentManagerImpl(String matchingKey, String bucketingKey,
                                 Evaluator evaluator, KeyValidator keyValidator,
                                 SplitValidator splitValidator, Metrics metrics,
                                 ImpressionListener impressionListener, SplitClientConfig splitClientConfig,
                                 ISplitEventsManager eventsManager) {
+        this(matchingKey, bucketingKey, evaluator, keyValidator, splitValidator, metrics,
+                impressionListener, splitClientConfig, eventsManager, null, null);
+    }
+
+    public TreatmentManagerImpl(String matchingKey, String bucketingKey,
+                                Evaluator evaluator, KeyValidator keyValidator,
+                                SplitValidator splitValidator, Metrics metrics,
+                                ImpressionListener impressionListener, SplitClientConfig splitClientConfig,
+                                ISplitEventsManager eventsManager,
+                                @Nullable EvaluationResultsCache evaluationResultsCache,
+                                @Nullable PrecomputedEvaluations precomputedEvaluations) {
         mEvaluator = evaluator;
         mKeyValidator = keyValidator;
         mSplitValidator = splitValidator;
@@ -54,6 +81,8 @@ public class TreatmentManagerImpl implements TreatmentManager {
         mImpressionListener = impressionListener;
         mSplitClientConfig = splitClientConfig;
         mEventsManager = eventsManager;
+        mEvaluationResultsCache = evaluationResultsCache;
+        mPrecomputedEvaluations = precomputedEvaluations;
         mValidationLogger = new ValidationMessageLoggerImpl();
 
     }
@@ -78,7 +107,7 @@ public class TreatmentManagerImpl implements TreatmentManager {
         final String validationTag = ValidationTag.GET_TREATMENT_WITH_CONFIG;
         if(isClientDestroyed) {
             Logger.e(validationTag + CLIENT_DESTROYED_MESSAGE);
-            return new SplitResult(Treatments.CONTROL);
+            return CONTROL_RESULT;
         }
 
         long start = System.currentTimeMillis();
@@ -103,11 +132,11 @@ public class TreatmentManagerImpl implements TreatmentManager {
         }
 
         long start = System.currentTimeMillis();
-        Map<String, SplitResult> resultWithConfig = getTreatmentsWithConfigWithoutMetrics(splits, attributes ,validationTag);
-        Map<String, String> result = new HashMap<>();
+        Map<String, EvaluationResult> evaluationResults = getTreatmentsWithoutMetrics(splits, attributes, validationTag);
+        Map<String, String> result = Maps.newHashMapWithExpectedSize(evaluationResults.size());
 
-        for (Map.Entry<String, SplitResult> entry : resultWithConfig.entrySet()) {
-            result.put(entry.getKey(), entry.getValue().treatment());
+        for (Map.Entry<String, EvaluationResult> entry : evaluationResults.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getTreatment());
         }
         mMetrics.time(Metrics.GET_TREATMENTS_TIME, System.currentTimeMillis() - start);
         return result;
@@ -129,7 +158,12 @@ public class TreatmentManagerImpl implements TreatmentManager {
         }
 
         long start = System.currentTimeMillis();
-        Map<String, SplitResult> result = getTreatmentsWithConfigWithoutMetrics(splits, attributes, validationTag);
+        Map<String, EvaluationResult> evaluationResults = getTreatmentsWithoutMetrics(splits, attributes, validationTag);
+        Map<String, SplitResult> result = Maps.newHashMapWithExpectedSize(evaluationResults.size());
+
+        for (Map.Entry<String, EvaluationResult> entry : evaluationResults.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getSplitResult());
+        }
         mMetrics.time(Metrics.GET_TREATMENTS_WITH_CONFIG_TIME, System.currentTimeMillis() - start);
         return result;
     }
@@ -139,7 +173,7 @@ public class TreatmentManagerImpl implements TreatmentManager {
         ValidationErrorInfo errorInfo = mKeyValidator.validate(mMatchingKey, mBucketingKey);
         if (errorInfo != null) {
             mValidationLogger.e(errorInfo, validationTag);
-            return new SplitResult(Treatments.CONTROL);
+            return CONTROL_RESULT;
         }
 
         String splitName = split;
@@ -147,14 +181,14 @@ public class TreatmentManagerImpl implements TreatmentManager {
         if (errorInfo != null) {
             if (errorInfo.isError()) {
                 mValidationLogger.e(errorInfo, validationTag);
-                return new SplitResult(Treatments.CONTROL);
+                return CONTROL_RESULT;
             }
             mValidationLogger.w(errorInfo, validationTag);
             splitName = split.trim();
         }
 
         EvaluationResult evaluationResult = evaluateIfReady(splitName, attributes, validationTag);
-        SplitResult splitResult = new SplitResult(evaluationResult.getTreatment(), evaluationResult.getConfigurations());
+        SplitResult splitResult = evaluationResult.getSplitResult();
 
         if(evaluationResult.getLabel().equals(TreatmentLabels.DEFINITION_NOT_FOUND)) {
             mValidationLogger.w(mSplitValidator.splitNotFoundMessage(splitName), validationTag);
@@ -174,21 +208,20 @@ public class TreatmentManagerImpl implements TreatmentManager {
         return splitResult;
     }
 
-    private Map<String, SplitResult> getTreatmentsWithConfigWithoutMetrics(List<String> splits, Map<String, Object> attributes, String validationTag) {
+    private Map<String, EvaluationResult> getTreatmentsWithoutMetrics(List<String> splits, Map<String, Object> attributes, String validationTag) {
 
         ValidationErrorInfo errorInfo = mKeyValidator.validate(mMatchingKey, mBucketingKey);
         if (errorInfo != null) {
             mValidationLogger.log(errorInfo, validationTag);
-            return controlTreatmentsForSplitsWithConfig(splits, validationTag);
+            return controlResultsForSplits(splits, validationTag, CONTROL_EVALUATION);
         }
 
-        Map<String, SplitResult> results = new HashMap<>();
-
         if(splits.size() == 0) {
             Logger.w(validationTag + ": split_names is an empty array or has null values");
-            return results;
+            return new HashMap<>();
         }
 
+        List<String> splitNames = new ArrayList<>(splits.size());
         for(String split : splits) {
             errorInfo = mSplitValidator.validateName(split);
             if (errorInfo != null) {
@@ -197,27 +230,32 @@ public class TreatmentManagerImpl implements TreatmentManager {
                     continue;
                 }
                 mValidationLogger.w(errorInfo, validationTag);
+                split = split.trim();
             }
+            splitNames.add(split);
+        }
 
-            EvaluationResult result = evaluateIfReady(split.trim(), attributes, validationTag);
-            results.put(split.trim(), new SplitResult(result.getTreatment(), result.getConfigurations()));
+        Map<String, EvaluationResult> evaluationResults = evaluateIfReady(splitNames, attributes, validationTag);
+
+        for(String splitName : splitNames) {
+            EvaluationResult result = evaluationResults.get(splitName);
 
             if(result.getLabel().equals(TreatmentLabels.DEFINITION_NOT_FOUND)) {
-                mValidationLogger.w(mSplitValidator.splitNotFoundMessage(split), validationTag);
+                mValidationLogger.w(mSplitValidator.splitNotFoundMessage(splitName), validationTag);
                 continue;
             }
 
             logImpression(
                     mMatchingKey,
                     mBucketingKey,
-                    split,
+                    splitName,
                     result.getTreatment(),
                     (mSplitClientConfig.labelsEnabled() ? result.getLabel() : null),
                     result.getChangeNumber(),
                     attributes);
         }
 
-        return results;
+        return evaluationResults;
     }
 
     private void logImpression(String matchingKey, String bucketingKey, String splitName, String result, String label, Long changeNumber, Map<String, Object> attributes) {
@@ -229,24 +267,16 @@ public class TreatmentManagerImpl implements TreatmentManager {
     }
 
     private Map<String, SplitResult> controlTreatmentsForSplitsWithConfig(List<String> splits, String validationTag) {
-        Map<String, SplitResult> results = new HashMap<>();
-        for(String split : splits) {
-            ValidationErrorInfo errorInfo = mSplitValidator.validateName(split);
-            if(errorInfo != null) {
-                if(errorInfo.isError()) {
-                    mValidationLogger.e(errorInfo, validationTag);
-                    continue;
-                }
-                mValidationLogger.w(errorInfo, validationTag);
-            }
-            results.put(split.trim(), new SplitResult(Treatments.CONTROL));
-        }
-        return results;
+        return controlResultsForSplits(splits, validationTag, CONTROL_RESULT);
     }
 
     @SuppressWarnings("SameParameterValue")
     private Map<String, String> controlTreatmentsForSplits(List<String> splits, String validationTag) {
-        Map<String, String> results = new HashMap<>();
+        return controlResultsForSplits(splits, validationTag, Treatments.CONTROL);
+    }
+
+    private <T> Map<String, T> controlResultsForSplits(List<String> splits, String validationTag, T control) {
+        Map<String, T> results = new HashMap<>();
         for(String split : splits) {
             ValidationErrorInfo errorInfo = mSplitValidator.validateName(split);
             if(errorInfo != null) {
@@ -256,19 +286,95 @@ public class TreatmentManagerImpl implements TreatmentManager {
                 }
                 mValidationLogger.w(errorInfo, validationTag);
             }
-            results.put(split.trim(), Treatments.CONTROL);
+            results.put(split.trim(), control);
         }
         return results;
     }
 
     private EvaluationResult evaluateIfReady(String splitName,
                                              Map<String, Object> attributes, String validationTag) {
-        if(!mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY) &&
-                !mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE) ) {
-            mValidationLogger.w("the SDK is not ready, results may be incorrect. Make sure to wait for SDK readiness before using this method", validationTag);
-            return new EvaluationResult(Treatments.CONTROL, TreatmentLabels.NOT_READY, null, null);
+        if(!isSdkReady()) {
+            mValidationLogger.w(SDK_NOT_READY_MESSAGE, validationTag);
+            return NOT_READY_EVALUATION;
         }
-        return mEvaluator.getTreatment(mMatchingKey, mBucketingKey, splitName, attributes);
+        return evaluate(splitName, attributes);
+    }
+
+    private Map<String, EvaluationResult> evaluateIfReady(List<String> splitNames,
+                                                          Map<String, Object> attributes, String validationTag) {
+        if(!isSdkReady()) {
+            mValidationLogger.w(SDK_NOT_READY_MESSAGE, validationTag);
+            Map<String, EvaluationResult> results = Maps.newHashMapWithExpectedSize(splitNames.size());
+            for (String splitName : splitNames) {
+                results.put(splitName, NOT_READY_EVALUATION);
+            }
+            return results;
+        }
+        return evaluate(splitNames, attributes);
+    }
+
+    private boolean isSdkReady() {
+        return mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY) ||
+                mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE);
+    }
+
+    private EvaluationResult evaluate(String splitName, Map<String, Object> attributes) {
+        if (mPrecomputedEvaluations != null) {
+            EvaluationResult result = mPrecomputedEvaluations.get(splitName);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        if (mEvaluationResultsCache == null) {
+            return mEvaluator.getTreatment(mMatchingKey, mBucketingKey, splitName, attributes);
+        }
+
+        EvaluationResult result = mEvaluationResultsCache.get(splitName, attributes);
+        if (result != null) {
+            return result;
+        }
+
+        long version = mEvaluationResultsCache.version();
+        result = mEvaluator.getTreatment(mMatchingKey, mBucketingKey, splitName, attributes);
+        if (!TreatmentLabels.EXCEPTION.equals(result.getLabel())) {
+            mEvaluationResultsCache.put(splitName, attributes, result, version);
+        }
+        return result;
+    }
+
+    private Map<String, EvaluationResult> evaluate(List<String> splitNames, Map<String, Object> attributes) {
+        Map<String, EvaluationResult> results = Maps.newHashMapWithExpectedSize(splitNames.size());
+        List<String> toEvaluate = new ArrayList<>(splitNames.size());
+        for (String splitName : splitNames) {
+            EvaluationResult result = null;
+            if (mPrecomputedEvaluations != null) {
+                result = mPrecomputedEvaluations.get(splitName);
+            }
+            if (result == null && mEvaluationResultsCache != null) {
+                result = mEvaluationResultsCache.get(splitName, attributes);
+            }
+            if (result != null) {
+                results.put(splitName, result);
+            } else {
+                toEvaluate.add(splitName);
+            }
+        }
+
+        if (toEvaluate.isEmpty()) {
+            return results;
+        }
+
+        long version = (mEvaluationResultsCache != null ? mEvaluationResultsCache.version() : 0);
+        Map<String, EvaluationResult> evaluated = mEvaluator.getTreatments(mMatchingKey, mBucketingKey, toEvaluate, attributes);
+        for (Map.Entry<String, EvaluationResult> entry : evaluated.entrySet()) {
+            EvaluationResult result = entry.getValue();
+            if (mEvaluationResultsCache != null && !TreatmentLabels.EXCEPTION.equals(result.getLabel())) {
+                mEvaluationResultsCache.put(entry.getKey(), attributes, result, version);
+            }
+            results.put(entry.getKey(), result);
+        }
+        return results;
     }
 
 }
@@ -0,0 +1,59 @@
+package io.split.android.engine;
+
+import java.util.Arrays;
+
+/**
+ * Results of interned matchers for a single evaluation call,
+ * kept in two bitsets indexed by matcher id: evaluated and matched.
+ * Negative ids are never stored so those matchers are evaluated each time.
+ * Only valid for one matching key, bucketing key and attributes,
+ * and for splits parsed with the same generation of matcher ids.
+ * Not thread safe, a new instance is used for each call.
+ */
+public final class MatcherResults {
+
+    private final int mGeneration;
+    private long[] mEvaluated;
+    private long[] mMatched;
+
+    /**
+     * @param generation   generation of the matcher ids stored
+     * @param expectedSize number of ids expected, bitsets grow if a bigger id is set
+     */
+    public MatcherResults(int generation, int expectedSize) {
+        mGeneration = generation;
+        int words = Math.max(1, (expectedSize + Long.SIZE - 1) / Long.SIZE);
+        mEvaluated = new long[words];
+        mMatched = new long[words];
+    }
+
+    public int generation() {
+        return mGeneration;
+    }
+
+    boolean isEvaluated(int id) {
+        int word = id / Long.SIZE;
+        return id >= 0 && word < mEvaluated.length && (mEvaluated[word] & (1L << (id % Long.SIZE))) != 0;
+    }
+
+    boolean matched(int id) {
+        return (mMatched[id / Long.SIZE] & (1L << (id % Long.SIZE))) != 0;
+    }
+
+    void set(int id, boolean matched) {
+        if (id < 0) {
+            return;
+        }
+        int word = id / Long.SIZE;
+        if (word >= mEvaluated.length) {
+            int words = Math.max(word + 1, mEvaluated.length * 2);
+            mEvaluated = Arrays.copyOf(mEvaluated, words);
+            mMatched = Arrays.copyOf(mMatched, words);
+        }
+        long bit = 1L << (id % Long.SIZE);
+        mEvaluated[word] |= bit;
+        if (matched) {
+            mMatched[word] |= bit;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.split.android.engine;
+
+import java.util.Map;
+
+import io.split.android.client.Evaluator;
+import io.split.android.engine.experiments.KeyWhitelistIndex;
+import io.split.android.engine.matchers.Transformers;
+import io.split.android.engine.splitter.BucketCache;
+import io.split.android.engine.splitter.Splitter;
+
+/**
+ * Runs a {@link SplitProgram}.
+ * Evaluation follows the same rules as walking a ParsedSplit
+ * (killed, whitelists, traffic allocation, rollout, default rule)
+ * but runs over flat arrays and doesn't allocate.
+ * The result is an outcome code holding the label and treatment indexes,
+ * which can be resolved by using {@link SplitProgram#treatment(int)},
+ * {@link SplitProgram#label(int)} and {@link SplitProgram#configurations(int)}.
+ */
+public final class SplitInterpreter {
+
+    static final int LABEL_SHIFT = 16;
+    static final int TREATMENT_MASK = 0xFFFF;
+
+    private SplitInterpreter() {
+    }
+
+    public static int evaluate(SplitProgram program,
+                               String matchingKey,
+                               String bucketingKey,
+                               Map<String, Object> attributes,
+                               Evaluator evaluator) {
+        return evaluate(program, matchingKey, bucketingKey, attributes, evaluator, null);
+    }
+
+    /**
+     * Same as {@link #evaluate(SplitProgram, String, String, Map, Evaluator)}
+     * but hashing the bucketing key using a bucket cache when available
+     */
+    public static int evaluate(SplitProgram program,
+                               String matchingKey,
+                               String bucketingKey,
+                               Map<String, Object> attributes,
+                               Evaluator evaluator,
+                               BucketCache bucketCache) {
+        return evaluate(program, matchingKey, bucketingKey, attributes, evaluator, bucketCache, null);
+    }
+
+    /**
+     * Same as {@link #evaluate(SplitProgram, String, String, Map, Evaluator, BucketCache)}
+     * but reusing results of interned matchers already computed in the same call
+     * @param matcherResults results for the same keys and attributes, can be null
+     */
+    public static int evaluate(SplitProgram program,
+                               String matchingKey,
+                               String bucketingKey,
+                               Map<String, Object> attributes,
+                               Evaluator evaluator,
+                               BucketCache bucketCache,
+                               MatcherResults matcherResults) {
+
+        if (program.mKilled) {
+            return outcome(program.mKilledLabel, program.mDefaultTreatment);
+        }
+
+        String bk = (bucketingKey == null) ? matchingKey : bucketingKey;
+        int[] conditionStart = program.mConditionStart;
+        int conditionCount = conditionStart.length - 1;
+
+        int firstCondition = 0;
+        KeyWhitelistIndex keyWhitelistIndex = program.mKeyWhitelistIndex;
+        if (keyWhitelistIndex != null) {
+            int condition = keyWhitelistIndex.firstConditionOf(matchingKey);
+            if (condition != KeyWhitelistIndex.NOT_FOUND) {
+                return outcome(condition, treatmentIndex(program, condition, bk, bucketCache));
+            }
+            firstCondition = keyWhitelistIndex.conditionCount();
+        }
+
+        /*
+         * Whitelists come first, then traffic allocation is checked
+         * right before the first rollout condition.
+         */
+        for (int i = firstCondition; i < conditionCount; i++) {
+            if (i == program.mRolloutConditionIndex && program.mTrafficAllocation < 100) {
+                // if the traffic allocation is 100%, no need to do anything special.
+                int bucket = getBucket(bucketCache, bk, program.mTrafficAllocationSeed, program.mAlgo);
+                if (bucket > program.mTrafficAllocation) {
+                    return outcome(program.mNotInSplitLabel, program.mDefaultTreatment);
+                }
+            }
+
+            if (matchCondition(program, conditionStart[i], conditionStart[i + 1],
+                    matchingKey, bucketingKey, attributes, evaluator, matcherResults)) {
+                return outcome(i, treatmentIndex(program, i, bk, bucketCache));
+            }
+        }
+
+        return outcome(program.mDefaultRuleLabel, program.mDefaultTreatment);
+    }
+
+    private static int outcome(int label, int treatment) {
+        return (label << LABEL_SHIFT) | treatment;
+    }
+
+    private static int getBucket(BucketCache bucketCache, String key, int seed, int algo) {
+        if (bucketCache == null) {
+            return Splitter.getBucket(key, seed, algo);
+        }
+        return bucketCache.getBucket(key, seed, algo);
+    }
+
+    private static int treatmentIndex(SplitProgram program, int condition, String bucketingKey,
+                                      BucketCache bucketCache) {
+        int fixedTreatment = program.mFixedTreatment[condition];
+        if (fixedTreatment >= 0) {
+            return fixedTreatment;
+        }
+        int bucket = getBucket(bucketCache, bucketingKey, program.mSeed, program.mAlgo);
+        return program.mBucketTreatments[condition][bucket - 1];
+    }
+
+    private static boolean matchCondition(SplitProgram program, int start, int end,
+                                          String matchingKey, String bucketingKey,
+                                          Map<String, Object> attributes, Evaluator evaluator,
+                                          MatcherResults matcherResults) {
+        for (int i = start; i < end; i++) {
+            if (!match(program, i, matchingKey, bucketingKey, attributes, evaluator, matcherResults)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean match(SplitProgram program, int index,
+                                 String matchingKey, String bucketingKey,
+                                 Map<String, Object> attributes, Evaluator evaluator,
+                                 MatcherResults matcherResults) {
+        if (matcherResults == null) {
+            return match(program, index, matchingKey, bucketingKey, attributes, evaluator);
+        }
+        int matcherId = program.mMatcherIds[index];
+        if (matcherResults.isEvaluated(matcherId)) {
+            return matcherResults.matched(matcherId);
+        }
+        boolean result = match(program, index, matchingKey, bucketingKey, attributes, evaluator);
+        matcherResults.set(matcherId, result);
+        return result;
+    }
+
+    private static boolean match(SplitProgram program, int index,
+                                 String matchingKey, String bucketingKey,
+                                 Map<String, Object> attributes, Evaluator evaluator) {
+
+        String attribute = program.mAttributes[index];
+        Object value;
+        if (attribute == null) {
+            value = matchingKey;
+        } else {
+            if (attributes == null) {
+                return false;
+            }
+            value = attributes.get(attribute);
+            if (value == null) {
+                return false;
+            }
+            // Attribute matchers don't receive attributes nor evaluator
+            attributes = null;
+            evaluator = null;
+        }
+
+        int operand = program.mOperands[index];
+        boolean result;
+        switch (program.mOpcodes[index]) {
+            case SplitProgram.OP_ALL_KEYS:
+                result = value != null;
+                break;
+            case SplitProgram.OP_WHITELIST:
+                result = program.mWhitelists[operand].contains(value);
+                break;
+            case SplitProgram.OP_EQUAL_TO:
+                result = isLong(value)
+                        && asDate(value, program.mDateTime[index]) == program.mNumbers[operand];
+                break;
+            case SplitProgram.OP_GREATER_THAN_OR_EQUAL_TO:
+                result = isLong(value)
+                        && asDateHourMinute(value, program.mDateTime[index]) >= program.mNumbers[operand];
+                break;
+            case SplitProgram.OP_LESS_THAN_OR_EQUAL_TO:
+                result = isLong(value)
+                        && asDateHourMinute(value, program.mDateTime[index]) <= program.mNumbers[operand];
+                break;
+            case SplitProgram.OP_BETWEEN:
+                if (isLong(value)) {
+                    long number = asDateHourMinute(value, program.mDateTime[index]);
+                    result = number >= program.mNumbers[operand] && number <= program.mNumbers[operand + 1];
+                } else {
+                    result = false;
+                }
+                break;
+            case SplitProgram.OP_EQUAL_TO_BOOLEAN:
+                Boolean booleanValue = Transformers.asBoolean(value);
+                result = booleanValue != null && booleanValue == (program.mNumbers[operand] != 0);
+                break;
+            case SplitProgram.OP_MATCHER:
+                result = program.mMatchers[operand].match(value, bucketingKey, attributes, evaluator);
+                break;
+            default:
+                throw new IllegalStateException("Unknown opcode: " + program.mOpcodes[index]);
+        }
+        return result != program.mNegate[index];
+    }
+
+    private static boolean isLong(Object value) {
+        return Transformers.isLong(value);
+    }
+
+    private static long asDate(Object value, boolean isDateTime) {
+        long number = Transformers.longValue(value);
+        return isDateTime ? Transformers.truncateToDay(number) : number;
+    }
+
+    private static long asDateHourMinute(Object value, boolean isDateTime) {
+        long number = Transformers.longValue(value);
+        return isDateTime ? Transformers.truncateToMinute(number) : number;
+    }
+}
@@ -0,0 +1,223 @@
+package io.split.android.engine;
+
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.EvaluationResult;
+import io.split.android.client.SplitResult;
+import io.split.android.client.TreatmentLabels;
+import io.split.android.engine.experiments.KeyWhitelistIndex;
+import io.split.android.engine.matchers.DependencyMatcher;
+import io.split.android.engine.matchers.Matcher;
+
+/**
+ * Flat, array based representation of a parsed split.
+ * Conditions, matchers and partitions are lowered into parallel arrays
+ * plus constant pools so {@link SplitInterpreter} can evaluate a split
+ * without walking object graphs or allocating.
+ * <p>
+ * Instances are immutable and are built by
+ * {@link io.split.android.engine.experiments.SplitCompiler}.
+ */
+public final class SplitProgram {
+
+    public static final int OP_ALL_KEYS = 0;
+    public static final int OP_WHITELIST = 1;
+    public static final int OP_EQUAL_TO = 2;
+    public static final int OP_GREATER_THAN_OR_EQUAL_TO = 3;
+    public static final int OP_LESS_THAN_OR_EQUAL_TO = 4;
+    public static final int OP_BETWEEN = 5;
+    public static final int OP_EQUAL_TO_BOOLEAN = 6;
+    public static final int OP_MATCHER = 7;
+
+    public static final int NO_ROLLOUT_CONDITION = -1;
+
+    final long mChangeNumber;
+    final boolean mKilled;
+    final int mSeed;
+    final int mAlgo;
+    final int mTrafficAllocation;
+    final int mTrafficAllocationSeed;
+    final int mRolloutConditionIndex;
+    // Leading whitelist conditions resolved with a single lookup, may be null
+    final KeyWhitelistIndex mKeyWhitelistIndex;
+
+    // Conditions: matchers of condition i are in [mConditionStart[i], mConditionStart[i + 1])
+    final int[] mConditionStart;
+    final int[][] mBucketTreatments;
+    final int[] mFixedTreatment;
+
+    // Matchers
+    final int[] mOpcodes;
+    final int[] mOperands;
+    final boolean[] mNegate;
+    final boolean[] mDateTime;
+    final String[] mAttributes;
+    // Interned matcher ids, negative when results can't be shared
+    final int[] mMatcherIds;
+
+    // Constant pools
+    final long[] mNumbers;
+    final Set<String>[] mWhitelists;
+    final Matcher[] mMatchers;
+    private final boolean mHasDependencies;
+
+    // Outcome tables
+    final String[] mTreatments;
+    final String[] mConfigurations;
+    final String[] mLabels;
+    final int mDefaultTreatment;
+    final int mKilledLabel;
+    final int mNotInSplitLabel;
+    final int mDefaultRuleLabel;
+    // Results by outcome, created on first use. They are immutable so
+    // an unsynchronized race can only create the same result twice.
+    private final EvaluationResult[] mResults;
+    // Shared by the results of a treatment, so its config is parsed once
+    private final SplitResult[] mSplitResults;
+    private final Long mBoxedChangeNumber;
+
+    public SplitProgram(long changeNumber,
+                        boolean killed,
+                        int seed,
+                        int algo,
+                        int trafficAllocation,
+                        int trafficAllocationSeed,
+                        int rolloutConditionIndex,
+                        KeyWhitelistIndex keyWhitelistIndex,
+                        int[] conditionStart,
+                        int[][] bucketTreatments,
+                        int[] fixedTreatment,
+                        int[] opcodes,
+                        int[] operands,
+                        boolean[] negate,
+                        boolean[] dateTime,
+                        String[] attributes,
+                        int[] matcherIds,
+                        long[] numbers,
+                        Set<String>[] whitelists,
+                        Matcher[] matchers,
+                        String[] treatments,
+                        String[] labels,
+                        int defaultTreatment,
+                        Map<String, String> configurations) {
+        mChangeNumber = changeNumber;
+        mKilled = killed;
+        mSeed = seed;
+        mAlgo = algo;
+        mTrafficAllocation = trafficAllocation;
+        mTrafficAllocationSeed = trafficAllocationSeed;
+        mRolloutConditionIndex = rolloutConditionIndex;
+        mKeyWhitelistIndex = keyWhitelistIndex;
+        mConditionStart = conditionStart;
+        mBucketTreatments = bucketTreatments;
+        mFixedTreatment = fixedTreatment;
+        mOpcodes = opcodes;
+        mOperands = operands;
+        mNegate = negate;
+        mDateTime = dateTime;
+        mAttributes = attributes;
+        mMatcherIds = matcherIds;
+        mNumbers = numbers;
+        mWhitelists = whitelists;
+        mMatchers = matchers;
+        mHasDependencies = hasDependencies(matchers);
+        mTreatments = treatments;
+        mDefaultTreatment = defaultTreatment;
+
+        int conditionCount = conditionStart.length - 1;
+        mLabels = new String[conditionCount + 3];
+        System.arraycopy(labels, 0, mLabels, 0, conditionCount);
+        mKilledLabel = conditionCount;
+        mNotInSplitLabel = conditionCount + 1;
+        mDefaultRuleLabel = conditionCount + 2;
+        mLabels[mKilledLabel] = TreatmentLabels.KILLED;
+        mLabels[mNotInSplitLabel] = TreatmentLabels.NOT_IN_SPLIT;
+        mLabels[mDefaultRuleLabel] = TreatmentLabels.DEFAULT_RULE;
+
+        mConfigurations = new String[treatments.length];
+        if (configurations != null) {
+            for (int i = 0; i < treatments.length; i++) {
+                mConfigurations[i] = configurations.get(treatments[i]);
+            }
+        }
+        mResults = new EvaluationResult[mLabels.length * treatments.length];
+        mSplitResults = new SplitResult[treatments.length];
+        mBoxedChangeNumber = changeNumber;
+    }
+
+    public long changeNumber() {
+        return mChangeNumber;
+    }
+
+    public int conditionCount() {
+        return mConditionStart.length - 1;
+    }
+
+    public int matcherCount() {
+        return mOpcodes.length;
+    }
+
+    /**
+     * @return true when a matcher evaluates other splits through the evaluator
+     */
+    public boolean hasDependencies() {
+        return mHasDependencies;
+    }
+
+    /**
+     * Treatment for an outcome returned by {@link SplitInterpreter#evaluate}
+     */
+    public String treatment(int outcome) {
+        return mTreatments[outcome & SplitInterpreter.TREATMENT_MASK];
+    }
+
+    /**
+     * Label for an outcome returned by {@link SplitInterpreter#evaluate}
+     */
+    public String label(int outcome) {
+        return mLabels[outcome >>> SplitInterpreter.LABEL_SHIFT];
+    }
+
+    /**
+     * Dynamic configuration for the treatment of an outcome
+     * returned by {@link SplitInterpreter#evaluate}
+     */
+    public String configurations(int outcome) {
+        return mConfigurations[outcome & SplitInterpreter.TREATMENT_MASK];
+    }
+
+    /**
+     * Result for an outcome returned by {@link SplitInterpreter#evaluate}.
+     * The same instance is returned each time the outcome is repeated.
+     */
+    public EvaluationResult result(int outcome) {
+        int index = (outcome >>> SplitInterpreter.LABEL_SHIFT) * mTreatments.length
+                + (outcome & SplitInterpreter.TREATMENT_MASK);
+        EvaluationResult result = mResults[index];
+        if (result == null) {
+            result = new EvaluationResult(label(outcome), mBoxedChangeNumber, splitResult(outcome));
+            mResults[index] = result;
+        }
+        return result;
+    }
+
+    private SplitResult splitResult(int outcome) {
+        int treatment = outcome & SplitInterpreter.TREATMENT_MASK;
+        SplitResult splitResult = mSplitResults[treatment];
+        if (splitResult == null) {
+            splitResult = new SplitResult(mTreatments[treatment], mConfigurations[treatment]);
+            mSplitResults[treatment] = splitResult;
+        }
+        return splitResult;
+    }
+
+    private static boolean hasDependencies(Matcher[] matchers) {
+        for (Matcher matcher : matchers) {
+            if (matcher instanceof DependencyMatcher) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
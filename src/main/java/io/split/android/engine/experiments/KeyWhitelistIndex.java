@@ -0,0 +1,141 @@
+package io.split.android.engine.experiments;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single index for a leading run of key whitelist conditions.
+ * Maps each key to the conditions whitelisting it, so the first matching
+ * condition, and from it the label and treatment, is found in one lookup
+ * instead of probing every whitelist in order.
+ * Whitelists of the merged conditions are exposed as read only views
+ * over the index so keys aren't stored twice.
+ */
+public final class KeyWhitelistIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    // Value is the Integer index of the only condition whitelisting the key,
+    // or a sorted int[] when several conditions do.
+    private final Map<String, Object> mConditions;
+    private final int[] mSizes;
+
+    KeyWhitelistIndex(List<? extends Collection<String>> whitelists) {
+        int keyCount = 0;
+        for (Collection<String> whitelist : whitelists) {
+            keyCount += whitelist.size();
+        }
+        mConditions = new HashMap<>(Math.max(16, keyCount * 4 / 3 + 1));
+        mSizes = new int[whitelists.size()];
+        for (int condition = 0; condition < whitelists.size(); condition++) {
+            for (String key : whitelists.get(condition)) {
+                if (add(key, condition)) {
+                    mSizes[condition]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of leading conditions merged in this index
+     */
+    public int conditionCount() {
+        return mSizes.length;
+    }
+
+    /**
+     * @return index of the first condition whitelisting the key, or {@link #NOT_FOUND}
+     */
+    public int firstConditionOf(String key) {
+        Object conditions = mConditions.get(key);
+        if (conditions == null) {
+            return NOT_FOUND;
+        }
+        if (conditions instanceof Integer) {
+            return (Integer) conditions;
+        }
+        return ((int[]) conditions)[0];
+    }
+
+    Set<String> whitelist(int condition) {
+        return new ConditionWhitelist(condition);
+    }
+
+    private boolean add(String key, int condition) {
+        Object conditions = mConditions.get(key);
+        if (conditions == null) {
+            mConditions.put(key, condition);
+            return true;
+        }
+        if (conditions instanceof Integer) {
+            if ((Integer) conditions == condition) {
+                return false;
+            }
+            mConditions.put(key, new int[]{(Integer) conditions, condition});
+            return true;
+        }
+        int[] current = (int[]) conditions;
+        // Conditions are added in order, so only the last one can be repeated
+        if (current[current.length - 1] == condition) {
+            return false;
+        }
+        int[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = condition;
+        mConditions.put(key, updated);
+        return true;
+    }
+
+    private boolean isWhitelisted(Object conditions, int condition) {
+        if (conditions == null) {
+            return false;
+        }
+        if (conditions instanceof Integer) {
+            return (Integer) conditions == condition;
+        }
+        return Arrays.binarySearch((int[]) conditions, condition) >= 0;
+    }
+
+    private final class ConditionWhitelist extends AbstractSet<String> {
+        private final int mCondition;
+
+        ConditionWhitelist(int condition) {
+            mCondition = condition;
+        }
+
+        @SuppressWarnings("SuspiciousMethodCalls")
+        @Override
+        public boolean contains(Object o) {
+            return isWhitelisted(mConditions.get(o), mCondition);
+        }
+
+        @Override
+        public int size() {
+            return mSizes[mCondition];
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<Map.Entry<String, Object>> entries = mConditions.entrySet().iterator();
+            return new AbstractIterator<String>() {
+                @Override
+                protected String computeNext() {
+                    while (entries.hasNext()) {
+                        Map.Entry<String, Object> entry = entries.next();
+                        if (isWhitelisted(entry.getValue(), mCondition)) {
+                            return entry.getKey();
+                        }
+                    }
+                    return endOfData();
+                }
+            };
+        }
+    }
+}
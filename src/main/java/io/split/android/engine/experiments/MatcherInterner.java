@@ -0,0 +1,99 @@
+package io.split.android.engine.experiments;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.engine.matchers.AttributeMatcher;
+
+/**
+ * Keeps a single instance of structurally equal attribute matchers
+ * across every split parsed by the same parser, and gives each one a stable id.
+ * Ids are dense so evaluations can keep per call results in a bitset
+ * and compute a matcher shared by several splits only once.
+ * Once {@link #MAX_SIZE} matchers are interned new ones get no id.
+ * Entries are never removed, so ids are never reused while splits parsed
+ * with them are alive. Instead the interner tracks the entries used by the
+ * last parse of each split, and the parser replaces it with an empty one,
+ * of the next generation, when most entries belong to replaced splits.
+ */
+final class MatcherInterner {
+
+    static final int NO_ID = -1;
+    static final int MAX_SIZE = 10000;
+    static final int MIN_REBUILD_SIZE = 1000;
+
+    private final int mGeneration;
+    private final Map<AttributeMatcher, Entry> mEntries = new HashMap<>();
+    private final Map<String, List<Entry>> mSplitEntries = new HashMap<>();
+    private int mLiveCount = 0;
+
+    MatcherInterner(int generation) {
+        mGeneration = generation;
+    }
+
+    int generation() {
+        return mGeneration;
+    }
+
+    synchronized Entry intern(AttributeMatcher matcher) {
+        Entry entry = mEntries.get(matcher);
+        if (entry != null) {
+            return entry;
+        }
+        if (mEntries.size() >= MAX_SIZE) {
+            return new Entry(matcher, NO_ID);
+        }
+        entry = new Entry(matcher, mEntries.size());
+        mEntries.put(matcher, entry);
+        return entry;
+    }
+
+    /**
+     * Records the entries used by the last parse of a split,
+     * the ones used by its previous parse are no longer live unless shared
+     */
+    synchronized void retain(String splitName, List<Entry> entries) {
+        for (Entry entry : entries) {
+            if (entry.id != NO_ID && entry.refCount++ == 0) {
+                mLiveCount++;
+            }
+        }
+        List<Entry> previousEntries = mSplitEntries.put(splitName, entries);
+        if (previousEntries == null) {
+            return;
+        }
+        for (Entry entry : previousEntries) {
+            if (entry.id != NO_ID && --entry.refCount == 0) {
+                mLiveCount--;
+            }
+        }
+    }
+
+    /**
+     * @return true when more than half of the entries aren't used by any split
+     */
+    synchronized boolean needsRebuild() {
+        int size = mEntries.size();
+        return size >= MIN_REBUILD_SIZE && size > 2 * mLiveCount;
+    }
+
+    /**
+     * @return upper bound of the ids given until now
+     */
+    synchronized int size() {
+        return mEntries.size();
+    }
+
+    static final class Entry {
+        final AttributeMatcher matcher;
+        final int id;
+        // Number of splits whose last parse uses this entry, guarded by the interner
+        private int refCount;
+
+        Entry(AttributeMatcher matcher, int id) {
+            this.matcher = matcher;
+            this.id = id;
+        }
+    }
+}
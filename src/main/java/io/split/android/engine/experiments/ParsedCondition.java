@@ -3,6 +3,7 @@ package io.split.android.engine.experiments;
 import io.split.android.client.dtos.ConditionType;
 import io.split.android.client.dtos.Partition;
 import io.split.android.engine.matchers.CombiningMatcher;
+import io.split.android.engine.splitter.Splitter;
 
 import java.util.List;
 
@@ -15,12 +16,14 @@ public final class ParsedCondition {
     private final CombiningMatcher _matcher;
     private final List<Partition> _partitions;
     private final String _label;
+    private final String[] _bucketTreatments;
 
     public ParsedCondition(ConditionType conditionType, CombiningMatcher matcher, List<Partition> partitions, String label) {
         _conditionType = conditionType;
         _matcher = matcher;
         _partitions = partitions;
         _label = label;
+        _bucketTreatments = (partitions != null ? Splitter.bucketTreatments(partitions) : null);
     }
 
 
@@ -40,6 +43,15 @@ public final class ParsedCondition {
         return _label;
     }
 
+    /**
+     * Bucket to treatment table built from partitions.
+     * Index i has the treatment for bucket i + 1.
+     * Null when the condition has no partitions.
+     */
+    public String[] bucketTreatments() {
+        return _bucketTreatments;
+    }
+
     @Override
     public int hashCode() {
         int result = 17;
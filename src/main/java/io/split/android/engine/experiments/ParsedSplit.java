@@ -5,6 +5,8 @@ import com.google.common.collect.ImmutableList;
 import java.util.List;
 import java.util.Map;
 
+import io.split.android.engine.SplitProgram;
+
 /**
  * a value class representing an io.codigo.dtos.Experiment. Why are we not using
  * that class? Because it does not have the logic of matching. ParsedExperiment
@@ -14,6 +16,8 @@ import java.util.Map;
 @SuppressWarnings("RedundantCast")
 public class ParsedSplit {
 
+    public static final int NO_MATCHER_GENERATION = -1;
+
     private final String _split;
     private final int _seed;
     private final boolean _killed;
@@ -25,6 +29,10 @@ public class ParsedSplit {
     private final int _trafficAllocationSeed;
     private final int _algo;
     private final Map<String, String> _configurations;
+    private final KeyWhitelistIndex _keyWhitelistIndex;
+    private final int[] _matcherIds;
+    private final int _matcherGeneration;
+    private volatile SplitProgram _program;
 
     public ParsedSplit(
             String feature,
@@ -38,6 +46,26 @@ public class ParsedSplit {
             int trafficAllocationSeed,
             int algo,
             Map<String, String> configurations
+    ) {
+        this(feature, seed, killed, defaultTreatment, matcherAndSplits, trafficTypeName, changeNumber,
+                trafficAllocation, trafficAllocationSeed, algo, configurations, null, null, NO_MATCHER_GENERATION);
+    }
+
+    public ParsedSplit(
+            String feature,
+            int seed,
+            boolean killed,
+            String defaultTreatment,
+            List<ParsedCondition> matcherAndSplits,
+            String trafficTypeName,
+            long changeNumber,
+            int trafficAllocation,
+            int trafficAllocationSeed,
+            int algo,
+            Map<String, String> configurations,
+            KeyWhitelistIndex keyWhitelistIndex,
+            int[] matcherIds,
+            int matcherGeneration
     ) {
         _split = feature;
         _seed = seed;
@@ -48,6 +76,9 @@ public class ParsedSplit {
         _changeNumber = changeNumber;
         _algo = algo;
         _configurations = configurations;
+        _keyWhitelistIndex = keyWhitelistIndex;
+        _matcherIds = matcherIds;
+        _matcherGeneration = matcherGeneration;
 
         if (_defaultTreatment == null) {
             throw new IllegalArgumentException("DefaultTreatment is null");
@@ -101,6 +132,43 @@ public class ParsedSplit {
         return _configurations;
     }
 
+    /**
+     * Index of the leading key whitelist conditions, null if they weren't merged
+     */
+    public KeyWhitelistIndex keyWhitelistIndex() {
+        return _keyWhitelistIndex;
+    }
+
+    /**
+     * Interned ids of the attribute matchers of every condition, in order.
+     * Null if matchers weren't interned.
+     */
+    public int[] matcherIds() {
+        return _matcherIds;
+    }
+
+    /**
+     * Generation of the interner that gave the matcher ids,
+     * results of matchers can only be shared between splits of the same generation.
+     */
+    public int matcherGeneration() {
+        return _matcherGeneration;
+    }
+
+    /**
+     * Compiled version of this split. It is built on first use.
+     * Concurrent first calls may compile it more than once,
+     * which is harmless because programs are immutable.
+     */
+    public SplitProgram program() {
+        SplitProgram program = _program;
+        if (program == null) {
+            program = SplitCompiler.compile(this);
+            _program = program;
+        }
+        return program;
+    }
+
     @Override
     public int hashCode() {
         int result = 17;
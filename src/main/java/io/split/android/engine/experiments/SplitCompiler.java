@@ -0,0 +1,211 @@
+package io.split.android.engine.experiments;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.DataType;
+import io.split.android.engine.SplitProgram;
+import io.split.android.engine.matchers.AllKeysMatcher;
+import io.split.android.engine.matchers.AttributeMatcher;
+import io.split.android.engine.matchers.BetweenMatcher;
+import io.split.android.engine.matchers.BooleanMatcher;
+import io.split.android.engine.matchers.EqualToMatcher;
+import io.split.android.engine.matchers.GreaterThanOrEqualToMatcher;
+import io.split.android.engine.matchers.LessThanOrEqualToMatcher;
+import io.split.android.engine.matchers.Matcher;
+import io.split.android.engine.matchers.strings.WhitelistMatcher;
+
+/**
+ * Lowers a {@link ParsedSplit} into a {@link SplitProgram}.
+ * Matchers with a trivial implementation (all keys, whitelist, numeric
+ * and boolean comparisons) become opcodes over constant pools. The rest
+ * are kept as matcher instances and invoked by the interpreter.
+ * Bucket to treatment tables of each condition are translated
+ * to treatment indexes so no partition walk is needed when evaluating.
+ */
+public final class SplitCompiler {
+
+    private SplitCompiler() {
+    }
+
+    public static SplitProgram compile(ParsedSplit split) {
+        List<ParsedCondition> conditions = split.parsedConditions();
+        int conditionCount = conditions.size();
+
+        TreatmentsPool treatments = new TreatmentsPool();
+        int defaultTreatment = treatments.indexOf(split.defaultTreatment());
+
+        int matcherCount = 0;
+        for (ParsedCondition condition : conditions) {
+            matcherCount += condition.matcher().attributeMatchers().size();
+        }
+
+        int[] conditionStart = new int[conditionCount + 1];
+        int[][] bucketTreatments = new int[conditionCount][];
+        int[] fixedTreatment = new int[conditionCount];
+        String[] labels = new String[conditionCount];
+        int rolloutConditionIndex = SplitProgram.NO_ROLLOUT_CONDITION;
+
+        int[] opcodes = new int[matcherCount];
+        int[] operands = new int[matcherCount];
+        boolean[] negate = new boolean[matcherCount];
+        boolean[] dateTime = new boolean[matcherCount];
+        String[] attributes = new String[matcherCount];
+        int[] matcherIds = split.matcherIds();
+        if (matcherIds == null || matcherIds.length != matcherCount) {
+            matcherIds = new int[matcherCount];
+            Arrays.fill(matcherIds, MatcherInterner.NO_ID);
+        }
+
+        List<Long> numbers = new ArrayList<>();
+        List<Set<String>> whitelists = new ArrayList<>();
+        List<Matcher> matchers = new ArrayList<>();
+
+        int matcherIndex = 0;
+        for (int i = 0; i < conditionCount; i++) {
+            ParsedCondition condition = conditions.get(i);
+            if (rolloutConditionIndex == SplitProgram.NO_ROLLOUT_CONDITION
+                    && condition.conditionType() == ConditionType.ROLLOUT) {
+                rolloutConditionIndex = i;
+            }
+            labels[i] = condition.label();
+            conditionStart[i] = matcherIndex;
+
+            for (AttributeMatcher attributeMatcher : condition.matcher().attributeMatchers()) {
+                AttributeMatcher.NegatableMatcher negatableMatcher =
+                        (AttributeMatcher.NegatableMatcher) attributeMatcher.matcher();
+                Matcher delegate = negatableMatcher.delegate();
+
+                attributes[matcherIndex] = attributeMatcher.attribute();
+                negate[matcherIndex] = negatableMatcher.negate();
+
+                if (delegate instanceof AllKeysMatcher) {
+                    opcodes[matcherIndex] = SplitProgram.OP_ALL_KEYS;
+                } else if (delegate instanceof WhitelistMatcher) {
+                    opcodes[matcherIndex] = SplitProgram.OP_WHITELIST;
+                    operands[matcherIndex] = whitelists.size();
+                    whitelists.add(((WhitelistMatcher) delegate).whitelist());
+                } else if (delegate instanceof EqualToMatcher) {
+                    EqualToMatcher matcher = (EqualToMatcher) delegate;
+                    opcodes[matcherIndex] = SplitProgram.OP_EQUAL_TO;
+                    operands[matcherIndex] = numbers.size();
+                    dateTime[matcherIndex] = matcher.dataType() == DataType.DATETIME;
+                    numbers.add(matcher.normalizedCompareTo());
+                } else if (delegate instanceof GreaterThanOrEqualToMatcher) {
+                    GreaterThanOrEqualToMatcher matcher = (GreaterThanOrEqualToMatcher) delegate;
+                    opcodes[matcherIndex] = SplitProgram.OP_GREATER_THAN_OR_EQUAL_TO;
+                    operands[matcherIndex] = numbers.size();
+                    dateTime[matcherIndex] = matcher.dataType() == DataType.DATETIME;
+                    numbers.add(matcher.normalizedCompareTo());
+                } else if (delegate instanceof LessThanOrEqualToMatcher) {
+                    LessThanOrEqualToMatcher matcher = (LessThanOrEqualToMatcher) delegate;
+                    opcodes[matcherIndex] = SplitProgram.OP_LESS_THAN_OR_EQUAL_TO;
+                    operands[matcherIndex] = numbers.size();
+                    dateTime[matcherIndex] = matcher.dataType() == DataType.DATETIME;
+                    numbers.add(matcher.normalizedCompareTo());
+                } else if (delegate instanceof BetweenMatcher) {
+                    BetweenMatcher matcher = (BetweenMatcher) delegate;
+                    opcodes[matcherIndex] = SplitProgram.OP_BETWEEN;
+                    operands[matcherIndex] = numbers.size();
+                    dateTime[matcherIndex] = matcher.dataType() == DataType.DATETIME;
+                    numbers.add(matcher.normalizedStart());
+                    numbers.add(matcher.normalizedEnd());
+                } else if (delegate instanceof BooleanMatcher) {
+                    opcodes[matcherIndex] = SplitProgram.OP_EQUAL_TO_BOOLEAN;
+                    operands[matcherIndex] = numbers.size();
+                    numbers.add(((BooleanMatcher) delegate).booleanValue() ? 1L : 0L);
+                } else {
+                    opcodes[matcherIndex] = SplitProgram.OP_MATCHER;
+                    operands[matcherIndex] = matchers.size();
+                    matchers.add(delegate);
+                }
+                matcherIndex++;
+            }
+
+            String[] conditionBucketTreatments = condition.bucketTreatments();
+            if (conditionBucketTreatments == null) {
+                // Fails on evaluation, same as the splitter does
+                fixedTreatment[i] = -1;
+                continue;
+            }
+            bucketTreatments[i] = bucketTable(conditionBucketTreatments, treatments);
+            fixedTreatment[i] = fixedTreatment(bucketTreatments[i]);
+        }
+        conditionStart[conditionCount] = matcherIndex;
+
+        long[] numbersPool = new long[numbers.size()];
+        for (int i = 0; i < numbersPool.length; i++) {
+            numbersPool[i] = numbers.get(i);
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String>[] whitelistsPool = whitelists.toArray(new Set[0]);
+
+        return new SplitProgram(
+                split.changeNumber(),
+                split.killed(),
+                split.seed(),
+                split.algo(),
+                split.trafficAllocation(),
+                split.trafficAllocationSeed(),
+                rolloutConditionIndex,
+                split.keyWhitelistIndex(),
+                conditionStart,
+                bucketTreatments,
+                fixedTreatment,
+                opcodes,
+                operands,
+                negate,
+                dateTime,
+                attributes,
+                matcherIds,
+                numbersPool,
+                whitelistsPool,
+                matchers.toArray(new Matcher[0]),
+                treatments.toArray(),
+                labels,
+                defaultTreatment,
+                split.configurations());
+    }
+
+    private static int[] bucketTable(String[] bucketTreatments, TreatmentsPool treatments) {
+        int[] table = new int[bucketTreatments.length];
+        for (int i = 0; i < bucketTreatments.length; i++) {
+            table[i] = treatments.indexOf(bucketTreatments[i]);
+        }
+        return table;
+    }
+
+    private static int fixedTreatment(int[] table) {
+        for (int treatment : table) {
+            if (treatment != table[0]) {
+                return -1;
+            }
+        }
+        return table[0];
+    }
+
+    private static class TreatmentsPool {
+        private final Map<String, Integer> mIndexes = new HashMap<>();
+        private final List<String> mTreatments = new ArrayList<>();
+
+        int indexOf(String treatment) {
+            Integer index = mIndexes.get(treatment);
+            if (index == null) {
+                index = mTreatments.size();
+                mIndexes.put(treatment, index);
+                mTreatments.add(treatment);
+            }
+            return index;
+        }
+
+        String[] toArray() {
+            return mTreatments.toArray(new String[0]);
+        }
+    }
+}
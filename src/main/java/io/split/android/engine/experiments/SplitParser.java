@@ -4,16 +4,22 @@ import androidx.annotation.Nullable;
 
 import com.google.common.collect.Lists;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
 import io.split.android.client.dtos.Matcher;
 import io.split.android.client.dtos.MatcherGroup;
+import io.split.android.client.dtos.MatcherType;
 import io.split.android.client.dtos.Partition;
 import io.split.android.client.dtos.Split;
 import io.split.android.client.dtos.Status;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.utils.Logger;
+import io.split.android.engine.MatcherResults;
 import io.split.android.engine.matchers.AllKeysMatcher;
 import io.split.android.engine.matchers.AttributeMatcher;
 import io.split.android.engine.matchers.BetweenMatcher;
@@ -45,8 +51,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class SplitParser {
 
     public static final int CONDITIONS_UPPER_LIMIT = 50;
+    private static final int MIN_MERGED_WHITELIST_CONDITIONS = 2;
 
     private MySegmentsStorage mMySegmentsStorage;
+    // Replaced by a new generation when most of its matchers belong to replaced splits
+    private volatile MatcherInterner mMatcherInterner = new MatcherInterner(0);
 
     public static SplitParser get(MySegmentsStorage mySegmentsStorage) {
         return new SplitParser(mySegmentsStorage);
@@ -80,30 +89,186 @@ public final class SplitParser {
             return null;
         }
 
+        MatcherInterner matcherInterner = currentMatcherInterner();
         List<ParsedCondition> parsedConditionList = Lists.newArrayList();
+        List<Integer> matcherIds = Lists.newArrayList();
+        List<MatcherInterner.Entry> matcherEntries = Lists.newArrayList();
+        KeyWhitelistIndex keyWhitelistIndex = keyWhitelistIndex(split.conditions);
+        int mergedConditions = (keyWhitelistIndex != null) ? keyWhitelistIndex.conditionCount() : 0;
 
-        for (Condition condition : split.conditions) {
+        for (int i = 0; i < split.conditions.size(); i++) {
+            Condition condition = split.conditions.get(i);
             List<Partition> partitions = condition.partitions;
-            CombiningMatcher matcher = toMatcher(condition.matcherGroup);
+            CombiningMatcher matcher;
+            if (i < mergedConditions) {
+                matcher = new CombiningMatcher(condition.matcherGroup.combiner, Lists.newArrayList(
+                        new AttributeMatcher(null, WhitelistMatcher.sharing(keyWhitelistIndex.whitelist(i)), false)));
+                // Resolved by the index, not worth interning
+                matcherIds.add(MatcherInterner.NO_ID);
+            } else {
+                matcher = toMatcher(condition.matcherGroup, matcherInterner, matcherIds, matcherEntries);
+            }
             parsedConditionList.add(new ParsedCondition(condition.conditionType, matcher, partitions, condition.label));
         }
 
-        return new ParsedSplit(split.name, split.seed, split.killed, split.defaultTreatment, parsedConditionList, split.trafficTypeName, split.changeNumber, split.trafficAllocation, split.trafficAllocationSeed, split.algo, split.configurations);
+        matcherInterner.retain(split.name, matcherEntries);
+
+        return new ParsedSplit(split.name, split.seed, split.killed, split.defaultTreatment, parsedConditionList, split.trafficTypeName, split.changeNumber, split.trafficAllocation, split.trafficAllocationSeed, split.algo, split.configurations, keyWhitelistIndex, toIntArray(matcherIds), matcherInterner.generation());
+    }
+
+    /**
+     * Number of distinct attribute matchers interned by the current generation,
+     * ids of matchers in splits parsed with it are lower than this value
+     */
+    public int internedMatcherCount() {
+        return mMatcherInterner.size();
+    }
+
+    /**
+     * @return true if the split was parsed with the current generation of matcher ids
+     */
+    public boolean hasCurrentMatcherIds(ParsedSplit parsedSplit) {
+        return parsedSplit.matcherGeneration() == mMatcherInterner.generation();
+    }
+
+    /**
+     * Results to share matchers between splits parsed with the current generation of ids
+     */
+    public MatcherResults newMatcherResults() {
+        MatcherInterner matcherInterner = mMatcherInterner;
+        return new MatcherResults(matcherInterner.generation(), matcherInterner.size());
+    }
+
+    private synchronized MatcherInterner currentMatcherInterner() {
+        if (mMatcherInterner.needsRebuild()) {
+            mMatcherInterner = new MatcherInterner(mMatcherInterner.generation() + 1);
+        }
+        return mMatcherInterner;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Splits targeting keys usually start with one whitelist condition per treatment.
+     * When there are several of them they are merged in a single index, so
+     * evaluation does one lookup instead of probing each whitelist in order.
+     * Only un-negated whitelists on the key are merged, and the run stops
+     * at the first condition that isn't one, preserving the evaluation order.
+     * @return null when there aren't enough leading whitelist conditions to merge
+     */
+    private KeyWhitelistIndex keyWhitelistIndex(List<Condition> conditions) {
+        List<Collection<String>> whitelists = Lists.newArrayList();
+        for (Condition condition : conditions) {
+            Collection<String> whitelist = keyWhitelist(condition);
+            if (whitelist == null) {
+                break;
+            }
+            whitelists.add(whitelist);
+        }
+        if (whitelists.size() < MIN_MERGED_WHITELIST_CONDITIONS) {
+            return null;
+        }
+        return new KeyWhitelistIndex(whitelists);
+    }
+
+    private static @Nullable Collection<String> keyWhitelist(Condition condition) {
+        if (condition.conditionType != ConditionType.WHITELIST
+                || condition.matcherGroup == null
+                || condition.matcherGroup.matchers == null
+                || condition.matcherGroup.matchers.size() != 1) {
+            return null;
+        }
+        Matcher matcher = condition.matcherGroup.matchers.get(0);
+        if (matcher.matcherType != MatcherType.WHITELIST
+                || matcher.negate
+                || matcher.whitelistMatcherData == null
+                || matcher.whitelistMatcherData.whitelist == null
+                || (matcher.keySelector != null && matcher.keySelector.attribute != null)) {
+            return null;
+        }
+        return matcher.whitelistMatcherData.whitelist;
     }
 
-    private CombiningMatcher toMatcher(MatcherGroup matcherGroup) {
+    /**
+     * Attribute matchers are interned, so structurally equal matchers
+     * of different splits are a single instance with the same id.
+     */
+    private CombiningMatcher toMatcher(MatcherGroup matcherGroup, MatcherInterner matcherInterner,
+                                       List<Integer> matcherIds, List<MatcherInterner.Entry> matcherEntries) {
         List<Matcher> matchers = matcherGroup.matchers;
         checkArgument(!matchers.isEmpty());
 
         List<AttributeMatcher> toCombine = Lists.newArrayList();
 
-        for (Matcher matcher : matchers) {
-            toCombine.add(toMatcher(matcher));
+        for (Matcher matcher : byEvaluationCost(matchers)) {
+            MatcherInterner.Entry entry = matcherInterner.intern(toMatcher(matcher));
+            toCombine.add(entry.matcher);
+            matcherIds.add(entry.id);
+            matcherEntries.add(entry);
         }
 
         return new CombiningMatcher(matcherGroup.combiner, toCombine);
     }
 
+    /**
+     * Matchers are side effect free and combined using AND,
+     * so they can be evaluated in any order. Cheaper ones are moved first
+     * to avoid running expensive ones when a condition fails early.
+     * Sorting is stable so matchers with the same cost keep the original order.
+     */
+    private List<Matcher> byEvaluationCost(List<Matcher> matchers) {
+        if (matchers.size() < 2) {
+            return matchers;
+        }
+        List<Matcher> sorted = Lists.newArrayList(matchers);
+        Collections.sort(sorted, new Comparator<Matcher>() {
+            @Override
+            public int compare(Matcher m1, Matcher m2) {
+                return Integer.compare(evaluationCost(m1.matcherType), evaluationCost(m2.matcherType));
+            }
+        });
+        return sorted;
+    }
+
+    private static int evaluationCost(MatcherType matcherType) {
+        if (matcherType == null) {
+            return Integer.MAX_VALUE;
+        }
+        switch (matcherType) {
+            case ALL_KEYS:
+            case IN_SEGMENT:
+            case EQUAL_TO_BOOLEAN:
+                return 0;
+            case EQUAL_TO:
+            case GREATER_THAN_OR_EQUAL_TO:
+            case LESS_THAN_OR_EQUAL_TO:
+            case BETWEEN:
+                return 1;
+            case WHITELIST:
+            case EQUAL_TO_SET:
+            case CONTAINS_ANY_OF_SET:
+            case CONTAINS_ALL_OF_SET:
+            case PART_OF_SET:
+                return 2;
+            case STARTS_WITH:
+            case ENDS_WITH:
+            case CONTAINS_STRING:
+                return 3;
+            case MATCHES_STRING:
+                return 4;
+            case IN_SPLIT_TREATMENT:
+                return 5;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
 
     private AttributeMatcher toMatcher(Matcher matcher) {
         io.split.android.engine.matchers.Matcher delegate;
@@ -113,7 +278,7 @@ public final class SplitParser {
                 break;
             case IN_SEGMENT:
                 checkNotNull(matcher.userDefinedSegmentMatcherData);
-                delegate = new MySegmentsMatcher(mMySegmentsStorage.getAll(), matcher.userDefinedSegmentMatcherData.segmentName);
+                delegate = new MySegmentsMatcher(mMySegmentsStorage, matcher.userDefinedSegmentMatcherData.segmentName);
                 break;
             case WHITELIST:
                 checkNotNull(matcher.whitelistMatcherData);
@@ -112,6 +112,10 @@ public final class AttributeMatcher {
             return _delegate;
         }
 
+        public boolean negate() {
+            return _negate;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
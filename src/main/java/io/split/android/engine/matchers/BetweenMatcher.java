@@ -17,15 +17,14 @@ public class BetweenMatcher implements Matcher {
 
     private final DataType _dataType;
 
-    @SuppressWarnings("ConstantConditions")
     public BetweenMatcher(long start, long end, DataType dataType) {
         _start = start;
         _end = end;
         _dataType = dataType;
 
         if (_dataType == DataType.DATETIME) {
-            _normalizedStart = Transformers.asDateHourMinute(_start);
-            _normalizedEnd = Transformers.asDateHourMinute(_end);
+            _normalizedStart = Transformers.truncateToMinute(_start);
+            _normalizedEnd = Transformers.truncateToMinute(_end);
         } else {
             _normalizedStart = _start;
             _normalizedEnd = _end;
@@ -34,19 +33,28 @@ public class BetweenMatcher implements Matcher {
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        Long keyAsLong;
+        if (!Transformers.isLong(matchValue)) {
+            return false;
+        }
 
+        long value = Transformers.longValue(matchValue);
         if (_dataType == DataType.DATETIME) {
-            keyAsLong = Transformers.asDateHourMinute(matchValue);
-        } else {
-            keyAsLong = Transformers.asLong(matchValue);
+            value = Transformers.truncateToMinute(value);
         }
 
-        if (keyAsLong == null) {
-            return false;
-        }
+        return value >= _normalizedStart && value <= _normalizedEnd;
+    }
+
+    public long normalizedStart() {
+        return _normalizedStart;
+    }
+
+    public long normalizedEnd() {
+        return _normalizedEnd;
+    }
 
-        return keyAsLong >= _normalizedStart && keyAsLong <= _normalizedEnd;
+    public DataType dataType() {
+        return _dataType;
     }
 
     @Override
@@ -59,6 +67,7 @@ public class BetweenMatcher implements Matcher {
         int result = 17;
         result = 31 * result + (int)(_start ^ (_start >>> 32));
         result = 31 * result + (int)(_end ^ (_end >>> 32));
+        result = 31 * result + (_dataType != null ? _dataType.hashCode() : 0);
         return result;
     }
 
@@ -70,7 +79,7 @@ public class BetweenMatcher implements Matcher {
 
         BetweenMatcher other = (BetweenMatcher) obj;
 
-        return _start == other._start && _end == other._end;
+        return _start == other._start && _end == other._end && _dataType == other._dataType;
     }
 
 }
@@ -50,11 +50,12 @@ public class CombiningMatcher {
     }
 
     private boolean and(String key, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        boolean result = true;
         for (AttributeMatcher delegate : _delegates) {
-            result &= (delegate.match(key, bucketingKey, attributes, evaluator));
+            if (!delegate.match(key, bucketingKey, attributes, evaluator)) {
+                return false;
+            }
         }
-        return result;
+        return true;
     }
 
     public ImmutableList<AttributeMatcher> attributeMatchers() {
@@ -11,13 +11,12 @@ public class EqualToMatcher implements Matcher {
     private final long _normalizedCompareTo;
     private final DataType _dataType;
 
-    @SuppressWarnings("ConstantConditions")
     public EqualToMatcher(long compareTo, DataType dataType) {
         _compareTo = compareTo;
         _dataType = dataType;
 
         if (_dataType == DataType.DATETIME) {
-            _normalizedCompareTo = Transformers.asDate(_compareTo);
+            _normalizedCompareTo = Transformers.truncateToDay(_compareTo);
         } else {
             _normalizedCompareTo = _compareTo;
         }
@@ -25,17 +24,26 @@ public class EqualToMatcher implements Matcher {
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        Long keyAsLong;
+        if (!Transformers.isLong(matchValue)) {
+            return false;
+        }
 
+        long value = Transformers.longValue(matchValue);
         if (_dataType == DataType.DATETIME) {
-            keyAsLong = Transformers.asDate(matchValue);
-        } else {
-            keyAsLong = Transformers.asLong(matchValue);
+            value = Transformers.truncateToDay(value);
         }
 
-        return keyAsLong != null && keyAsLong == _normalizedCompareTo;
+        return value == _normalizedCompareTo;
+    }
+
+
+    public long normalizedCompareTo() {
+        return _normalizedCompareTo;
     }
 
+    public DataType dataType() {
+        return _dataType;
+    }
 
     @Override
     public String toString() {
@@ -46,6 +54,7 @@ public class EqualToMatcher implements Matcher {
     public int hashCode() {
         int result = 17;
         result = 31 * result + (int)(_compareTo ^ (_compareTo >>> 32));
+        result = 31 * result + (_dataType != null ? _dataType.hashCode() : 0);
         return result;
     }
 
@@ -57,7 +66,7 @@ public class EqualToMatcher implements Matcher {
 
         EqualToMatcher other = (EqualToMatcher) obj;
 
-        return _compareTo == other._compareTo;
+        return _compareTo == other._compareTo && _dataType == other._dataType;
     }
 
 }
@@ -5,9 +5,6 @@ import io.split.android.client.dtos.DataType;
 
 import java.util.Map;
 
-import static io.split.android.engine.matchers.Transformers.asDateHourMinute;
-import static io.split.android.engine.matchers.Transformers.asLong;
-
 public class GreaterThanOrEqualToMatcher implements Matcher {
 
     private final long _compareTo;
@@ -19,8 +16,7 @@ public class GreaterThanOrEqualToMatcher implements Matcher {
         _dataType = dataType;
 
         if (_dataType == DataType.DATETIME) {
-            //noinspection ConstantConditions
-            _normalizedCompareTo = asDateHourMinute(_compareTo);
+            _normalizedCompareTo = Transformers.truncateToMinute(_compareTo);
         } else {
             _normalizedCompareTo = _compareTo;
         }
@@ -28,19 +24,24 @@ public class GreaterThanOrEqualToMatcher implements Matcher {
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        Long keyAsLong;
+        if (!Transformers.isLong(matchValue)) {
+            return false;
+        }
 
+        long value = Transformers.longValue(matchValue);
         if (_dataType == DataType.DATETIME) {
-            keyAsLong = asDateHourMinute(matchValue);
-        } else {
-            keyAsLong = asLong(matchValue);
+            value = Transformers.truncateToMinute(value);
         }
 
-        if (keyAsLong == null) {
-            return false;
-        }
+        return value >= _normalizedCompareTo;
+    }
+
+    public long normalizedCompareTo() {
+        return _normalizedCompareTo;
+    }
 
-        return keyAsLong >= _normalizedCompareTo;
+    public DataType dataType() {
+        return _dataType;
     }
 
     @Override
@@ -52,6 +53,7 @@ public class GreaterThanOrEqualToMatcher implements Matcher {
     public int hashCode() {
         int result = 17;
         result = 31 * result + (int)(_compareTo ^ (_compareTo >>> 32));
+        result = 31 * result + (_dataType != null ? _dataType.hashCode() : 0);
         return result;
     }
 
@@ -63,7 +65,7 @@ public class GreaterThanOrEqualToMatcher implements Matcher {
 
         GreaterThanOrEqualToMatcher other = (GreaterThanOrEqualToMatcher) obj;
 
-        return _compareTo == other._compareTo;
+        return _compareTo == other._compareTo && _dataType == other._dataType;
     }
 
 }
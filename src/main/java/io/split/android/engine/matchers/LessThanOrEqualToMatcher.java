@@ -15,8 +15,7 @@ public class LessThanOrEqualToMatcher implements Matcher {
         _dataType = dataType;
 
         if (_dataType == DataType.DATETIME) {
-            //noinspection ConstantConditions
-            _normalizedCompareTo = Transformers.asDateHourMinute(_compareTo);
+            _normalizedCompareTo = Transformers.truncateToMinute(_compareTo);
         } else {
             _normalizedCompareTo = _compareTo;
         }
@@ -24,19 +23,24 @@ public class LessThanOrEqualToMatcher implements Matcher {
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        Long keyAsLong;
+        if (!Transformers.isLong(matchValue)) {
+            return false;
+        }
 
+        long value = Transformers.longValue(matchValue);
         if (_dataType == DataType.DATETIME) {
-            keyAsLong = Transformers.asDateHourMinute(matchValue);
-        } else {
-            keyAsLong = Transformers.asLong(matchValue);
+            value = Transformers.truncateToMinute(value);
         }
 
-        if (keyAsLong == null) {
-            return false;
-        }
+        return value <= _normalizedCompareTo;
+    }
+
+    public long normalizedCompareTo() {
+        return _normalizedCompareTo;
+    }
 
-        return keyAsLong <= _normalizedCompareTo;
+    public DataType dataType() {
+        return _dataType;
     }
 
     @Override
@@ -48,6 +52,7 @@ public class LessThanOrEqualToMatcher implements Matcher {
     public int hashCode() {
         int result = 17;
         result = 31 * result + (int)(_compareTo ^ (_compareTo >>> 32));
+        result = 31 * result + (_dataType != null ? _dataType.hashCode() : 0);
         return result;
     }
 
@@ -59,7 +64,7 @@ public class LessThanOrEqualToMatcher implements Matcher {
 
         LessThanOrEqualToMatcher other = (LessThanOrEqualToMatcher) obj;
 
-        return _compareTo == other._compareTo;
+        return _compareTo == other._compareTo && _dataType == other._dataType;
     }
 
 }
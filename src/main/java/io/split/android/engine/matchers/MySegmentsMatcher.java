@@ -1,10 +1,10 @@
 package io.split.android.engine.matchers;
 
 import java.util.Map;
-import java.util.Set;
 
 import io.split.android.client.Evaluator;
-import io.split.android.engine.segments.MySegments;
+import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.SegmentMembership;
 
 /**
  * Created by guillermo on 12/12/17.
@@ -12,16 +12,52 @@ import io.split.android.engine.segments.MySegments;
 
 public class MySegmentsMatcher implements Matcher {
 
-    private Set<String> _mySegments;
+    private MySegmentsStorage _mySegmentsStorage;
     private String _segmentName;
+    private int _segmentId;
 
-    public MySegmentsMatcher(Set<String> mySegments, String segmentName) {
-        _mySegments = mySegments;
+    /**
+     * Segments are read from storage on each evaluation so parsed
+     * splits can be cached without holding a copy of the user segments.
+     * The segment id is resolved here so matching is a single bit test.
+     */
+    public MySegmentsMatcher(MySegmentsStorage mySegmentsStorage, String segmentName) {
+        _mySegmentsStorage = mySegmentsStorage;
         _segmentName = segmentName;
+        _segmentId = (segmentName != null ? mySegmentsStorage.segmentId(segmentName) : -1);
     }
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        return _mySegments.contains(_segmentName);
+        SegmentMembership membership = _mySegmentsStorage.getMembership();
+        if (membership == null) {
+            return _mySegmentsStorage.getAll().contains(_segmentName);
+        }
+        return membership.contains(_segmentId);
+    }
+
+    public String segmentName() {
+        return _segmentName;
+    }
+
+    @Override
+    public String toString() {
+        return "in segment " + _segmentName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MySegmentsMatcher that = (MySegmentsMatcher) o;
+
+        if (_mySegmentsStorage != that._mySegmentsStorage) return false;
+        return _segmentName != null ? _segmentName.equals(that._segmentName) : that._segmentName == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return _segmentName != null ? _segmentName.hashCode() : 0;
     }
 }
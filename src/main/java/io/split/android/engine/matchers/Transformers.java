@@ -2,16 +2,15 @@ package io.split.android.engine.matchers;
 
 import com.google.common.collect.Sets;
 
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
-import java.util.TimeZone;
 
 public class Transformers {
     private static Set<String> VALID_BOOLEAN_STRINGS = Sets.newHashSet("true", "false");
-    private static TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
 
     public static Long asLong(Object obj) {
         if (obj == null) {
@@ -30,32 +29,51 @@ public class Transformers {
     }
 
     public static Long asDate(Object obj) {
-        Calendar c = toCalendar(obj);
-
-        if (c == null) {
+        if (!isLong(obj)) {
             return null;
         }
-
-        c.set(Calendar.HOUR_OF_DAY, 0);
-        c.set(Calendar.MINUTE, 0);
-        c.set(Calendar.SECOND, 0);
-        c.set(Calendar.MILLISECOND, 0);
-
-        return c.getTimeInMillis();
+        return truncateToDay(longValue(obj));
     }
 
     public static Long asDateHourMinute(Object obj) {
-
-        Calendar c = toCalendar(obj);
-
-        if (c == null) {
+        if (!isLong(obj)) {
             return null;
         }
+        return truncateToMinute(longValue(obj));
+    }
+
+    /**
+     * Allocation free check for the values accepted by {@link #asLong(Object)}
+     */
+    public static boolean isLong(Object obj) {
+        return obj instanceof Integer || obj instanceof Long;
+    }
+
+    /**
+     * @param obj MUST satisfy {@link #isLong(Object)}
+     */
+    public static long longValue(Object obj) {
+        return ((Number) obj).longValue();
+    }
 
-        c.set(Calendar.SECOND, 0);
-        c.set(Calendar.MILLISECOND, 0);
+    /**
+     * Start of the UTC day, same than clearing hour, minute, second and millisecond
+     * of a UTC calendar. Floor division keeps dates before the epoch in their own day.
+     */
+    public static long truncateToDay(long millisecondsSinceEpoch) {
+        return millisecondsSinceEpoch - floorMod(millisecondsSinceEpoch, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Start of the UTC minute, same than clearing second and millisecond of a UTC calendar.
+     */
+    public static long truncateToMinute(long millisecondsSinceEpoch) {
+        return millisecondsSinceEpoch - floorMod(millisecondsSinceEpoch, MILLIS_PER_MINUTE);
+    }
 
-        return c.getTimeInMillis();
+    private static long floorMod(long value, long divisor) {
+        long mod = value % divisor;
+        return mod < 0 ? mod + divisor : mod;
     }
 
     public static Boolean asBoolean(Object obj) {
@@ -76,20 +94,6 @@ public class Transformers {
         return null;
     }
 
-    private static Calendar toCalendar(Object obj) {
-        Long millisecondsSinceEpoch = asLong(obj);
-
-        if (millisecondsSinceEpoch == null) {
-            return null;
-        }
-
-        Calendar c = Calendar.getInstance();
-        c.setTimeZone(UTC);
-        c.setTimeInMillis(millisecondsSinceEpoch);
-
-        return c;
-    }
-
 
     public static Set<String> toSetOfStrings(Collection key) {
         Set<String> result = new HashSet<String>(key.size());
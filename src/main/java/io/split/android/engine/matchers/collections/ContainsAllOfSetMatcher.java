@@ -2,7 +2,6 @@ package io.split.android.engine.matchers.collections;
 
 import io.split.android.client.Evaluator;
 import io.split.android.engine.matchers.Matcher;
-import io.split.android.engine.matchers.Transformers;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -11,12 +10,14 @@ import java.util.Set;
 
 public class ContainsAllOfSetMatcher implements Matcher {
     private final Set<String> _compareTo = new HashSet<>();
+    private final StringSetIndex _index;
 
     public ContainsAllOfSetMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _index = new StringSetIndex(_compareTo);
     }
 
     @Override
@@ -33,8 +34,7 @@ public class ContainsAllOfSetMatcher implements Matcher {
             return false;
         }
 
-        Set<String> keyAsSet = Transformers.toSetOfStrings((Collection) matchValue);
-        return keyAsSet.containsAll(_compareTo);
+        return _index.isCoveredBy((Collection<?>) matchValue);
     }
 
     @Override
@@ -8,17 +8,17 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import static io.split.android.engine.matchers.Transformers.toSetOfStrings;
-
 public class ContainsAnyOfSetMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final StringSetIndex _index;
 
     public ContainsAnyOfSetMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _index = new StringSetIndex(_compareTo);
     }
 
     @Override
@@ -31,10 +31,8 @@ public class ContainsAnyOfSetMatcher implements Matcher {
             return false;
         }
 
-        Set<String> keyAsSet = toSetOfStrings((Collection) matchValue);
-
-        for (String s : _compareTo) {
-            if ((keyAsSet.contains(s))) {
+        for (Object value : (Collection<?>) matchValue) {
+            if (_index.contains(StringSetIndex.asString(value))) {
                 return true;
             }
         }
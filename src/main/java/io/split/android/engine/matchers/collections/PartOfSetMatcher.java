@@ -2,7 +2,6 @@ package io.split.android.engine.matchers.collections;
 
 import io.split.android.client.Evaluator;
 import io.split.android.engine.matchers.Matcher;
-import io.split.android.engine.matchers.Transformers;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -12,12 +11,14 @@ import java.util.Set;
 public class PartOfSetMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final StringSetIndex _index;
 
     public PartOfSetMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _index = new StringSetIndex(_compareTo);
     }
 
     @Override
@@ -30,13 +31,18 @@ public class PartOfSetMatcher implements Matcher {
             return false;
         }
 
-        Set<String> keyAsSet = Transformers.toSetOfStrings((Collection) matchValue);
-
-        if (keyAsSet.isEmpty()) {
+        Collection<?> values = (Collection<?>) matchValue;
+        if (values.isEmpty()) {
             return false;
         }
 
-        return _compareTo.containsAll(keyAsSet);
+        for (Object value : values) {
+            if (!_index.contains(StringSetIndex.asString(value))) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
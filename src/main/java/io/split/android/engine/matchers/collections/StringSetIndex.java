@@ -0,0 +1,121 @@
+package io.split.android.engine.matchers.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Read only view of a set matcher whitelist giving each value a dense id,
+ * so matchers can probe the values of an attribute collection directly
+ * and track which whitelist values were seen in a bitset instead of
+ * copying the attribute to a new set of strings.
+ * Small whitelists are kept in a sorted array, bigger ones in a hash map.
+ */
+final class StringSetIndex {
+
+    static final int SMALL_SIZE = 16;
+
+    private final String[] mSorted;
+    private final Map<String, Integer> mIds;
+    private final int mSize;
+    private final boolean mHasNull;
+
+    StringSetIndex(Set<String> values) {
+        Set<String> nonNull = new TreeSet<>();
+        boolean hasNull = false;
+        for (String value : values) {
+            if (value == null) {
+                hasNull = true;
+            } else {
+                nonNull.add(value);
+            }
+        }
+        mHasNull = hasNull;
+        mSize = nonNull.size();
+        if (mSize <= SMALL_SIZE) {
+            mSorted = nonNull.toArray(new String[mSize]);
+            mIds = null;
+        } else {
+            mSorted = null;
+            mIds = new HashMap<>(mSize * 2);
+            int id = 0;
+            for (String value : nonNull) {
+                mIds.put(value, id++);
+            }
+        }
+    }
+
+    /**
+     * @return number of non null values, ids go from 0 to size - 1
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * A null value in the whitelist can't be matched by any attribute value
+     */
+    boolean hasNull() {
+        return mHasNull;
+    }
+
+    /**
+     * @return id of the value, -1 if it isn't in the set
+     */
+    int idOf(String value) {
+        if (mSorted != null) {
+            int index = Arrays.binarySearch(mSorted, value);
+            return index >= 0 ? index : -1;
+        }
+        Integer id = mIds.get(value);
+        return id != null ? id : -1;
+    }
+
+    boolean contains(String value) {
+        return idOf(value) >= 0;
+    }
+
+    /**
+     * Same conversion than Transformers.toSetOfStrings applies to attribute collection elements
+     */
+    static String asString(Object value) {
+        return value instanceof String ? (String) value : value.toString();
+    }
+
+    /**
+     * @return true if every whitelist value appears in the collection
+     */
+    boolean isCoveredBy(Collection<?> values) {
+        if (mHasNull) {
+            return false;
+        }
+        if (mSize <= Long.SIZE) {
+            long seen = 0;
+            long all = (mSize == Long.SIZE) ? -1L : (1L << mSize) - 1;
+            for (Object value : values) {
+                int id = idOf(asString(value));
+                if (id >= 0) {
+                    seen |= 1L << id;
+                }
+            }
+            return seen == all;
+        }
+        long[] seen = new long[(mSize + Long.SIZE - 1) / Long.SIZE];
+        int seenCount = 0;
+        for (Object value : values) {
+            int id = idOf(asString(value));
+            if (id >= 0) {
+                long bit = 1L << (id % Long.SIZE);
+                int word = id / Long.SIZE;
+                if ((seen[word] & bit) == 0) {
+                    seen[word] |= bit;
+                    seenCount++;
+                }
+            }
+        }
+        return seenCount == mSize;
+    }
+}
@@ -11,12 +11,14 @@ import java.util.Set;
 public class ContainsAnyOfMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final PatternTrie _patterns;
 
     public ContainsAnyOfMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _patterns = PatternTrie.forSubstrings(_compareTo);
     }
 
     @Override
@@ -30,23 +32,7 @@ public class ContainsAnyOfMatcher implements Matcher {
             return false;
         }
 
-        if (_compareTo.isEmpty()) {
-            return false;
-        }
-
-        String keyAsString = (String) matchValue;
-
-        for (String s : _compareTo) {
-            if (s.isEmpty()) {
-                // ignore empty strings.
-                continue;
-            }
-            if (keyAsString.contains(s)) {
-                return true;
-            }
-        }
-
-        return false;
+        return _patterns.matches((String) matchValue);
     }
 
 
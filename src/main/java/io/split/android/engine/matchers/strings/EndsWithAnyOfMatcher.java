@@ -11,12 +11,14 @@ import java.util.Set;
 public class EndsWithAnyOfMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final PatternTrie _patterns;
 
     public EndsWithAnyOfMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _patterns = PatternTrie.forSuffixes(_compareTo);
     }
 
     @Override
@@ -30,23 +32,7 @@ public class EndsWithAnyOfMatcher implements Matcher {
             return false;
         }
 
-        if (_compareTo.isEmpty()) {
-            return false;
-        }
-
-        String keyAsString = (String) matchValue;
-
-        for (String s : _compareTo) {
-            if (s.isEmpty()) {
-                // ignore empty strings.
-                continue;
-            }
-            if (keyAsString.endsWith(s)) {
-                return true;
-            }
-        }
-
-        return false;
+        return _patterns.matches((String) matchValue);
     }
 
 
@@ -0,0 +1,719 @@
+package io.split.android.engine.matchers.strings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regular expression matcher running in time linear to the input.
+ * The pattern is compiled to a Thompson NFA which is simulated keeping
+ * every active state at once (Pike VM without captures), so a single find
+ * costs O(input length * program size) whatever the pattern is.
+ * Only a subset of java.util.regex syntax is supported:
+ * literals, '.', character classes, \d \w \s and their negations, '^', '$',
+ * groups, alternation and greedy or reluctant quantifiers.
+ * Semantics are the ones of {@link java.util.regex.Matcher#find()} with default flags.
+ * Patterns using anything else (backreferences, lookaround, inline flags, word boundaries,
+ * possessive quantifiers, ...) make {@link #compile(String)} return null
+ * so the caller can fall back to java.util.regex.
+ * Instances are immutable, so they can be shared between threads.
+ */
+final class LinearRegex {
+
+    private static final int MAX_PROGRAM_SIZE = 4096;
+    private static final int MAX_REPETITION = 100;
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    private static final int OP_CHAR = 0;
+    private static final int OP_ANY = 1;
+    private static final int OP_CLASS = 2;
+    private static final int OP_SPLIT = 3;
+    private static final int OP_JMP = 4;
+    private static final int OP_BOL = 5;
+    private static final int OP_EOL = 6;
+    private static final int OP_MATCH = 7;
+
+    private static final int[] DIGITS = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACES = {'\t', '\r', ' ', ' '};
+
+    private final int[] mOps;
+    private final int[] mArgs;
+    private final int[] mSplitArgs;
+    private final CharClass[] mClasses;
+
+    private LinearRegex(int[] ops, int[] args, int[] splitArgs, CharClass[] classes) {
+        mOps = ops;
+        mArgs = args;
+        mSplitArgs = splitArgs;
+        mClasses = classes;
+    }
+
+    /**
+     * @param pattern MUST be a pattern already accepted by java.util.regex.Pattern
+     * @return compiled matcher, or null if the pattern uses unsupported constructs
+     */
+    static LinearRegex compile(String pattern) {
+        Node root;
+        try {
+            root = new Parser(pattern).parse();
+        } catch (UnsupportedPatternException e) {
+            return null;
+        }
+        if (root.size() + 1 > MAX_PROGRAM_SIZE) {
+            return null;
+        }
+        Emitter emitter = new Emitter();
+        root.emit(emitter);
+        emitter.add(OP_MATCH, 0, 0, null);
+        return emitter.build();
+    }
+
+    boolean find(String value) {
+        final int length = value.length();
+        final int programSize = mOps.length;
+        int[] current = new int[programSize];
+        int[] next = new int[programSize];
+        int[] marks = new int[programSize];
+        // Every state is expanded once per closure and pushes at most two others
+        int[] stack = new int[2 * programSize + 1];
+        int currentCount = 0;
+        int generation = 0;
+        int position = 0;
+
+        while (true) {
+            generation++;
+            // Current states were all added at the same generation, adding a new
+            // thread from the start of the program makes this an unanchored search.
+            for (int i = 0; i < currentCount; i++) {
+                marks[current[i]] = generation;
+            }
+            int added = addThread(0, position, value, current, currentCount, marks, generation, stack);
+            if (added < 0) {
+                return true;
+            }
+            currentCount = added;
+            if (position >= length || currentCount == 0 && mOps[0] == OP_BOL) {
+                return false;
+            }
+
+            int codePoint = value.codePointAt(position);
+            int nextPosition = position + Character.charCount(codePoint);
+            generation++;
+            int nextCount = 0;
+            for (int i = 0; i < currentCount; i++) {
+                int pc = current[i];
+                if (consumes(pc, codePoint)) {
+                    nextCount = addThread(pc + 1, nextPosition, value, next, nextCount, marks, generation, stack);
+                    if (nextCount < 0) {
+                        return true;
+                    }
+                }
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+            position = nextPosition;
+        }
+    }
+
+    private boolean consumes(int pc, int codePoint) {
+        switch (mOps[pc]) {
+            case OP_CHAR:
+                return mArgs[pc] == codePoint;
+            case OP_ANY:
+                return !isLineTerminator(codePoint);
+            case OP_CLASS:
+                return mClasses[pc].matches(codePoint);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Follows every empty transition from pc adding the consuming states reached to the list.
+     * @return new list size, or -1 if the match state was reached
+     */
+    private int addThread(int pc, int position, String value, int[] list, int count,
+                          int[] marks, int generation, int[] stack) {
+        int top = 0;
+        stack[top++] = pc;
+        while (top > 0) {
+            int state = stack[--top];
+            if (marks[state] == generation) {
+                continue;
+            }
+            marks[state] = generation;
+            switch (mOps[state]) {
+                case OP_MATCH:
+                    return -1;
+                case OP_JMP:
+                    stack[top++] = mArgs[state];
+                    break;
+                case OP_SPLIT:
+                    stack[top++] = mSplitArgs[state];
+                    stack[top++] = mArgs[state];
+                    break;
+                case OP_BOL:
+                    if (position == 0) {
+                        stack[top++] = state + 1;
+                    }
+                    break;
+                case OP_EOL:
+                    if (isEnd(value, position)) {
+                        stack[top++] = state + 1;
+                    }
+                    break;
+                default:
+                    list[count++] = state;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same rules than '$' in java.util.regex without MULTILINE:
+     * end of input, or before a line terminator ending the input.
+     */
+    private static boolean isEnd(String value, int position) {
+        int length = value.length();
+        if (position == length) {
+            return true;
+        }
+        if (position == length - 2) {
+            return value.charAt(position) == '\r' && value.charAt(position + 1) == '\n';
+        }
+        if (position == length - 1) {
+            char c = value.charAt(position);
+            if (c == '\n') {
+                return position == 0 || value.charAt(position - 1) != '\r';
+            }
+            return isLineTerminator(c);
+        }
+        return false;
+    }
+
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085'
+                || codePoint == '\u2028' || codePoint == '\u2029';
+    }
+
+    private static final class UnsupportedPatternException extends Exception {
+    }
+
+    private static final class CharClass {
+        // Sorted pairs of inclusive ranges
+        private final int[] mRanges;
+        private final boolean mNegated;
+
+        CharClass(int[] ranges, boolean negated) {
+            mRanges = ranges;
+            mNegated = negated;
+        }
+
+        boolean matches(int codePoint) {
+            boolean found = false;
+            for (int i = 0; i < mRanges.length && !found; i += 2) {
+                found = codePoint >= mRanges[i] && codePoint <= mRanges[i + 1];
+            }
+            return found != mNegated;
+        }
+    }
+
+    private static final class Emitter {
+        private final List<int[]> mInstructions = new ArrayList<>();
+        private final List<CharClass> mClasses = new ArrayList<>();
+
+        int pc() {
+            return mInstructions.size();
+        }
+
+        int add(int op, int arg, int splitArg, CharClass charClass) {
+            mInstructions.add(new int[]{op, arg, splitArg});
+            mClasses.add(charClass);
+            return mInstructions.size() - 1;
+        }
+
+        void patch(int pc, int arg, int splitArg) {
+            mInstructions.get(pc)[1] = arg;
+            mInstructions.get(pc)[2] = splitArg;
+        }
+
+        LinearRegex build() {
+            int size = mInstructions.size();
+            int[] ops = new int[size];
+            int[] args = new int[size];
+            int[] splitArgs = new int[size];
+            for (int i = 0; i < size; i++) {
+                int[] instruction = mInstructions.get(i);
+                ops[i] = instruction[0];
+                args[i] = instruction[1];
+                splitArgs[i] = instruction[2];
+            }
+            return new LinearRegex(ops, args, splitArgs, mClasses.toArray(new CharClass[size]));
+        }
+    }
+
+    private abstract static class Node {
+        abstract int size();
+
+        abstract void emit(Emitter emitter);
+    }
+
+    private static final class Single extends Node {
+        private final int mOp;
+        private final int mArg;
+        private final CharClass mClass;
+
+        Single(int op, int arg, CharClass charClass) {
+            mOp = op;
+            mArg = arg;
+            mClass = charClass;
+        }
+
+        @Override
+        int size() {
+            return 1;
+        }
+
+        @Override
+        void emit(Emitter emitter) {
+            emitter.add(mOp, mArg, 0, mClass);
+        }
+    }
+
+    private static final class Concat extends Node {
+        private final List<Node> mNodes;
+
+        Concat(List<Node> nodes) {
+            mNodes = nodes;
+        }
+
+        @Override
+        int size() {
+            int size = 0;
+            for (Node node : mNodes) {
+                size = saturatedAdd(size, node.size());
+            }
+            return size;
+        }
+
+        @Override
+        void emit(Emitter emitter) {
+            for (Node node : mNodes) {
+                node.emit(emitter);
+            }
+        }
+    }
+
+    private static final class Alternation extends Node {
+        private final List<Node> mNodes;
+
+        Alternation(List<Node> nodes) {
+            mNodes = nodes;
+        }
+
+        @Override
+        int size() {
+            // A split and a jump for every alternative except the last one
+            int size = 0;
+            for (Node node : mNodes) {
+                size = saturatedAdd(size, saturatedAdd(node.size(), 2));
+            }
+            return size - 2;
+        }
+
+        @Override
+        void emit(Emitter emitter) {
+            List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < mNodes.size() - 1; i++) {
+                int split = emitter.add(OP_SPLIT, 0, 0, null);
+                mNodes.get(i).emit(emitter);
+                jumps.add(emitter.add(OP_JMP, 0, 0, null));
+                emitter.patch(split, split + 1, emitter.pc());
+            }
+            mNodes.get(mNodes.size() - 1).emit(emitter);
+            int end = emitter.pc();
+            for (int jump : jumps) {
+                emitter.patch(jump, end, 0);
+            }
+        }
+    }
+
+    private static final class Repetition extends Node {
+        private final Node mNode;
+        private final int mMin;
+        private final int mMax;
+
+        /**
+         * @param max -1 for unbounded
+         */
+        Repetition(Node node, int min, int max) {
+            mNode = node;
+            mMin = min;
+            mMax = max;
+        }
+
+        @Override
+        int size() {
+            int nodeSize = mNode.size();
+            int size = saturatedMultiply(nodeSize, mMin);
+            if (mMax < 0) {
+                return saturatedAdd(size, saturatedAdd(nodeSize, 2));
+            }
+            return saturatedAdd(size, saturatedMultiply(saturatedAdd(nodeSize, 1), mMax - mMin));
+        }
+
+        @Override
+        void emit(Emitter emitter) {
+            for (int i = 0; i < mMin; i++) {
+                mNode.emit(emitter);
+            }
+            if (mMax < 0) {
+                int split = emitter.add(OP_SPLIT, 0, 0, null);
+                mNode.emit(emitter);
+                emitter.add(OP_JMP, split, 0, null);
+                emitter.patch(split, split + 1, emitter.pc());
+                return;
+            }
+            List<Integer> splits = new ArrayList<>();
+            for (int i = mMin; i < mMax; i++) {
+                splits.add(emitter.add(OP_SPLIT, 0, 0, null));
+                mNode.emit(emitter);
+            }
+            int end = emitter.pc();
+            for (int split : splits) {
+                emitter.patch(split, split + 1, end);
+            }
+        }
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        return (int) Math.min((long) a + b, Integer.MAX_VALUE);
+    }
+
+    private static int saturatedMultiply(int a, int b) {
+        return (int) Math.min((long) a * b, Integer.MAX_VALUE);
+    }
+
+    private static final class Parser {
+        private final String mPattern;
+        private int mPosition;
+
+        Parser(String pattern) {
+            mPattern = pattern;
+        }
+
+        Node parse() throws UnsupportedPatternException {
+            Node node = parseAlternation();
+            if (mPosition != mPattern.length()) {
+                throw new UnsupportedPatternException();
+            }
+            return node;
+        }
+
+        private Node parseAlternation() throws UnsupportedPatternException {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcat());
+            while (peek() == '|') {
+                mPosition++;
+                alternatives.add(parseConcat());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        private Node parseConcat() throws UnsupportedPatternException {
+            List<Node> nodes = new ArrayList<>();
+            while (hasMore() && peek() != '|' && peek() != ')') {
+                nodes.add(parseRepetition());
+            }
+            return new Concat(nodes);
+        }
+
+        private Node parseRepetition() throws UnsupportedPatternException {
+            int c = peek();
+            boolean isAnchor = (c == '^' || c == '$');
+            Node atom = parseAtom();
+            if (!hasMore() || !isQuantifier(peek())) {
+                return atom;
+            }
+            if (isAnchor) {
+                throw new UnsupportedPatternException();
+            }
+            int min;
+            int max;
+            c = next();
+            if (c == '*') {
+                min = 0;
+                max = -1;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+            } else {
+                min = parseNumber();
+                max = min;
+                if (peek() == ',') {
+                    mPosition++;
+                    max = (peek() == '}') ? -1 : parseNumber();
+                }
+                expect('}');
+            }
+            // Reluctant quantifiers find the same matches, possessive ones don't
+            if (peek() == '?') {
+                mPosition++;
+            }
+            if (hasMore() && (isQuantifier(peek()) || peek() == '+')) {
+                throw new UnsupportedPatternException();
+            }
+            if (min > MAX_REPETITION || max > MAX_REPETITION || (max >= 0 && max < min)) {
+                throw new UnsupportedPatternException();
+            }
+            return new Repetition(atom, min, max);
+        }
+
+        private Node parseAtom() throws UnsupportedPatternException {
+            int c = next();
+            switch (c) {
+                case '^':
+                    return new Single(OP_BOL, 0, null);
+                case '$':
+                    return new Single(OP_EOL, 0, null);
+                case '.':
+                    return new Single(OP_ANY, 0, null);
+                case '(':
+                    if (peek() == '?') {
+                        mPosition++;
+                        expect(':');
+                    }
+                    Node group = parseAlternation();
+                    expect(')');
+                    return group;
+                case '[':
+                    return new Single(OP_CLASS, 0, parseClass());
+                case '\\':
+                    int[] ranges = parseClassEscape();
+                    if (ranges != null) {
+                        return new Single(OP_CLASS, 0, new CharClass(ranges, false));
+                    }
+                    return new Single(OP_CHAR, parseLiteralEscape(), null);
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedPatternException();
+                default:
+                    return new Single(OP_CHAR, c, null);
+            }
+        }
+
+        private CharClass parseClass() throws UnsupportedPatternException {
+            boolean negated = false;
+            if (peek() == '^') {
+                mPosition++;
+                negated = true;
+            }
+            if (peek() == ']') {
+                throw new UnsupportedPatternException();
+            }
+            List<int[]> ranges = new ArrayList<>();
+            boolean first = true;
+            while (peek() != ']') {
+                int c = next();
+                if (c == '[' || (c == '&' && peek() == '&')) {
+                    throw new UnsupportedPatternException();
+                }
+                if (c == '\\') {
+                    int[] escaped = parseClassEscape();
+                    if (escaped != null) {
+                        ranges.add(escaped);
+                        if (peek() == '-' && peekAt(1) != ']') {
+                            throw new UnsupportedPatternException();
+                        }
+                        first = false;
+                        continue;
+                    }
+                    c = parseLiteralEscape();
+                } else if (c == '-' && !first && peek() != ']') {
+                    throw new UnsupportedPatternException();
+                }
+                int end = c;
+                if (peek() == '-' && peekAt(1) != ']') {
+                    mPosition++;
+                    end = next();
+                    if (end == '[' || end == '&') {
+                        throw new UnsupportedPatternException();
+                    }
+                    if (end == '\\') {
+                        if (parseClassEscapeAhead()) {
+                            throw new UnsupportedPatternException();
+                        }
+                        end = parseLiteralEscape();
+                    }
+                    if (end < c) {
+                        throw new UnsupportedPatternException();
+                    }
+                    if (peek() == '-' && peekAt(1) != ']') {
+                        throw new UnsupportedPatternException();
+                    }
+                }
+                ranges.add(new int[]{c, end});
+                first = false;
+            }
+            mPosition++;
+            return new CharClass(flatten(ranges), negated);
+        }
+
+        private boolean parseClassEscapeAhead() {
+            int c = peek();
+            return c == 'd' || c == 'D' || c == 'w' || c == 'W' || c == 's' || c == 'S';
+        }
+
+        /**
+         * @return ranges for predefined classes, null if the escape isn't one of them
+         */
+        private int[] parseClassEscape() throws UnsupportedPatternException {
+            if (!parseClassEscapeAhead()) {
+                return null;
+            }
+            int c = next();
+            switch (c) {
+                case 'd':
+                    return DIGITS;
+                case 'D':
+                    return complement(DIGITS);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACES;
+                default:
+                    return complement(SPACES);
+            }
+        }
+
+        private int parseLiteralEscape() throws UnsupportedPatternException {
+            int c = next();
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return '\u0007';
+                case 'e':
+                    return '\u001B';
+                case 'x':
+                    return parseHex(2);
+                case 'u':
+                    return parseHex(4);
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        throw new UnsupportedPatternException();
+                    }
+                    return c;
+            }
+        }
+
+        private int parseHex(int digits) throws UnsupportedPatternException {
+            if (mPosition + digits > mPattern.length()) {
+                throw new UnsupportedPatternException();
+            }
+            try {
+                int value = Integer.parseInt(mPattern.substring(mPosition, mPosition + digits), 16);
+                mPosition += digits;
+                return value;
+            } catch (NumberFormatException e) {
+                throw new UnsupportedPatternException();
+            }
+        }
+
+        private int parseNumber() throws UnsupportedPatternException {
+            int start = mPosition;
+            while (hasMore() && peek() >= '0' && peek() <= '9') {
+                mPosition++;
+            }
+            if (start == mPosition || mPosition - start > 3) {
+                throw new UnsupportedPatternException();
+            }
+            return Integer.parseInt(mPattern.substring(start, mPosition));
+        }
+
+        private void expect(int c) throws UnsupportedPatternException {
+            if (next() != c) {
+                throw new UnsupportedPatternException();
+            }
+        }
+
+        private boolean hasMore() {
+            return mPosition < mPattern.length();
+        }
+
+        private int peek() {
+            return peekAt(0);
+        }
+
+        private int peekAt(int offset) {
+            int index = mPosition;
+            for (int i = 0; i < offset && index < mPattern.length(); i++) {
+                index += Character.charCount(mPattern.codePointAt(index));
+            }
+            return index < mPattern.length() ? mPattern.codePointAt(index) : -1;
+        }
+
+        private int next() throws UnsupportedPatternException {
+            if (!hasMore()) {
+                throw new UnsupportedPatternException();
+            }
+            int c = mPattern.codePointAt(mPosition);
+            mPosition += Character.charCount(c);
+            return c;
+        }
+
+        private static boolean isQuantifier(int c) {
+            return c == '*' || c == '+' || c == '?' || c == '{';
+        }
+
+        private static int[] flatten(List<int[]> ranges) {
+            int size = 0;
+            for (int[] range : ranges) {
+                size += range.length;
+            }
+            int[] flat = new int[size];
+            int index = 0;
+            for (int[] range : ranges) {
+                System.arraycopy(range, 0, flat, index, range.length);
+                index += range.length;
+            }
+            return flat;
+        }
+
+        private static int[] complement(int[] ranges) {
+            List<Integer> result = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > start) {
+                    result.add(start);
+                    result.add(ranges[i] - 1);
+                }
+                start = ranges[i + 1] + 1;
+            }
+            if (start <= MAX_CODE_POINT) {
+                result.add(start);
+                result.add(MAX_CODE_POINT);
+            }
+            int[] complement = new int[result.size()];
+            for (int i = 0; i < complement.length; i++) {
+                complement[i] = result.get(i);
+            }
+            return complement;
+        }
+    }
+}
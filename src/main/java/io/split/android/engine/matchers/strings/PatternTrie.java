@@ -0,0 +1,185 @@
+package io.split.android.engine.matchers.strings;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * Matches a string against a set of patterns in a single pass.
+ * Built once when parsing a split:
+ * a trie for prefixes, a trie of reversed patterns for suffixes
+ * and an Aho-Corasick automaton for substrings.
+ * Empty patterns are ignored, same as the original string matchers did.
+ * Instances are immutable after being built, so they can be shared between threads.
+ */
+final class PatternTrie {
+
+    private enum Mode {
+        PREFIX, SUFFIX, CONTAINS
+    }
+
+    private final Mode mMode;
+    private final Node mRoot = new Node();
+    private final boolean mIsEmpty;
+
+    static PatternTrie forPrefixes(Collection<String> patterns) {
+        return new PatternTrie(Mode.PREFIX, patterns);
+    }
+
+    static PatternTrie forSuffixes(Collection<String> patterns) {
+        return new PatternTrie(Mode.SUFFIX, patterns);
+    }
+
+    static PatternTrie forSubstrings(Collection<String> patterns) {
+        return new PatternTrie(Mode.CONTAINS, patterns);
+    }
+
+    private PatternTrie(Mode mode, Collection<String> patterns) {
+        mMode = mode;
+        boolean isEmpty = true;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            add(pattern);
+            isEmpty = false;
+        }
+        mIsEmpty = isEmpty;
+        if (mode == Mode.CONTAINS) {
+            buildFailureLinks();
+        }
+    }
+
+    boolean matches(String value) {
+        if (mIsEmpty) {
+            return false;
+        }
+        switch (mMode) {
+            case PREFIX:
+                return matchesPrefix(value);
+            case SUFFIX:
+                return matchesSuffix(value);
+            default:
+                return matchesSubstring(value);
+        }
+    }
+
+    private boolean matchesPrefix(String value) {
+        Node node = mRoot;
+        for (int i = 0; i < value.length(); i++) {
+            node = node.child(value.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesSuffix(String value) {
+        Node node = mRoot;
+        for (int i = value.length() - 1; i >= 0; i--) {
+            node = node.child(value.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesSubstring(String value) {
+        Node node = mRoot;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            Node next = node.child(c);
+            while (next == null && node != mRoot) {
+                node = node.failure;
+                next = node.child(c);
+            }
+            node = (next != null ? next : mRoot);
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(String pattern) {
+        Node node = mRoot;
+        int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            char c = (mMode == Mode.SUFFIX ? pattern.charAt(length - 1 - i) : pattern.charAt(i));
+            Node next = node.child(c);
+            if (next == null) {
+                next = node.addChild(c);
+            }
+            node = next;
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * Breadth first traversal setting the failure link of each node
+     * to the longest proper suffix also present in the trie.
+     * A node is terminal if any pattern ends there or at any node of its failure chain,
+     * so matching doesn't need to walk the chain to detect a match.
+     */
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        mRoot.failure = mRoot;
+        for (Node child : mRoot.children) {
+            child.failure = mRoot;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (int i = 0; i < node.keys.length; i++) {
+                char c = node.keys[i];
+                Node child = node.children[i];
+                Node failure = node.failure;
+                Node failureChild = failure.child(c);
+                while (failureChild == null && failure != mRoot) {
+                    failure = failure.failure;
+                    failureChild = failure.child(c);
+                }
+                child.failure = (failureChild != null && failureChild != child ? failureChild : mRoot);
+                child.terminal |= child.failure.terminal;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+        private Node failure;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return (index >= 0 ? children[index] : null);
+        }
+
+        Node addChild(char c) {
+            int index = -(Arrays.binarySearch(keys, c) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
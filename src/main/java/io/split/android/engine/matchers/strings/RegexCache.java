@@ -0,0 +1,101 @@
+package io.split.android.engine.matchers.strings;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compiled regular expressions shared by every split, keyed by pattern string,
+ * so parsing the same split again or several splits using the same pattern
+ * don't compile it each time.
+ * When the pattern is supported by {@link LinearRegex} it is used for matching,
+ * otherwise matching falls back to java.util.regex.
+ */
+public final class RegexCache {
+
+    private static final int DEFAULT_MAX_SIZE = 500;
+    private static final RegexCache SHARED = new RegexCache(DEFAULT_MAX_SIZE, true);
+
+    private final ConcurrentMap<String, CompiledRegex> mPatterns = new ConcurrentHashMap<>();
+    private final int mMaxSize;
+    private final boolean mLinearMatchingEnabled;
+
+    public static RegexCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param maxSize cache is emptied when reaching this size,
+     *                patterns come from split definitions so this should rarely happen
+     * @param linearMatchingEnabled use the linear time engine for supported patterns
+     */
+    public RegexCache(int maxSize, boolean linearMatchingEnabled) {
+        mMaxSize = maxSize;
+        mLinearMatchingEnabled = linearMatchingEnabled;
+    }
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException if the pattern is not valid
+     */
+    public CompiledRegex get(String pattern) {
+        checkNotNull(pattern);
+        CompiledRegex regex = mPatterns.get(pattern);
+        if (regex != null) {
+            return regex;
+        }
+        regex = compile(pattern);
+        if (mPatterns.size() >= mMaxSize) {
+            mPatterns.clear();
+        }
+        CompiledRegex previous = mPatterns.putIfAbsent(pattern, regex);
+        return previous != null ? previous : regex;
+    }
+
+    public int size() {
+        return mPatterns.size();
+    }
+
+    public void clear() {
+        mPatterns.clear();
+    }
+
+    private CompiledRegex compile(String pattern) {
+        // Always compiled by java.util.regex to keep syntax validation as it was
+        Pattern compiled = Pattern.compile(pattern);
+        LinearRegex linear = mLinearMatchingEnabled ? LinearRegex.compile(pattern) : null;
+        return new CompiledRegex(compiled, linear);
+    }
+
+    public static final class CompiledRegex {
+        private final Pattern mPattern;
+        private final LinearRegex mLinear;
+
+        private CompiledRegex(Pattern pattern, LinearRegex linear) {
+            mPattern = pattern;
+            mLinear = linear;
+        }
+
+        /**
+         * Same result than {@link java.util.regex.Matcher#find()}
+         */
+        public boolean find(String value) {
+            if (mLinear != null) {
+                return mLinear.find(value);
+            }
+            return mPattern.matcher(value).find();
+        }
+
+        /**
+         * @return true if matching is guaranteed to run in linear time
+         */
+        public boolean isLinear() {
+            return mLinear != null;
+        }
+
+        public Pattern pattern() {
+            return mPattern;
+        }
+    }
+}
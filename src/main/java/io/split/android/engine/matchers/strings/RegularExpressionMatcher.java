@@ -4,15 +4,18 @@ import io.split.android.client.Evaluator;
 import io.split.android.engine.matchers.Matcher;
 
 import java.util.Map;
-import java.util.regex.Pattern;
 
 public class RegularExpressionMatcher implements Matcher {
     private String _stringMatcher;
-    private Pattern _pattern;
+    private RegexCache.CompiledRegex _pattern;
 
     public RegularExpressionMatcher(String matcherValue) {
+        this(matcherValue, RegexCache.shared());
+    }
+
+    public RegularExpressionMatcher(String matcherValue, RegexCache regexCache) {
         _stringMatcher = matcherValue;
-        _pattern = Pattern.compile(matcherValue);
+        _pattern = regexCache.get(matcherValue);
     }
 
     @Override
@@ -22,8 +25,7 @@ public class RegularExpressionMatcher implements Matcher {
         }
 
         if (matchValue instanceof String) {
-            java.util.regex.Matcher matcher = _pattern.matcher((String) matchValue);
-            return matcher.find();
+            return _pattern.find((String) matchValue);
         }
 
         return false;
@@ -9,13 +9,30 @@ import java.util.Map;
 import java.util.Set;
 
 public class WhitelistMatcher implements Matcher {
-    private final Set<String> _whitelist = new HashSet<>();
+    private final Set<String> _whitelist;
 
     public WhitelistMatcher(Collection<String> whitelist) {
+        this(new HashSet<>(checkWhitelist(whitelist)));
+    }
+
+    // Uses the given set as is, callers copy it when needed
+    private WhitelistMatcher(Set<String> whitelist) {
+        _whitelist = whitelist;
+    }
+
+    /**
+     * Matcher using the given set without copying it.
+     * @param whitelist MUST NOT be modified afterwards
+     */
+    public static WhitelistMatcher sharing(Set<String> whitelist) {
+        return new WhitelistMatcher(checkWhitelist(whitelist));
+    }
+
+    private static <T extends Collection<String>> T checkWhitelist(T whitelist) {
         if (whitelist == null) {
             throw new IllegalArgumentException("Null whitelist parameter");
         }
-        _whitelist.addAll(whitelist);
+        return whitelist;
     }
 
     @SuppressWarnings("SuspiciousMethodCalls")
@@ -24,6 +41,10 @@ public class WhitelistMatcher implements Matcher {
         return _whitelist.contains(matchValue);
     }
 
+    public Set<String> whitelist() {
+        return _whitelist;
+    }
+
     @Override
     public String toString() {
         StringBuilder bldr = new StringBuilder();
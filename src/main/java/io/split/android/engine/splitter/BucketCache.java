@@ -0,0 +1,75 @@
+package io.split.android.engine.splitter;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Memoizes buckets for a fixed key, so splits sharing
+ * the same seed and algorithm hash the key only once.
+ * As seeds don't change between split versions, a client can keep
+ * one instance for its whole life.
+ * Buckets for other keys are computed without caching.
+ * Buckets are kept in a fixed size open addressed table of longs, each one
+ * packing seed, algorithm and bucket, so lookups don't allocate.
+ * When every slot a seed can use is taken its bucket is computed each time.
+ */
+public class BucketCache {
+
+    static final int CAPACITY = 1024;
+    static final int MAX_PROBES = 8;
+
+    private static final long EMPTY_SLOT = 0L;
+    private static final long BUCKET_MASK = 0xFFL;
+    private static final int MAX_CACHED_ALGO = 0xFFFFFF;
+
+    private final String mKey;
+    // Empty slots are 0 as buckets are never 0
+    private final AtomicLongArray mSlots = new AtomicLongArray(CAPACITY);
+
+    public BucketCache(@NonNull String key) {
+        mKey = checkNotNull(key);
+    }
+
+    public int getBucket(String key, int seed, int algo) {
+        if (!mKey.equals(key) || algo < 0 || algo > MAX_CACHED_ALGO) {
+            return Splitter.getBucket(key, seed, algo);
+        }
+        long slotKey = ((long) seed << 32) | ((long) algo << 8);
+        int index = slotIndex(seed, algo);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (index + probe) & (CAPACITY - 1);
+            long value = mSlots.get(slot);
+            if (value == EMPTY_SLOT) {
+                int bucket = Splitter.getBucket(key, seed, algo);
+                // Losing the race leaves the slot to a thread storing the same or another seed
+                mSlots.compareAndSet(slot, EMPTY_SLOT, slotKey | bucket);
+                return bucket;
+            }
+            if ((value & ~BUCKET_MASK) == slotKey) {
+                return (int) (value & BUCKET_MASK);
+            }
+        }
+        return Splitter.getBucket(key, seed, algo);
+    }
+
+    /**
+     * @return number of cached buckets
+     */
+    int size() {
+        int size = 0;
+        for (int i = 0; i < CAPACITY; i++) {
+            if (mSlots.get(i) != EMPTY_SLOT) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static int slotIndex(int seed, int algo) {
+        int hash = (seed * 0x9E3779B9) ^ algo;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -63,6 +63,20 @@ public class Splitter {
         return h ^ seed;
     }
 
+    /**
+     * Treatment for every bucket, so index i has the treatment for bucket i + 1.
+     * Computed the same way than walking the partitions on each evaluation.
+     * @param partitions MUST NOT be null
+     * @return array of 100 treatments
+     */
+    public static String[] bucketTreatments(List<Partition> partitions) {
+        String[] treatments = new String[100];
+        for (int bucket = 1; bucket <= 100; bucket++) {
+            treatments[bucket - 1] = partitions.isEmpty() ? Treatments.CONTROL : getTreatment(bucket, partitions);
+        }
+        return treatments;
+    }
+
     /**
      * @param bucket
      * @param partitions MUST HAVE more than one partitions.
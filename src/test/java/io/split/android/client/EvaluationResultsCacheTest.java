@@ -0,0 +1,87 @@
+package io.split.android.client;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.split.android.client.storage.StorageVersion;
+
+public class EvaluationResultsCacheTest {
+
+    private StorageVersion mStorageVersion;
+    private EvaluationResultsCache mCache;
+
+    @Before
+    public void setup() {
+        mStorageVersion = new StorageVersion();
+        mCache = new EvaluationResultsCache(mStorageVersion, 2);
+    }
+
+    @Test
+    public void hitWithEqualAttributes() {
+        EvaluationResult result = new EvaluationResult("on", "label", 1L, null);
+        mCache.put("split", attributes(10), result, mCache.version());
+
+        Assert.assertSame(result, mCache.get("split", attributes(10)));
+        Assert.assertNull(mCache.get("split", attributes(11)));
+        Assert.assertNull(mCache.get("split", null));
+    }
+
+    @Test
+    public void nullAndEmptyAttributesAreEquivalent() {
+        EvaluationResult result = new EvaluationResult("on", "label", 1L, null);
+        mCache.put("split", null, result, mCache.version());
+
+        Assert.assertSame(result, mCache.get("split", new HashMap<String, Object>()));
+    }
+
+    @Test
+    public void callerChangingAttributesDoesNotAffectEntry() {
+        EvaluationResult result = new EvaluationResult("on", "label", 1L, null);
+        Map<String, Object> attributes = attributes(10);
+        mCache.put("split", attributes, result, mCache.version());
+        attributes.put("age", 20);
+
+        Assert.assertSame(result, mCache.get("split", attributes(10)));
+        Assert.assertNull(mCache.get("split", attributes));
+    }
+
+    @Test
+    public void storageVersionChangeInvalidatesEntries() {
+        mCache.put("split", null, new EvaluationResult("on", "label", 1L, null), mCache.version());
+        mStorageVersion.increment();
+
+        Assert.assertNull(mCache.get("split", null));
+    }
+
+    @Test
+    public void resultEvaluatedWithOldVersionIsNotCached() {
+        long version = mCache.version();
+        mStorageVersion.increment();
+        mCache.put("split", null, new EvaluationResult("on", "label", 1L, null), version);
+
+        Assert.assertNull(mCache.get("split", null));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        long version = mCache.version();
+        mCache.put("split1", null, new EvaluationResult("on", "label", 1L, null), version);
+        mCache.put("split2", null, new EvaluationResult("on", "label", 1L, null), version);
+        mCache.get("split1", null);
+        mCache.put("split3", null, new EvaluationResult("on", "label", 1L, null), version);
+
+        Assert.assertNotNull(mCache.get("split1", null));
+        Assert.assertNull(mCache.get("split2", null));
+        Assert.assertNotNull(mCache.get("split3", null));
+    }
+
+    private Map<String, Object> attributes(int age) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("age", age);
+        return attributes;
+    }
+}
@@ -0,0 +1,96 @@
+package io.split.android.client;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.StorageVersion;
+import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.engine.experiments.SplitParser;
+import io.split.android.fake.SplitEventsManagerStub;
+import io.split.android.helpers.FileHelper;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PrecomputedEvaluationsTest {
+
+    private static final String KEY = "nico_test";
+
+    private EvaluatorImpl mEvaluator;
+    private StorageVersion mStorageVersion;
+    private PrecomputedEvaluations mPrecomputedEvaluations;
+
+    @Before
+    public void setup() {
+        FileHelper fileHelper = new FileHelper();
+        MySegmentsStorage mySegmentsStorage = mock(MySegmentsStorage.class);
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        Set<String> mySegments = new HashSet<>(Arrays.asList("s1", "s2", "test_copy"));
+        when(mySegmentsStorage.getAll()).thenReturn(mySegments);
+
+        List<Split> splits = fileHelper.loadAndParseSplitChangeFile("split_changes_1.json");
+        Map<String, Split> splitsMap = new HashMap<>();
+        for (Split split : splits) {
+            splitsMap.put(split.name, split);
+            when(splitsStorage.get(split.name)).thenReturn(split);
+        }
+        when(splitsStorage.getAll()).thenReturn(splitsMap);
+
+        mStorageVersion = new StorageVersion();
+        mEvaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mySegmentsStorage));
+        mPrecomputedEvaluations = new PrecomputedEvaluations(KEY, null, mEvaluator,
+                splitsStorage, mStorageVersion, new SplitEventsManagerStub());
+    }
+
+    @Test
+    public void attributeIndependentSplitsArePrecomputed() {
+        mPrecomputedEvaluations.compute();
+
+        assertSameAsEvaluator("FACUNDO_TEST");
+        assertSameAsEvaluator("testo2222");
+        assertSameAsEvaluator("test_string_without_attr");
+    }
+
+    @Test
+    public void splitsUsingAttributesOrDependenciesAreNotPrecomputed() {
+        mPrecomputedEvaluations.compute();
+
+        Assert.assertNull(mPrecomputedEvaluations.get("benchmark_jw_1"));
+        Assert.assertNull(mPrecomputedEvaluations.get("testo23"));
+        Assert.assertNull(mPrecomputedEvaluations.get("a_new_split_2"));
+        Assert.assertNull(mPrecomputedEvaluations.get("testing"));
+    }
+
+    @Test
+    public void resultsAreDiscardedWhenStorageChanges() {
+        mPrecomputedEvaluations.compute();
+        mStorageVersion.increment();
+
+        Assert.assertNull(mPrecomputedEvaluations.get("FACUNDO_TEST"));
+
+        mPrecomputedEvaluations.compute();
+
+        Assert.assertNotNull(mPrecomputedEvaluations.get("FACUNDO_TEST"));
+    }
+
+    private void assertSameAsEvaluator(String splitName) {
+        EvaluationResult expected = mEvaluator.getTreatment(KEY, null, splitName, null);
+        EvaluationResult result = mPrecomputedEvaluations.get(splitName);
+
+        Assert.assertNotNull(result);
+        Assert.assertEquals(expected.getTreatment(), result.getTreatment());
+        Assert.assertEquals(expected.getLabel(), result.getLabel());
+        Assert.assertEquals(expected.getChangeNumber(), result.getChangeNumber());
+        Assert.assertEquals(expected.getConfigurations(), result.getConfigurations());
+    }
+}
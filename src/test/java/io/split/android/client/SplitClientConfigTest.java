@@ -1,5 +1,6 @@
 package io.split.android.client;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 public class SplitClientConfigTest {
@@ -41,4 +42,20 @@ public class SplitClientConfigTest {
                 .metricsRefreshRate(30)
                 .build();
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannot_set_compression_threshold_to_less_than_0() {
+        SplitClientConfig.builder()
+                .compressionThreshold(-1)
+                .build();
+    }
+
+    @Test
+    public void compression_defaults() {
+        SplitClientConfig config = SplitClientConfig.builder().build();
+
+        Assert.assertFalse(config.compressRequests());
+        Assert.assertEquals(1024, config.compressionThreshold());
+        Assert.assertTrue(config.acceptCompressedResponses());
+    }
 }
@@ -26,8 +26,11 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertThat;
 
@@ -133,6 +136,50 @@ public class SplitManagerImplTest {
         assertThat(splitNames.get(0), is(equalTo(split.name)));
     }
 
+    @Test
+    public void sameViewIsReturnedWhileChangeNumberDoesNotChange() {
+        Split split = SplitHelper.createSplit("FeatureName", 123, true,
+                "off", Lists.newArrayList(getTestCondition()),
+                "traffic", 456L, 1, null);
+        Split updatedSplit = SplitHelper.createSplit("FeatureName", 123, false,
+                "off", Lists.newArrayList(getTestCondition()),
+                "traffic", 457L, 1, null);
+        Mockito.when(mSplitsStorage.get(split.name)).thenReturn(split, split, updatedSplit);
+
+        SplitView first = mSplitManager.split(split.name);
+        SplitView second = mSplitManager.split(split.name);
+        SplitView updated = mSplitManager.split(split.name);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(updated, is(not(sameInstance(first))));
+        assertThat(updated.changeNumber, is(equalTo(457L)));
+        assertThat(updated.killed, is(false));
+    }
+
+    @Test
+    public void splitsReuseViewsOfUnchangedSplits() {
+        Split split = SplitHelper.createSplit("FeatureName", 123, true,
+                "off", Lists.newArrayList(getTestCondition()),
+                "traffic", 456L, 1, null);
+        Split otherSplit = SplitHelper.createSplit("OtherName", 124, true,
+                "off", Lists.newArrayList(getTestCondition()),
+                "traffic", 456L, 1, null);
+        Map<String, Split> splitsMap = new HashMap<>();
+        splitsMap.put(split.name, split);
+        Map<String, Split> updatedSplitsMap = new HashMap<>();
+        updatedSplitsMap.put(otherSplit.name, otherSplit);
+        updatedSplitsMap.put(split.name, split);
+        Mockito.when(mSplitsStorage.getAll()).thenReturn(splitsMap, splitsMap, updatedSplitsMap);
+
+        List<SplitView> first = mSplitManager.splits();
+        List<SplitView> second = mSplitManager.splits();
+        List<SplitView> updated = mSplitManager.splits();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(updated.size(), is(equalTo(2)));
+        assertThat(updated, hasItem(sameInstance(first.get(0))));
+    }
+
     private Condition getTestCondition() {
         return SplitHelper.createCondition(CombiningMatcher.of(new AllKeysMatcher()), Lists.newArrayList(ConditionsTestUtil.partition("off", 10)));
     }
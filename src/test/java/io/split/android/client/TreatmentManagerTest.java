@@ -16,7 +16,9 @@ import java.util.Set;
 
 import io.split.android.client.dtos.Split;
 import io.split.android.client.events.ISplitEventsManager;
+import io.split.android.client.impressions.Impression;
 import io.split.android.client.impressions.ImpressionListener;
+import io.split.android.client.storage.StorageVersion;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.validators.KeyValidatorImpl;
@@ -35,7 +37,10 @@ import io.split.android.fake.SplitFetcherStub;
 import io.split.android.grammar.Treatments;
 import io.split.android.helpers.FileHelper;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("ConstantConditions")
@@ -252,6 +257,26 @@ public class TreatmentManagerTest {
         }
     }
 
+    @Test
+    public void cachedEvaluationStillLogsImpression() {
+        Evaluator evaluatorMock = mock(Evaluator.class);
+        ImpressionListener impressionListenerMock = mock(ImpressionListener.class);
+        when(evaluatorMock.getTreatment("key", null, "split", null))
+                .thenReturn(new EvaluationResult("on", "label", 1L, null));
+
+        TreatmentManager treatmentManager = new TreatmentManagerImpl(
+                "key", null, evaluatorMock,
+                new KeyValidatorImpl(), new SplitValidatorImpl(), new MetricsMock(),
+                impressionListenerMock, SplitClientConfig.builder().build(), eventsManagerStub,
+                new EvaluationResultsCache(new StorageVersion(), 10), null);
+
+        Assert.assertEquals("on", treatmentManager.getTreatment("split", null, false));
+        Assert.assertEquals("on", treatmentManager.getTreatment("split", null, false));
+
+        verify(evaluatorMock, times(1)).getTreatment("key", null, "split", null);
+        verify(impressionListenerMock, times(2)).log(any(Impression.class));
+    }
+
     private TreatmentManager createTreatmentManager(String matchingKey, String bucketingKey) {
 
         FileHelper fileHelper = new FileHelper();
@@ -0,0 +1,129 @@
+package io.split.android.client.attributes;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.service.attributes.LoadAttributesTask;
+import io.split.android.client.service.attributes.UpdateAttributesTask;
+import io.split.android.client.service.executor.SplitTask;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskExecutor;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.storage.attributes.AttributesStorageImpl;
+import io.split.android.client.storage.attributes.PersistentAttributesStorage;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AttributesManagerImplTest {
+
+    private AttributesManagerImpl mAttributesManager;
+
+    @Before
+    public void setup() {
+        mAttributesManager = new AttributesManagerImpl(new AttributesStorageImpl());
+    }
+
+    @Test
+    public void valuesAreNormalized() {
+        Assert.assertTrue(mAttributesManager.setAttribute("age", 30));
+        Assert.assertTrue(mAttributesManager.setAttribute("score", 1.5f));
+        Assert.assertTrue(mAttributesManager.setAttribute("tags", new HashSet<>(Arrays.asList("a"))));
+
+        Assert.assertEquals(30L, mAttributesManager.getAttribute("age"));
+        Assert.assertEquals(1.5, mAttributesManager.getAttribute("score"));
+        Assert.assertEquals(Collections.singletonList("a"), mAttributesManager.getAttribute("tags"));
+    }
+
+    @Test
+    public void invalidAttributesAreNotSet() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("valid", "value");
+        attributes.put("invalid", new Object());
+
+        Assert.assertFalse(mAttributesManager.setAttribute(null, "value"));
+        Assert.assertFalse(mAttributesManager.setAttribute("name", null));
+        Assert.assertFalse(mAttributesManager.setAttribute("list", Arrays.asList("a", null)));
+        Assert.assertFalse(mAttributesManager.setAttributes(attributes));
+        Assert.assertTrue(mAttributesManager.getAllAttributes().isEmpty());
+    }
+
+    @Test
+    public void callAttributesTakePrecedence() {
+        mAttributesManager.setAttribute("plan", "free");
+        mAttributesManager.setAttribute("age", 30);
+        Map<String, Object> callAttributes = new HashMap<>();
+        callAttributes.put("plan", "premium");
+
+        Map<String, Object> merged = mAttributesManager.merge(callAttributes);
+
+        Assert.assertEquals("premium", merged.get("plan"));
+        Assert.assertEquals(30L, merged.get("age"));
+        Assert.assertEquals("free", mAttributesManager.getAttribute("plan"));
+    }
+
+    @Test
+    public void clientAttributesAreNotCopiedWithoutCallAttributes() {
+        mAttributesManager.setAttribute("plan", "free");
+
+        Assert.assertSame(mAttributesManager.getAllAttributes(), mAttributesManager.merge(null));
+        Assert.assertSame(mAttributesManager.getAllAttributes(),
+                mAttributesManager.merge(Collections.<String, Object>emptyMap()));
+    }
+
+    @Test
+    public void removeAndClear() {
+        mAttributesManager.setAttribute("plan", "free");
+        mAttributesManager.setAttribute("age", 30);
+
+        mAttributesManager.removeAttribute("plan");
+        Assert.assertNull(mAttributesManager.getAttribute("plan"));
+        Assert.assertEquals(1, mAttributesManager.getAllAttributes().size());
+
+        mAttributesManager.clearAttributes();
+        Assert.assertTrue(mAttributesManager.getAllAttributes().isEmpty());
+    }
+
+    @Test
+    public void changesArePersistedOnceLoaded() {
+        SplitTaskExecutor taskExecutor = mock(SplitTaskExecutor.class);
+        PersistentAttributesStorage persistentStorage = mock(PersistentAttributesStorage.class);
+        Map<String, Object> persisted = new HashMap<>();
+        persisted.put("age", 20.0);
+        persisted.put("plan", "free");
+        when(persistentStorage.getSnapshot()).thenReturn(persisted);
+        AttributesManagerImpl attributesManager = new AttributesManagerImpl(
+                new AttributesStorageImpl(persistentStorage), taskExecutor);
+        ArgumentCaptor<SplitTask> taskCaptor = ArgumentCaptor.forClass(SplitTask.class);
+        verify(taskExecutor).submit(taskCaptor.capture(), eq(attributesManager));
+
+        // Set before loading finishes, written by the load task
+        attributesManager.setAttribute("plan", "premium");
+        verify(taskExecutor, never()).submit(any(UpdateAttributesTask.class), any());
+
+        SplitTaskExecutionInfo info = taskCaptor.getValue().execute();
+        attributesManager.taskExecuted(info);
+        attributesManager.setAttribute("age", 31);
+
+        Assert.assertTrue(taskCaptor.getValue() instanceof LoadAttributesTask);
+        Assert.assertEquals(SplitTaskType.LOAD_LOCAL_ATTRIBUTES, info.getTaskType());
+        Assert.assertEquals("premium", attributesManager.getAttribute("plan"));
+        Assert.assertEquals(31L, attributesManager.getAttribute("age"));
+        verify(persistentStorage, times(1)).set(any());
+        verify(taskExecutor, times(2)).submit(any(UpdateAttributesTask.class), any());
+    }
+}
@@ -0,0 +1,102 @@
+package io.split.android.client.impressions;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import io.split.android.client.service.impressions.ImpressionsObserver;
+import io.split.android.client.service.synchronizer.SyncManager;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SyncImpressionListenerTest {
+
+    private static final long WINDOW = 3600 * 1000;
+
+    SyncManager mSyncManager;
+
+    @Before
+    public void setup() {
+        mSyncManager = Mockito.mock(SyncManager.class);
+    }
+
+    @Test
+    public void everyImpressionIsPushedWithoutObserver() {
+        SyncImpressionListener listener = new SyncImpressionListener(mSyncManager);
+
+        listener.log(impression("key", "on", 1000L));
+        listener.log(impression("key", "on", 2000L));
+
+        ArgumentCaptor<Impression> captor = ArgumentCaptor.forClass(Impression.class);
+        verify(mSyncManager, times(2)).pushImpression(captor.capture());
+        Assert.assertNull(captor.getAllValues().get(1).previousTime());
+    }
+
+    @Test
+    public void repeatedImpressionInSameWindowIsDropped() {
+        SyncImpressionListener listener = new SyncImpressionListener(mSyncManager,
+                new ImpressionsObserver(10), WINDOW);
+
+        listener.log(impression("key", "on", 1000L));
+        listener.log(impression("key", "on", 2000L));
+
+        ArgumentCaptor<Impression> captor = ArgumentCaptor.forClass(Impression.class);
+        verify(mSyncManager, times(1)).pushImpression(captor.capture());
+        Assert.assertEquals(1000L, captor.getValue().time());
+        Assert.assertNull(captor.getValue().previousTime());
+    }
+
+    @Test
+    public void differentImpressionsArePushed() {
+        SyncImpressionListener listener = new SyncImpressionListener(mSyncManager,
+                new ImpressionsObserver(10), WINDOW);
+
+        listener.log(impression("key", "on", 1000L));
+        listener.log(impression("key", "off", 1000L));
+        listener.log(impression("otherKey", "on", 1000L));
+        listener.log(new Impression("key", null, "split", "on", 1000L, "label", 2L, null));
+
+        verify(mSyncManager, times(4)).pushImpression(Mockito.any(Impression.class));
+    }
+
+    @Test
+    public void repeatedImpressionInNextWindowIsTaggedWithPreviousTime() {
+        SyncImpressionListener listener = new SyncImpressionListener(mSyncManager,
+                new ImpressionsObserver(10), WINDOW);
+
+        listener.log(impression("key", "on", 1000L));
+        listener.log(impression("key", "on", WINDOW + 1000L));
+
+        ArgumentCaptor<Impression> captor = ArgumentCaptor.forClass(Impression.class);
+        verify(mSyncManager, times(2)).pushImpression(captor.capture());
+        List<Impression> pushed = captor.getAllValues();
+        Assert.assertNull(pushed.get(0).previousTime());
+        Assert.assertEquals(1000L, pushed.get(1).previousTime().longValue());
+        Assert.assertEquals(WINDOW + 1000L, pushed.get(1).time());
+    }
+
+    @Test
+    public void impressionsEvictedFromObserverArePushedAgain() {
+        SyncImpressionListener listener = new SyncImpressionListener(mSyncManager,
+                new ImpressionsObserver(1), WINDOW);
+
+        listener.log(impression("key", "on", 1000L));
+        listener.log(impression("otherKey", "on", 1000L));
+        listener.log(impression("key", "on", 2000L));
+
+        ArgumentCaptor<Impression> captor = ArgumentCaptor.forClass(Impression.class);
+        verify(mSyncManager, times(3)).pushImpression(captor.capture());
+        for (Impression impression : captor.getAllValues()) {
+            Assert.assertNull(impression.previousTime());
+        }
+    }
+
+    private Impression impression(String key, String treatment, long time) {
+        return new Impression(key, null, "split", treatment, time, "label", 1L, null);
+    }
+}
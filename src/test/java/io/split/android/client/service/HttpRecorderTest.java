@@ -3,8 +3,11 @@ package io.split.android.client.service;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -18,15 +21,18 @@ import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpResponse;
 import io.split.android.client.network.HttpResponseImpl;
 import io.split.android.client.network.SdkTargetPath;
 import io.split.android.client.service.events.EventsRequestBodySerializer;
+import io.split.android.client.service.events.EventsRequestBodyWriter;
 import io.split.android.client.service.http.HttpRecorder;
 import io.split.android.client.service.http.HttpRecorderException;
 import io.split.android.client.service.http.HttpRecorderImpl;
 import io.split.android.client.service.http.HttpRequestBodySerializer;
 import io.split.android.client.service.impressions.ImpressionsRequestBodySerializer;
+import io.split.android.client.service.impressions.ImpressionsRequestBodyWriter;
 import io.split.android.client.utils.Json;
 import io.split.android.client.utils.NetworkHelper;
 
@@ -190,6 +196,66 @@ public class HttpRecorderTest {
 
     }
 
+    @Test
+    public void streamedEventsSend() throws HttpException, IOException {
+        boolean exceptionWasThrown = false;
+        List<Event> events = createEvents();
+        when(mNetworkHelperMock.isReachable(mEventsUrl)).thenReturn(true);
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(200, ""));
+        ArgumentCaptor<HttpRequestBody> bodyCaptor = ArgumentCaptor.forClass(HttpRequestBody.class);
+        when(mClientMock.request(any(URI.class), any(HttpMethod.class), any(HttpRequestBody.class))).thenReturn(request);
+
+        HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl,
+                mNetworkHelperMock, new EventsRequestBodyWriter());
+        try {
+            recorder.execute(events);
+        } catch (HttpRecorderException e) {
+            exceptionWasThrown = true;
+        }
+
+        verify(mClientMock, times(1)).request(Mockito.eq(mEventsUrl), Mockito.eq(HttpMethod.POST), bodyCaptor.capture());
+        verify(request, times(1)).execute();
+        Assert.assertFalse(exceptionWasThrown);
+        Assert.assertEquals(Json.toJson(events), writtenBody(bodyCaptor.getValue()));
+    }
+
+    @Test
+    public void streamedImpressionsSend() throws HttpException, IOException {
+        List<KeyImpression> impressions = createImpressions("feature_1");
+        impressions.addAll(createImpressions("feature_2"));
+        impressions.addAll(createImpressions("feature_1"));
+        when(mNetworkHelperMock.isReachable(mImpressionsUrl)).thenReturn(true);
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(200, ""));
+        ArgumentCaptor<HttpRequestBody> bodyCaptor = ArgumentCaptor.forClass(HttpRequestBody.class);
+        when(mClientMock.request(any(URI.class), any(HttpMethod.class), any(HttpRequestBody.class))).thenReturn(request);
+
+        HttpRecorder<List<KeyImpression>> recorder = new HttpRecorderImpl<>(mClientMock, mImpressionsUrl,
+                mNetworkHelperMock, new ImpressionsRequestBodyWriter());
+        try {
+            recorder.execute(impressions);
+        } catch (HttpRecorderException e) {
+            Assert.fail(e.getLocalizedMessage());
+        }
+
+        verify(mClientMock, times(1)).request(Mockito.eq(mImpressionsUrl), Mockito.eq(HttpMethod.POST), bodyCaptor.capture());
+        TestImpressions feature1 = new TestImpressions();
+        feature1.testName = "feature_1";
+        feature1.keyImpressions = createImpressions("feature_1");
+        feature1.keyImpressions.addAll(createImpressions("feature_1"));
+        TestImpressions feature2 = new TestImpressions();
+        feature2.testName = "feature_2";
+        feature2.keyImpressions = createImpressions("feature_2");
+        Assert.assertEquals(Json.toJson(Arrays.asList(feature1, feature2)), writtenBody(bodyCaptor.getValue()));
+    }
+
+    private String writtenBody(HttpRequestBody body) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        body.writeTo(stream);
+        return stream.toString("UTF-8");
+    }
+
     private List<KeyImpression> createImpressions(String feature) {
         List<KeyImpression> impressions = new ArrayList<>();
         for(int i = 0; i <= 5; i++) {
@@ -0,0 +1,93 @@
+package io.split.android.client.service;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.split.android.client.dtos.ImpressionsCount;
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.service.executor.SplitTaskExecutionInfo;
+import io.split.android.client.service.executor.SplitTaskExecutionStatus;
+import io.split.android.client.service.executor.SplitTaskType;
+import io.split.android.client.service.http.HttpRecorder;
+import io.split.android.client.service.http.HttpRecorderException;
+import io.split.android.client.service.impressions.ImpressionsCountRecorderTask;
+import io.split.android.client.service.impressions.ImpressionsCounter;
+import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImpressionsCountRecorderTaskTest {
+
+    final static int COUNTS_PER_PUSH = 10;
+
+    HttpRecorder<ImpressionsCount> mRecorder;
+    PersistentImpressionsCountStorage mStorage;
+    ImpressionsCounter mCounter;
+
+    @Before
+    public void setup() {
+        mRecorder = (HttpRecorder<ImpressionsCount>) Mockito.mock(HttpRecorder.class);
+        mStorage = Mockito.mock(PersistentImpressionsCountStorage.class);
+        mCounter = new ImpressionsCounter();
+    }
+
+    @Test
+    public void inMemoryCountsAreSavedAndStoredCountsMerged() throws HttpRecorderException {
+        mCounter.inc("split", "on", 100, 2);
+        List<ImpressionsCountPerFeature> stored = new ArrayList<>();
+        stored.add(new ImpressionsCountPerFeature("split", "on", 0, 3));
+        stored.add(new ImpressionsCountPerFeature("split", "on", 0, 2));
+        stored.add(new ImpressionsCountPerFeature("split", "off", 0, 1));
+        when(mStorage.pop(COUNTS_PER_PUSH)).thenReturn(stored).thenReturn(new ArrayList<>());
+
+        SplitTaskExecutionInfo result = createTask().execute();
+
+        ArgumentCaptor<List> savedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mStorage, times(1)).pushMany(savedCaptor.capture());
+        Assert.assertEquals(1, savedCaptor.getValue().size());
+        Assert.assertTrue(mCounter.isEmpty());
+
+        ArgumentCaptor<ImpressionsCount> sentCaptor = ArgumentCaptor.forClass(ImpressionsCount.class);
+        verify(mRecorder, times(1)).execute(sentCaptor.capture());
+        List<ImpressionsCountPerFeature> sent = sentCaptor.getValue().perFeature;
+        Assert.assertEquals(2, sent.size());
+        Assert.assertEquals("on", sent.get(0).treatment);
+        Assert.assertEquals(5, sent.get(0).count);
+        Assert.assertEquals("off", sent.get(1).treatment);
+        Assert.assertEquals(1, sent.get(1).count);
+        verify(mStorage, times(1)).delete(stored);
+        verify(mStorage, never()).setActive(any());
+        Assert.assertEquals(SplitTaskType.IMPRESSIONS_COUNT_RECORDER, result.getTaskType());
+        Assert.assertEquals(SplitTaskExecutionStatus.SUCCESS, result.getStatus());
+    }
+
+    @Test
+    public void countsAreSetActiveAgainWhenSendingFails() throws HttpRecorderException {
+        List<ImpressionsCountPerFeature> stored = new ArrayList<>();
+        stored.add(new ImpressionsCountPerFeature("split", "on", 0, 3));
+        when(mStorage.pop(COUNTS_PER_PUSH)).thenReturn(stored);
+        doThrow(new HttpRecorderException("", "")).when(mRecorder).execute(any());
+
+        SplitTaskExecutionInfo result = createTask().execute();
+
+        verify(mStorage, times(1)).setActive(stored);
+        verify(mStorage, never()).delete(any());
+        verify(mStorage, times(1)).pushMany(any());
+        Assert.assertEquals(SplitTaskExecutionStatus.ERROR, result.getStatus());
+    }
+
+    private ImpressionsCountRecorderTask createTask() {
+        return new ImpressionsCountRecorderTask(mRecorder, mCounter, mStorage, COUNTS_PER_PUSH);
+    }
+}
@@ -0,0 +1,87 @@
+package io.split.android.client.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.client.dtos.ImpressionsCountPerFeature;
+import io.split.android.client.service.impressions.ImpressionsCounter;
+
+public class ImpressionsCounterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void countsBySplitTreatmentAndHour() {
+        ImpressionsCounter counter = new ImpressionsCounter();
+        long time = 10 * HOUR + 100;
+
+        counter.inc("split", "on", time, 1);
+        counter.inc("split", "on", time + 1000, 2);
+        counter.inc("split", "off", time, 1);
+        counter.inc("other", "on", time, 1);
+        counter.inc("split", "on", time + HOUR, 1);
+
+        List<ImpressionsCountPerFeature> counts = counter.popAll();
+
+        Assert.assertEquals(4, counts.size());
+        Assert.assertEquals(3, countOf(counts, "split", "on", 10 * HOUR));
+        Assert.assertEquals(1, countOf(counts, "split", "off", 10 * HOUR));
+        Assert.assertEquals(1, countOf(counts, "other", "on", 10 * HOUR));
+        Assert.assertEquals(1, countOf(counts, "split", "on", 11 * HOUR));
+    }
+
+    @Test
+    public void popAllEmptiesCounter() {
+        ImpressionsCounter counter = new ImpressionsCounter();
+
+        counter.inc("split", "on", 100, 1);
+        counter.popAll();
+
+        Assert.assertTrue(counter.isEmpty());
+        Assert.assertTrue(counter.popAll().isEmpty());
+        counter.inc("split", "on", 100, 1);
+        Assert.assertEquals(1, countOf(counter.popAll(), "split", "on", 0));
+    }
+
+    @Test
+    public void noCountIsLostWhilePoppingConcurrently() throws InterruptedException {
+        final ImpressionsCounter counter = new ImpressionsCounter();
+        final int threadCount = 4;
+        final int incCount = 10000;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < incCount; j++) {
+                        counter.inc("split", "on", 100, 1);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        List<ImpressionsCountPerFeature> counts = new ArrayList<>();
+        while (latch.getCount() > 0) {
+            counts.addAll(counter.popAll());
+        }
+        counts.addAll(counter.popAll());
+
+        Assert.assertEquals(threadCount * incCount, countOf(counts, "split", "on", 0));
+    }
+
+    private int countOf(List<ImpressionsCountPerFeature> counts, String feature, String treatment, long timeframe) {
+        int total = 0;
+        for (ImpressionsCountPerFeature count : counts) {
+            if (count.feature.equals(feature) && count.treatment.equals(treatment) && count.timeframe == timeframe) {
+                total += count.count;
+            }
+        }
+        return total;
+    }
+}
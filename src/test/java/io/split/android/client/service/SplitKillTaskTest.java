@@ -13,7 +13,10 @@ import io.split.android.client.service.executor.SplitTaskExecutionStatus;
 import io.split.android.client.service.executor.SplitTaskType;
 import io.split.android.client.service.http.HttpFetcherException;
 import io.split.android.client.service.splits.SplitKillTask;
+import io.split.android.client.storage.splits.InMemorySplitsSnapshot;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.storage.splits.SplitsStorageImpl;
 import io.split.android.helpers.FileHelper;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -65,6 +68,33 @@ public class SplitKillTaskTest {
         Assert.assertEquals(true, splitCaptor.getValue().killed);
     }
 
+    @Test
+    public void pinnedSnapshotKeepsSplitBeforeKill() {
+        SplitsStorage splitsStorage = new SplitsStorageImpl(Mockito.mock(PersistentSplitsStorage.class));
+        Split storedSplit = new Split();
+        storedSplit.name = "split1";
+        storedSplit.defaultTreatment = "off";
+        storedSplit.changeNumber = 100;
+        splitsStorage.updateWithoutChecks(storedSplit);
+        InMemorySplitsSnapshot snapshot = splitsStorage.getSnapshot();
+
+        Split split = new Split();
+        split.name = "split1";
+        split.defaultTreatment = "on";
+        split.changeNumber = 1001;
+        SplitTaskExecutionInfo result = new SplitKillTask(splitsStorage, split).execute();
+
+        Assert.assertEquals(SplitTaskExecutionStatus.SUCCESS, result.getStatus());
+        Assert.assertSame(storedSplit, snapshot.get("split1"));
+        Assert.assertFalse(snapshot.get("split1").killed);
+        Assert.assertEquals("off", snapshot.get("split1").defaultTreatment);
+        Assert.assertEquals(100, snapshot.get("split1").changeNumber);
+        Split killedSplit = splitsStorage.get("split1");
+        Assert.assertTrue(killedSplit.killed);
+        Assert.assertEquals("on", killedSplit.defaultTreatment);
+        Assert.assertEquals(1001, killedSplit.changeNumber);
+    }
+
     @Test
     public void oldChangeNumber() throws HttpFetcherException {
         Split split = new Split();
@@ -12,12 +12,18 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import io.split.android.client.SplitClientConfig;
 import io.split.android.client.dtos.Event;
@@ -27,6 +33,7 @@ import io.split.android.client.dtos.SplitChange;
 import io.split.android.client.events.SplitEventsManager;
 import io.split.android.client.events.SplitInternalEvent;
 import io.split.android.client.impressions.Impression;
+import io.split.android.client.impressions.ImpressionsMode;
 import io.split.android.client.service.events.EventsRecorderTask;
 import io.split.android.client.service.executor.SplitTask;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
@@ -36,7 +43,9 @@ import io.split.android.client.service.executor.SplitTaskFactory;
 import io.split.android.client.service.executor.SplitTaskType;
 import io.split.android.client.service.http.HttpFetcher;
 import io.split.android.client.service.http.HttpRecorder;
+import io.split.android.client.service.impressions.ImpressionsCountRecorderTask;
 import io.split.android.client.service.impressions.ImpressionsRecorderTask;
+import io.split.android.client.service.impressions.SaveImpressionsCountTask;
 import io.split.android.client.service.mysegments.MySegmentsSyncTask;
 import io.split.android.client.service.splits.SplitsSyncTask;
 import io.split.android.client.service.synchronizer.RecorderSyncHelper;
@@ -44,6 +53,7 @@ import io.split.android.client.service.synchronizer.Synchronizer;
 import io.split.android.client.service.synchronizer.SynchronizerImpl;
 import io.split.android.client.service.synchronizer.WorkManagerWrapper;
 import io.split.android.client.storage.SplitStorageContainer;
+import io.split.android.client.storage.StoragePusher;
 import io.split.android.client.storage.events.PersistentEventsStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
@@ -53,9 +63,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -205,6 +219,26 @@ public class SynchronizerTest {
         verify(mTaskExecutor, times(1)).resume();
     }
 
+    @Test
+    public void impressionsCountTasksScheduledInCountMode() {
+        SplitClientConfig config = SplitClientConfig.builder()
+                .sychronizeInBackground(false)
+                .impressionsMode(ImpressionsMode.COUNT)
+                .build();
+        setup(config);
+        when(mTaskFactory.createSaveImpressionsCountTask()).thenReturn(Mockito.mock(SaveImpressionsCountTask.class));
+        when(mTaskFactory.createImpressionsCountRecorderTask()).thenReturn(Mockito.mock(ImpressionsCountRecorderTask.class));
+
+        mSynchronizer.startPeriodicRecording();
+
+        verify(mTaskExecutor, times(1)).schedule(
+                any(SaveImpressionsCountTask.class), anyLong(), anyLong(),
+                any());
+        verify(mTaskExecutor, times(1)).schedule(
+                any(ImpressionsCountRecorderTask.class), anyLong(), anyLong(),
+                any());
+    }
+
     @Test
     public void pushEvent() throws InterruptedException {
         SplitClientConfig config = SplitClientConfig.builder()
@@ -220,7 +254,9 @@ public class SynchronizerTest {
         verify(mTaskExecutor, times(0)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
-        verify(mEventsStorage, times(1)).push(event);
+        List<Event> pushedEvents = pushedRecords(mEventsStorage);
+        Assert.assertEquals(1, pushedEvents.size());
+        Assert.assertEquals(event, pushedEvents.get(0));
     }
 
     @Test
@@ -236,7 +272,7 @@ public class SynchronizerTest {
             mSynchronizer.pushEvent(new Event());
         }
         Thread.sleep(200);
-        verify(mEventsStorage, times(22)).push(any(Event.class));
+        Assert.assertEquals(22, pushedRecords(mEventsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
@@ -257,7 +293,7 @@ public class SynchronizerTest {
             mSynchronizer.pushEvent(event);
         }
         Thread.sleep(200);
-        verify(mEventsStorage, times(6)).push(any(Event.class));
+        Assert.assertEquals(6, pushedRecords(mEventsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
@@ -272,21 +308,22 @@ public class SynchronizerTest {
                 .build();
         setup(config);
         Impression impression = createImpression();
-        ArgumentCaptor<KeyImpression> impressionCaptor = ArgumentCaptor.forClass(KeyImpression.class);
         mSynchronizer.startPeriodicRecording();
         mSynchronizer.pushImpression(impression);
         Thread.sleep(200);
         verify(mTaskExecutor, times(0)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
-        verify(mImpressionsStorage, times(1)).push(impressionCaptor.capture());
-        Assert.assertEquals("key", impressionCaptor.getValue().keyName);
-        Assert.assertEquals("bkey", impressionCaptor.getValue().bucketingKey);
-        Assert.assertEquals("split", impressionCaptor.getValue().feature);
-        Assert.assertEquals("on", impressionCaptor.getValue().treatment);
-        Assert.assertEquals(100L, impressionCaptor.getValue().time);
-        Assert.assertEquals("default rule", impressionCaptor.getValue().label);
-        Assert.assertEquals(999, impressionCaptor.getValue().changeNumber.longValue());
+        List<KeyImpression> pushedImpressions = pushedRecords(mImpressionsStorage);
+        Assert.assertEquals(1, pushedImpressions.size());
+        KeyImpression pushedImpression = pushedImpressions.get(0);
+        Assert.assertEquals("key", pushedImpression.keyName);
+        Assert.assertEquals("bkey", pushedImpression.bucketingKey);
+        Assert.assertEquals("split", pushedImpression.feature);
+        Assert.assertEquals("on", pushedImpression.treatment);
+        Assert.assertEquals(100L, pushedImpression.time);
+        Assert.assertEquals("default rule", pushedImpression.label);
+        Assert.assertEquals(999, pushedImpression.changeNumber.longValue());
     }
 
     @Test
@@ -302,7 +339,7 @@ public class SynchronizerTest {
             mSynchronizer.pushImpression(createImpression());
         }
         Thread.sleep(200);
-        verify(mImpressionsStorage, times(8)).push(any(KeyImpression.class));
+        Assert.assertEquals(8, pushedRecords(mImpressionsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(RecorderSyncHelper.class));
@@ -322,12 +359,77 @@ public class SynchronizerTest {
             mSynchronizer.pushImpression(createImpression());
         }
         Thread.sleep(200);
-        verify(mImpressionsStorage, times(10)).push(any(KeyImpression.class));
+        Assert.assertEquals(10, pushedRecords(mImpressionsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
     }
 
+    @Test
+    public void recordsPushedBeforeFlushAreStoredBeforeRecorderTasks() {
+        SplitClientConfig config = SplitClientConfig.builder()
+                .eventsQueueSize(10)
+                .sychronizeInBackground(false)
+                .impressionsQueueSize(3)
+                .build();
+        setup(config);
+        Event event = new Event();
+        Impression impression = createImpression();
+
+        mSynchronizer.pushEvent(event);
+        mSynchronizer.pushImpression(impression);
+        mSynchronizer.flush();
+
+        verify(mTaskExecutor, timeout(1000)).submit(
+                any(EventsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+        verify(mTaskExecutor, timeout(1000)).submit(
+                any(ImpressionsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+        InOrder eventsOrder = inOrder(mEventsStorage, mTaskExecutor);
+        eventsOrder.verify(mEventsStorage).pushMany(Collections.singletonList(event));
+        eventsOrder.verify(mTaskExecutor).submit(
+                any(EventsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+        InOrder impressionsOrder = inOrder(mImpressionsStorage, mTaskExecutor);
+        impressionsOrder.verify(mImpressionsStorage).pushMany(Mockito.<KeyImpression>anyList());
+        impressionsOrder.verify(mTaskExecutor).submit(
+                any(ImpressionsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+    }
+
+    @Test
+    public void flushDoesNotWaitForRecordsToBeStored() throws InterruptedException {
+        SplitClientConfig config = SplitClientConfig.builder()
+                .eventsQueueSize(10)
+                .sychronizeInBackground(false)
+                .impressionsQueueSize(3)
+                .build();
+        setup(config);
+        final CountDownLatch storageLatch = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                storageLatch.await(5, TimeUnit.SECONDS);
+                return null;
+            }
+        }).when(mEventsStorage).pushMany(Mockito.<Event>anyList());
+
+        mSynchronizer.pushEvent(new Event());
+        long start = System.currentTimeMillis();
+        mSynchronizer.flush();
+        long flushTime = System.currentTimeMillis() - start;
+
+        Assert.assertTrue(flushTime < 1000);
+        verify(mTaskExecutor, never()).submit(
+                any(EventsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+        storageLatch.countDown();
+        verify(mTaskExecutor, timeout(1000)).submit(
+                any(EventsRecorderTask.class),
+                any(SplitTaskExecutionListener.class));
+    }
+
     @Test
     public void loadLocalData() {
         SplitClientConfig config = SplitClientConfig.builder()
@@ -353,6 +455,17 @@ public class SynchronizerTest {
     public void tearDown() {
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> List<T> pushedRecords(StoragePusher<T> storage) {
+        ArgumentCaptor<List> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(storage, atLeastOnce()).pushMany(batchCaptor.capture());
+        List<T> records = new ArrayList<>();
+        for (List batch : batchCaptor.getAllValues()) {
+            records.addAll(batch);
+        }
+        return records;
+    }
+
     private Impression createImpression() {
         return new Impression("key", "bkey", "split", "on",
                 100L, "default rule", 999L, null);
@@ -45,6 +45,7 @@ import io.split.android.client.service.synchronizer.Synchronizer;
 import io.split.android.client.service.synchronizer.SynchronizerImpl;
 import io.split.android.client.service.synchronizer.WorkManagerWrapper;
 import io.split.android.client.storage.SplitStorageContainer;
+import io.split.android.client.storage.StoragePusher;
 import io.split.android.client.storage.events.PersistentEventsStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
@@ -57,6 +58,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -237,7 +239,9 @@ public class SynchronizerTest {
         verify(mTaskExecutor, times(0)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
-        verify(mEventsStorage, times(1)).push(event);
+        List<Event> pushedEvents = pushedRecords(mEventsStorage);
+        Assert.assertEquals(1, pushedEvents.size());
+        Assert.assertEquals(event, pushedEvents.get(0));
     }
 
     @Test
@@ -253,7 +257,7 @@ public class SynchronizerTest {
             mSynchronizer.pushEvent(new Event());
         }
         Thread.sleep(200);
-        verify(mEventsStorage, times(22)).push(any(Event.class));
+        Assert.assertEquals(22, pushedRecords(mEventsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
@@ -274,7 +278,7 @@ public class SynchronizerTest {
             mSynchronizer.pushEvent(event);
         }
         Thread.sleep(200);
-        verify(mEventsStorage, times(6)).push(any(Event.class));
+        Assert.assertEquals(6, pushedRecords(mEventsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(EventsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
@@ -289,21 +293,22 @@ public class SynchronizerTest {
                 .build();
         setup(config);
         Impression impression = createImpression();
-        ArgumentCaptor<KeyImpression> impressionCaptor = ArgumentCaptor.forClass(KeyImpression.class);
         mSynchronizer.startPeriodicRecording();
         mSynchronizer.pushImpression(impression);
         Thread.sleep(200);
         verify(mTaskExecutor, times(0)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
-        verify(mImpressionsStorage, times(1)).push(impressionCaptor.capture());
-        Assert.assertEquals("key", impressionCaptor.getValue().keyName);
-        Assert.assertEquals("bkey", impressionCaptor.getValue().bucketingKey);
-        Assert.assertEquals("split", impressionCaptor.getValue().feature);
-        Assert.assertEquals("on", impressionCaptor.getValue().treatment);
-        Assert.assertEquals(100L, impressionCaptor.getValue().time);
-        Assert.assertEquals("default rule", impressionCaptor.getValue().label);
-        Assert.assertEquals(999, impressionCaptor.getValue().changeNumber.longValue());
+        List<KeyImpression> pushedImpressions = pushedRecords(mImpressionsStorage);
+        Assert.assertEquals(1, pushedImpressions.size());
+        KeyImpression pushedImpression = pushedImpressions.get(0);
+        Assert.assertEquals("key", pushedImpression.keyName);
+        Assert.assertEquals("bkey", pushedImpression.bucketingKey);
+        Assert.assertEquals("split", pushedImpression.feature);
+        Assert.assertEquals("on", pushedImpression.treatment);
+        Assert.assertEquals(100L, pushedImpression.time);
+        Assert.assertEquals("default rule", pushedImpression.label);
+        Assert.assertEquals(999, pushedImpression.changeNumber.longValue());
     }
 
     @Test
@@ -319,7 +324,7 @@ public class SynchronizerTest {
             mSynchronizer.pushImpression(createImpression());
         }
         Thread.sleep(200);
-        verify(mImpressionsStorage, times(8)).push(any(KeyImpression.class));
+        Assert.assertEquals(8, pushedRecords(mImpressionsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(RecorderSyncHelper.class));
@@ -339,7 +344,7 @@ public class SynchronizerTest {
             mSynchronizer.pushImpression(createImpression());
         }
         Thread.sleep(200);
-        verify(mImpressionsStorage, times(10)).push(any(KeyImpression.class));
+        Assert.assertEquals(10, pushedRecords(mImpressionsStorage).size());
         verify(mTaskExecutor, times(2)).submit(
                 any(ImpressionsRecorderTask.class),
                 any(SplitTaskExecutionListener.class));
@@ -370,6 +375,17 @@ public class SynchronizerTest {
     public void tearDown() {
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> List<T> pushedRecords(StoragePusher<T> storage) {
+        ArgumentCaptor<List> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(storage, atLeastOnce()).pushMany(batchCaptor.capture());
+        List<T> records = new ArrayList<>();
+        for (List batch : batchCaptor.getAllValues()) {
+            records.addAll(batch);
+        }
+        return records;
+    }
+
     private Impression createImpression() {
         return new Impression("key", "bkey", "split", "on",
                 100L, "default rule", 999L, null);
@@ -0,0 +1,174 @@
+package io.split.android.client.service.synchronizer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.client.storage.StoragePusher;
+
+public class BatchedStorageWriterTest {
+
+    @Test
+    public void recordsAreWrittenInBatches() throws InterruptedException {
+        RecordingStorage storage = new RecordingStorage(25);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 10, 100, 10000, 5000);
+
+        for (int i = 0; i < 25; i++) {
+            Assert.assertTrue(writer.write(i));
+        }
+        Assert.assertTrue(writer.writeNow());
+
+        Assert.assertEquals(25, storage.records().size());
+        for (List<Integer> batch : storage.batches()) {
+            Assert.assertTrue(batch.size() <= 10);
+        }
+        Assert.assertTrue(storage.batches().size() < 25);
+        writer.stop();
+    }
+
+    @Test
+    public void writeNowWaitsForRecordsToBeStored() {
+        RecordingStorage storage = new RecordingStorage(1);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 100, 100, 10000, 5000);
+
+        writer.write(1);
+
+        Assert.assertTrue(writer.writeNow());
+        Assert.assertEquals(Collections.singletonList(1), storage.records());
+        writer.stop();
+        Assert.assertTrue(writer.writeNow());
+    }
+
+    @Test
+    public void writeNowCallbackRunsAfterRecordsAreStored() throws InterruptedException {
+        final RecordingStorage storage = new RecordingStorage(1);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 100, 100, 10000, 5000);
+        final List<Integer> storedWhenCalled = new ArrayList<>();
+        final CountDownLatch callbackLatch = new CountDownLatch(1);
+
+        writer.write(1);
+        writer.writeNow(new Runnable() {
+            @Override
+            public void run() {
+                storedWhenCalled.addAll(storage.records());
+                callbackLatch.countDown();
+            }
+        });
+
+        Assert.assertTrue(callbackLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList(1), storedWhenCalled);
+        writer.stop();
+    }
+
+    @Test
+    public void incompleteBatchIsWrittenAfterMaxDelay() throws InterruptedException {
+        RecordingStorage storage = new RecordingStorage(3);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 10, 100, 50, 5000);
+
+        writer.write(1);
+        writer.write(2);
+        writer.write(3);
+
+        Assert.assertTrue(storage.await());
+        Assert.assertEquals(3, storage.records().size());
+        writer.stop();
+    }
+
+    @Test
+    public void recordsOverMaxPendingAreDropped() throws InterruptedException {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        BlockingStorage storage = new BlockingStorage(writeStarted, releaseWrite);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 1, 2, 10000, 5000);
+
+        writer.write(0);
+        Assert.assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(writer.write(1));
+        Assert.assertTrue(writer.write(2));
+        Assert.assertFalse(writer.write(3));
+
+        releaseWrite.countDown();
+        writer.stop();
+    }
+
+    @Test
+    public void pendingRecordsAreWrittenOnStop() throws InterruptedException {
+        RecordingStorage storage = new RecordingStorage(5);
+        BatchedStorageWriter<Integer> writer = new BatchedStorageWriter<>("test", storage, 100, 100, 10000, 5000);
+
+        for (int i = 0; i < 5; i++) {
+            writer.write(i);
+        }
+        writer.stop();
+
+        Assert.assertEquals(5, storage.records().size());
+        Assert.assertFalse(writer.write(6));
+    }
+
+    private static class RecordingStorage implements StoragePusher<Integer> {
+        private final List<List<Integer>> mBatches = new ArrayList<>();
+        private final CountDownLatch mLatch;
+
+        RecordingStorage(int expectedCount) {
+            mLatch = new CountDownLatch(expectedCount);
+        }
+
+        @Override
+        public void push(Integer record) {
+            pushMany(Collections.singletonList(record));
+        }
+
+        @Override
+        public synchronized void pushMany(List<Integer> records) {
+            mBatches.add(records);
+            for (int i = 0; i < records.size(); i++) {
+                mLatch.countDown();
+            }
+        }
+
+        boolean await() throws InterruptedException {
+            return mLatch.await(5, TimeUnit.SECONDS);
+        }
+
+        synchronized List<List<Integer>> batches() {
+            return new ArrayList<>(mBatches);
+        }
+
+        synchronized List<Integer> records() {
+            List<Integer> records = new ArrayList<>();
+            for (List<Integer> batch : mBatches) {
+                records.addAll(batch);
+            }
+            return records;
+        }
+    }
+
+    private static class BlockingStorage implements StoragePusher<Integer> {
+        private final CountDownLatch mWriteStarted;
+        private final CountDownLatch mReleaseWrite;
+
+        BlockingStorage(CountDownLatch writeStarted, CountDownLatch releaseWrite) {
+            mWriteStarted = writeStarted;
+            mReleaseWrite = releaseWrite;
+        }
+
+        @Override
+        public void push(Integer record) {
+        }
+
+        @Override
+        public void pushMany(List<Integer> records) {
+            mWriteStarted.countDown();
+            try {
+                mReleaseWrite.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
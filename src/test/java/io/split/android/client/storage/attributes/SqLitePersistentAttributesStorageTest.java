@@ -0,0 +1,60 @@
+package io.split.android.client.storage.attributes;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.split.android.client.storage.db.AttributesDao;
+import io.split.android.client.storage.db.AttributesEntity;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SqLitePersistentAttributesStorageTest {
+
+    private AttributesDao mAttributesDao;
+    private SqLitePersistentAttributesStorage mStorage;
+
+    @Before
+    public void setup() {
+        mAttributesDao = mock(AttributesDao.class);
+        SplitRoomDatabase database = mock(SplitRoomDatabase.class);
+        when(database.attributesDao()).thenReturn(mAttributesDao);
+        mStorage = new SqLitePersistentAttributesStorage(database, "key");
+    }
+
+    @Test
+    public void valuesKeepTheirTypes() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("age", 30L);
+        attributes.put("score", 30.0);
+        attributes.put("premium", true);
+        attributes.put("plan", "free");
+        attributes.put("tags", Arrays.asList("a", "b"));
+        ArgumentCaptor<AttributesEntity> entityCaptor = ArgumentCaptor.forClass(AttributesEntity.class);
+
+        mStorage.set(attributes);
+        verify(mAttributesDao).update(entityCaptor.capture());
+        when(mAttributesDao.getByUserKey("key")).thenReturn(entityCaptor.getValue());
+
+        Assert.assertEquals("key", entityCaptor.getValue().getUserKey());
+        Assert.assertEquals(attributes, mStorage.getSnapshot());
+    }
+
+    @Test
+    public void invalidJsonIsIgnored() {
+        AttributesEntity entity = new AttributesEntity();
+        entity.setUserKey("key");
+        entity.setAttributes("{invalid");
+        when(mAttributesDao.getByUserKey("key")).thenReturn(entity);
+
+        Assert.assertTrue(mStorage.getSnapshot().isEmpty());
+    }
+}
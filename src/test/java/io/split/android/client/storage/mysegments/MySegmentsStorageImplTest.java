@@ -0,0 +1,88 @@
+package io.split.android.client.storage.mysegments;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import io.split.android.engine.matchers.MySegmentsMatcher;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MySegmentsStorageImplTest {
+
+    private PersistentMySegmentsStorage mPersistentStorage;
+    private MySegmentsStorageImpl mMySegmentsStorage;
+
+    @Before
+    public void setup() {
+        mPersistentStorage = mock(PersistentMySegmentsStorage.class);
+        mMySegmentsStorage = new MySegmentsStorageImpl(mPersistentStorage);
+    }
+
+    @Test
+    public void segmentIdsAreStable() {
+        int id = mMySegmentsStorage.segmentId("s1");
+        mMySegmentsStorage.set(Arrays.asList("s2", "s1"));
+        mMySegmentsStorage.set(Arrays.asList("s3"));
+
+        Assert.assertEquals(id, mMySegmentsStorage.segmentId("s1"));
+        Assert.assertNotEquals(id, mMySegmentsStorage.segmentId("s2"));
+    }
+
+    @Test
+    public void membershipIsNotChangedByLaterUpdates() {
+        mMySegmentsStorage.set(Arrays.asList("s1", "s2", "s1"));
+        SegmentMembership membership = mMySegmentsStorage.getMembership();
+
+        mMySegmentsStorage.set(Arrays.asList("s3"));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("s1", "s2")), membership);
+        Assert.assertEquals(2, membership.size());
+        Assert.assertTrue(membership.contains(mMySegmentsStorage.segmentId("s1")));
+        Assert.assertFalse(membership.contains(mMySegmentsStorage.segmentId("s3")));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("s3")), mMySegmentsStorage.getAll());
+    }
+
+    @Test
+    public void loadLocalAddsPersistedSegments() {
+        when(mPersistentStorage.getSnapshot()).thenReturn(Arrays.asList("s2", "s3"));
+        mMySegmentsStorage.set(Arrays.asList("s1"));
+
+        mMySegmentsStorage.loadLocal();
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("s1", "s2", "s3")), mMySegmentsStorage.getAll());
+        Assert.assertFalse(mMySegmentsStorage.getAll().contains("unknown"));
+        Assert.assertFalse(mMySegmentsStorage.getAll().contains(null));
+    }
+
+    @Test
+    public void matcherUsesCurrentMembership() {
+        // Segment with a bigger id than the ones in the bitset
+        for (int i = 0; i < 100; i++) {
+            mMySegmentsStorage.segmentId("segment" + i);
+        }
+        MySegmentsMatcher matcher = new MySegmentsMatcher(mMySegmentsStorage, "segment99");
+        mMySegmentsStorage.set(Arrays.asList("segment1"));
+
+        Assert.assertFalse(matcher.match(null, null, null, null));
+
+        mMySegmentsStorage.set(Arrays.asList("segment1", "segment99"));
+        Assert.assertTrue(matcher.match(null, null, null, null));
+
+        mMySegmentsStorage.clear();
+        Assert.assertFalse(matcher.match(null, null, null, null));
+        Assert.assertTrue(mMySegmentsStorage.getAll().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void membershipCantBeModified() {
+        mMySegmentsStorage.set(new ArrayList<>(Arrays.asList("s1")));
+
+        mMySegmentsStorage.getAll().add("s2");
+    }
+}
@@ -0,0 +1,85 @@
+package io.split.android.client.storage.splits;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.engine.experiments.ParsedSplit;
+import io.split.android.helpers.SplitHelper;
+
+import static org.mockito.Mockito.mock;
+
+public class ParsedSplitsCacheTest {
+
+    private ParsedSplitsCache mCache;
+    private SplitsStorageImpl mSplitsStorage;
+
+    @Before
+    public void setup() {
+        mCache = new ParsedSplitsCache();
+        mSplitsStorage = new SplitsStorageImpl(mock(PersistentSplitsStorage.class), mCache);
+    }
+
+    @Test
+    public void getReturnsParsedSplitForSameChangeNumber() {
+        Split split = newSplit("split1", 100);
+        ParsedSplit parsedSplit = newParsedSplit("split1", 100);
+        mCache.put(parsedSplit);
+
+        Assert.assertSame(parsedSplit, mCache.get(split));
+    }
+
+    @Test
+    public void getIgnoresParsedSplitWithDifferentChangeNumber() {
+        mCache.put(newParsedSplit("split1", 100));
+
+        Assert.assertNull(mCache.get(newSplit("split1", 101)));
+    }
+
+    @Test
+    public void storageUpdateInvalidatesChangedAndArchivedSplits() {
+        mCache.put(newParsedSplit("split1", 100));
+        mCache.put(newParsedSplit("split2", 100));
+        mCache.put(newParsedSplit("split3", 100));
+
+        mSplitsStorage.update(new ProcessedSplitChange(
+                Arrays.asList(newSplit("split1", 100)),
+                Arrays.asList(newSplit("split2", 100)), 200));
+
+        Assert.assertNull(mCache.get(newSplit("split1", 100)));
+        Assert.assertNull(mCache.get(newSplit("split2", 100)));
+        Assert.assertNotNull(mCache.get(newSplit("split3", 100)));
+    }
+
+    @Test
+    public void storageUpdateWithoutChecksInvalidatesSplit() {
+        mCache.put(newParsedSplit("split1", 100));
+
+        mSplitsStorage.updateWithoutChecks(newSplit("split1", 100));
+
+        Assert.assertNull(mCache.get(newSplit("split1", 100)));
+    }
+
+    @Test
+    public void storageClearClearsCache() {
+        mCache.put(newParsedSplit("split1", 100));
+
+        mSplitsStorage.clear();
+
+        Assert.assertNull(mCache.get(newSplit("split1", 100)));
+    }
+
+    private Split newSplit(String name, long changeNumber) {
+        return SplitHelper.createSplit(name, 1, false, "off", new ArrayList<>(),
+                "user", changeNumber, 2, null);
+    }
+
+    private ParsedSplit newParsedSplit(String name, long changeNumber) {
+        return SplitHelper.createParsedSplit(name, 1, false, "off", new ArrayList<>(),
+                "user", changeNumber, 2, null);
+    }
+}
@@ -0,0 +1,90 @@
+package io.split.android.client.storage.splits;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.helpers.SplitHelper;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SplitsStorageImplTest {
+
+    private PersistentSplitsStorage mPersistentStorage;
+    private SplitsStorageImpl mSplitsStorage;
+
+    @Before
+    public void setup() {
+        mPersistentStorage = mock(PersistentSplitsStorage.class);
+        mSplitsStorage = new SplitsStorageImpl(mPersistentStorage);
+    }
+
+    @Test
+    public void snapshotIsNotChangedByLaterUpdates() {
+        mSplitsStorage.update(new ProcessedSplitChange(
+                Arrays.asList(newSplit("split1", "user"), newSplit("split2", "user")),
+                Collections.<Split>emptyList(), 100));
+        InMemorySplitsSnapshot snapshot = mSplitsStorage.getSnapshot();
+
+        mSplitsStorage.update(new ProcessedSplitChange(
+                Arrays.asList(newSplit("split3", "account")),
+                Arrays.asList(newSplit("split1", "user")), 200));
+
+        Assert.assertEquals(100, snapshot.getChangeNumber());
+        Assert.assertEquals(2, snapshot.getSplits().size());
+        Assert.assertNotNull(snapshot.get("split1"));
+        Assert.assertNull(snapshot.get("split3"));
+        Assert.assertFalse(snapshot.isValidTrafficType("account"));
+
+        InMemorySplitsSnapshot updated = mSplitsStorage.getSnapshot();
+        Assert.assertEquals(200, updated.getChangeNumber());
+        Assert.assertNull(updated.get("split1"));
+        Assert.assertNotNull(updated.get("split3"));
+        Assert.assertTrue(updated.isValidTrafficType("Account"));
+        Assert.assertEquals(200, mSplitsStorage.getTill());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotSplitsCantBeModified() {
+        mSplitsStorage.updateWithoutChecks(newSplit("split1", "user"));
+
+        mSplitsStorage.getSnapshot().getSplits().remove("split1");
+    }
+
+    @Test
+    public void loadLocalCountsTrafficTypes() {
+        when(mPersistentStorage.getSnapshot()).thenReturn(new SplitsSnapshot(
+                Arrays.asList(newSplit("split1", "user"), newSplit("split2", "user")), 300));
+
+        mSplitsStorage.loadLocal();
+        mSplitsStorage.update(new ProcessedSplitChange(
+                Collections.<Split>emptyList(), Arrays.asList(newSplit("split1", "user")), 400));
+
+        Assert.assertTrue(mSplitsStorage.isValidTrafficType("user"));
+        Assert.assertEquals(1, mSplitsStorage.getAll().size());
+        Assert.assertEquals(400, mSplitsStorage.getTill());
+    }
+
+    @Test
+    public void clearKeepsChangeNumber() {
+        mSplitsStorage.update(new ProcessedSplitChange(
+                Arrays.asList(newSplit("split1", "user")), Collections.<Split>emptyList(), 100));
+
+        mSplitsStorage.clear();
+
+        Assert.assertTrue(mSplitsStorage.getAll().isEmpty());
+        Assert.assertFalse(mSplitsStorage.isValidTrafficType("user"));
+        Assert.assertEquals(100, mSplitsStorage.getTill());
+    }
+
+    private Split newSplit(String name, String trafficType) {
+        return SplitHelper.createSplit(name, 1, false, "off", new ArrayList<>(),
+                trafficType, 100, 2, null);
+    }
+}
@@ -0,0 +1,59 @@
+package io.split.android.client.utils;
+
+import com.google.gson.JsonParseException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.SplitResult;
+
+public class JsonTreeTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void valuesHaveStandardTypes() {
+        Map<String, Object> tree = JsonTree.parseObject("{\"color\":\"blue\",\"size\":10,\"ratio\":0.5," +
+                "\"big\":1e3,\"huge\":12345678901234567890,\"enabled\":true,\"none\":null," +
+                "\"items\":[1,\"a\"],\"nested\":{\"depth\":2}}");
+
+        Assert.assertEquals("blue", tree.get("color"));
+        Assert.assertEquals(10L, tree.get("size"));
+        Assert.assertEquals(0.5, tree.get("ratio"));
+        Assert.assertEquals(1000.0, tree.get("big"));
+        Assert.assertTrue(tree.get("huge") instanceof Double);
+        Assert.assertEquals(true, tree.get("enabled"));
+        Assert.assertTrue(tree.containsKey("none"));
+        Assert.assertNull(tree.get("none"));
+        Assert.assertEquals(Arrays.asList(1L, "a"), tree.get("items"));
+        Assert.assertEquals(2L, ((Map<String, Object>) tree.get("nested")).get("depth"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @SuppressWarnings("unchecked")
+    public void treeCantBeModified() {
+        Map<String, Object> tree = JsonTree.parseObject("{\"items\":[1]}");
+
+        ((List<Object>) tree.get("items")).add(2L);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void arrayIsNotAnObject() {
+        JsonTree.parseObject("[1, 2]");
+    }
+
+    @Test
+    public void splitResultParsesConfigOnce() {
+        SplitResult result = new SplitResult("on", "{\"color\":\"blue\"}");
+
+        Map<String, Object> config = result.parsedConfig();
+
+        Assert.assertEquals("blue", config.get("color"));
+        Assert.assertSame(config, result.parsedConfig());
+        Assert.assertNull(new SplitResult("on").parsedConfig());
+        Assert.assertNull(new SplitResult("on", "{invalid").parsedConfig());
+    }
+}
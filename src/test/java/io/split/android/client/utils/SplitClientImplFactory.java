@@ -9,7 +9,9 @@ import io.split.android.client.events.SplitEventsManager;
 import io.split.android.client.events.SplitInternalEvent;
 import io.split.android.client.impressions.ImpressionListener;
 import io.split.android.client.service.synchronizer.SyncManager;
+import io.split.android.client.storage.StorageVersion;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.splits.ParsedSplitsCache;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.engine.experiments.SplitParser;
 import io.split.android.engine.metrics.Metrics;
@@ -36,6 +38,8 @@ public class SplitClientImplFactory {
                 cfg,
                 eventsManager,
                 mock(SplitsStorage.class),
+                new ParsedSplitsCache(),
+                new StorageVersion(),
                 mock(EventPropertiesProcessor.class),
                 mock(SyncManager.class)
         );
@@ -61,6 +65,8 @@ public class SplitClientImplFactory {
                 cfg,
                 new SplitEventsManager(cfg),
                 mock(SplitsStorage.class),
+                new ParsedSplitsCache(),
+                new StorageVersion(),
                 mock(EventPropertiesProcessor.class),
                 mock(SyncManager.class)
         );
@@ -77,6 +83,8 @@ public class SplitClientImplFactory {
                 SplitClientConfig.builder().build(),
                 eventsManager,
                 mock(SplitsStorage.class),
+                new ParsedSplitsCache(),
+                new StorageVersion(),
                 mock(EventPropertiesProcessor.class),
                 mock(SyncManager.class)
         );
@@ -58,7 +58,7 @@ public class ConditionsTestUtil {
         return whitelistMatcher(null, null, whitelist, negate, MatcherType.WHITELIST);
     }
 
-    private static Matcher whitelistMatcher(String trafficType, String attribute, List<String> whitelist, boolean negate, MatcherType matcherType) {
+    public static Matcher whitelistMatcher(String trafficType, String attribute, List<String> whitelist, boolean negate, MatcherType matcherType) {
         WhitelistMatcherData whitelistMatcherData = new WhitelistMatcherData();
         whitelistMatcherData.whitelist = whitelist;
 
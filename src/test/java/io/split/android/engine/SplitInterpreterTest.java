@@ -0,0 +1,127 @@
+package io.split.android.engine;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.Evaluator;
+import io.split.android.client.EvaluatorImpl;
+import io.split.android.client.TreatmentLabels;
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.engine.experiments.ParsedCondition;
+import io.split.android.engine.experiments.ParsedSplit;
+import io.split.android.engine.experiments.SplitParser;
+import io.split.android.engine.splitter.Splitter;
+import io.split.android.helpers.FileHelper;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SplitInterpreterTest {
+
+    private List<ParsedSplit> mParsedSplits;
+    private Evaluator mEvaluator;
+
+    @Before
+    public void setup() {
+        FileHelper fileHelper = new FileHelper();
+        MySegmentsStorage mySegmentsStorage = mock(MySegmentsStorage.class);
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        Set<String> mySegments = new HashSet<>(Arrays.asList("s1", "s2", "test_copy"));
+        when(mySegmentsStorage.getAll()).thenReturn(mySegments);
+
+        List<Split> splits = fileHelper.loadAndParseSplitChangeFile("split_changes_1.json");
+        SplitParser splitParser = new SplitParser(mySegmentsStorage);
+        mParsedSplits = new ArrayList<>();
+        for (Split split : splits) {
+            when(splitsStorage.get(split.name)).thenReturn(split);
+            ParsedSplit parsedSplit = splitParser.parse(split);
+            if (parsedSplit != null) {
+                mParsedSplits.add(parsedSplit);
+            }
+        }
+        mEvaluator = new EvaluatorImpl(splitsStorage, splitParser);
+    }
+
+    @Test
+    public void sameResultsThanWalkingConditions() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("age", 30);
+        attributes.put("isEmployee", true);
+        attributes.put("permissions", Arrays.asList("read", "write"));
+        attributes.put("date", 1565000000000L);
+
+        String[] keys = {"nico_test", "bla", "anyKey", "mauro@split.io", "key", "", "user_123"};
+        for (ParsedSplit parsedSplit : mParsedSplits) {
+            for (String key : keys) {
+                for (int i = 0; i < 50; i++) {
+                    String bucketingKey = (i == 0) ? null : key + i;
+                    assertSameResult(parsedSplit, key, bucketingKey, null);
+                    assertSameResult(parsedSplit, key, bucketingKey, attributes);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void programIsCompiledOnce() {
+        ParsedSplit parsedSplit = mParsedSplits.get(0);
+
+        Assert.assertSame(parsedSplit.program(), parsedSplit.program());
+        Assert.assertEquals(parsedSplit.changeNumber(), parsedSplit.program().changeNumber());
+        Assert.assertEquals(parsedSplit.parsedConditions().size(), parsedSplit.program().conditionCount());
+    }
+
+    private void assertSameResult(ParsedSplit parsedSplit, String matchingKey, String bucketingKey,
+                                  Map<String, Object> attributes) {
+        SplitProgram program = parsedSplit.program();
+        int outcome = SplitInterpreter.evaluate(program, matchingKey, bucketingKey, attributes, mEvaluator);
+        String[] expected = walk(parsedSplit, matchingKey, bucketingKey, attributes);
+
+        String message = parsedSplit.feature() + " / " + matchingKey + " / " + bucketingKey;
+        Assert.assertEquals(message, expected[0], program.treatment(outcome));
+        Assert.assertEquals(message, expected[1], program.label(outcome));
+        Assert.assertEquals(message, expected[2], program.configurations(outcome));
+    }
+
+    private String[] walk(ParsedSplit parsedSplit, String matchingKey, String bucketingKey,
+                          Map<String, Object> attributes) {
+        if (parsedSplit.killed()) {
+            return result(parsedSplit, parsedSplit.defaultTreatment(), TreatmentLabels.KILLED);
+        }
+        boolean inRollout = false;
+        String bk = (bucketingKey == null) ? matchingKey : bucketingKey;
+        for (ParsedCondition parsedCondition : parsedSplit.parsedConditions()) {
+            if (!inRollout && parsedCondition.conditionType() == ConditionType.ROLLOUT) {
+                if (parsedSplit.trafficAllocation() < 100) {
+                    int bucket = Splitter.getBucket(bk, parsedSplit.trafficAllocationSeed(), parsedSplit.algo());
+                    if (bucket > parsedSplit.trafficAllocation()) {
+                        return result(parsedSplit, parsedSplit.defaultTreatment(), TreatmentLabels.NOT_IN_SPLIT);
+                    }
+                }
+                inRollout = true;
+            }
+            if (parsedCondition.matcher().match(matchingKey, bucketingKey, attributes, mEvaluator)) {
+                String treatment = Splitter.getTreatment(bk, parsedSplit.seed(), parsedCondition.partitions(), parsedSplit.algo());
+                return result(parsedSplit, treatment, parsedCondition.label());
+            }
+        }
+        return result(parsedSplit, parsedSplit.defaultTreatment(), TreatmentLabels.DEFAULT_RULE);
+    }
+
+    private String[] result(ParsedSplit parsedSplit, String treatment, String label) {
+        String config = (parsedSplit.configurations() != null) ? parsedSplit.configurations().get(treatment) : null;
+        return new String[]{treatment, label, config};
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,16 +16,30 @@ import io.split.android.client.EvaluationResult;
 import io.split.android.client.Evaluator;
 import io.split.android.client.EvaluatorImpl;
 import io.split.android.client.TreatmentLabels;
+import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.DependencyMatcherData;
+import io.split.android.client.dtos.Matcher;
+import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.client.dtos.MatcherGroup;
+import io.split.android.client.dtos.MatcherType;
 import io.split.android.client.dtos.Split;
+import io.split.android.client.dtos.Status;
+import io.split.android.client.dtos.UserDefinedSegmentMatcherData;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.engine.ConditionsTestUtil;
 import io.split.android.engine.segments.RefreshableMySegmentsFetcherProvider;
 import io.split.android.fake.RefreshableMySegmentsFetcherProviderStub;
 import io.split.android.fake.SplitFetcherStub;
 import io.split.android.grammar.Treatments;
 import io.split.android.helpers.FileHelper;
 
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class EvaluatorTest {
@@ -99,6 +114,31 @@ public class EvaluatorTest {
         Assert.assertEquals("whitelisted segment", result.getLabel());
     }
 
+    @Test
+    public void sameOutcomeReturnsSameResult() {
+        String splitName = "FACUNDO_TEST";
+        EvaluationResult result = evaluator.getTreatment("anyKey", "anyKey", splitName, null);
+        EvaluationResult otherKeyResult = evaluator.getTreatment("otherKey", "otherKey", splitName, null);
+        EvaluationResult whitelistedResult = evaluator.getTreatment("nico_test", "nico_test", splitName, null);
+
+        Assert.assertSame(result, otherKeyResult);
+        Assert.assertSame(result.getSplitResult(), otherKeyResult.getSplitResult());
+        Assert.assertNotSame(result, whitelistedResult);
+        Assert.assertEquals(result.getTreatment(), result.getSplitResult().treatment());
+        Assert.assertEquals(result.getConfigurations(), result.getSplitResult().config());
+    }
+
+    @Test
+    public void resultsOfSameTreatmentShareSplitResult() {
+        String splitName = "FACUNDO_TEST";
+        EvaluationResult defaultResult = evaluator.getTreatment("anyKey", "anyKey", splitName, null);
+        EvaluationResult whitelistedResult = evaluator.getTreatment("bla", "bla", splitName, null);
+
+        Assert.assertEquals("off", whitelistedResult.getTreatment());
+        Assert.assertNotEquals(defaultResult.getLabel(), whitelistedResult.getLabel());
+        Assert.assertSame(defaultResult.getSplitResult(), whitelistedResult.getSplitResult());
+    }
+
     @Test
     public void testKilledSplit() {
         String matchingKey = "anyKey";
@@ -132,6 +172,157 @@ public class EvaluatorTest {
         Assert.assertEquals(TreatmentLabels.DEFINITION_NOT_FOUND, result.getLabel());
     }
 
+    @Test
+    public void testBatchSameResultsThanSingleEvaluations() {
+        FileHelper fileHelper = new FileHelper();
+        MySegmentsStorage mySegmentsStorage = mock(MySegmentsStorage.class);
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(mySegmentsStorage.getAll()).thenReturn(new HashSet<>(Arrays.asList("s1", "s2", "test_copy")));
+        List<Split> splits = fileHelper.loadAndParseSplitChangeFile("split_changes_1.json");
+        List<String> splitNames = new ArrayList<>();
+        for (Split split : splits) {
+            when(splitsStorage.get(split.name)).thenReturn(split);
+            splitNames.add(split.name);
+        }
+        splitNames.add("split_not_available_to_test_right_now");
+        Evaluator batchEvaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mySegmentsStorage));
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("atrib", 50);
+
+        for (String key : Arrays.asList("nico_test", "anyKey", "pepe")) {
+            Map<String, EvaluationResult> results = batchEvaluator.getTreatments(key, null, splitNames, attributes);
+
+            Assert.assertEquals(splitNames.size(), results.size());
+            for (String splitName : splitNames) {
+                EvaluationResult expected = batchEvaluator.getTreatment(key, null, splitName, attributes);
+                EvaluationResult result = results.get(splitName);
+                Assert.assertEquals(splitName, expected.getTreatment(), result.getTreatment());
+                Assert.assertEquals(splitName, expected.getLabel(), result.getLabel());
+                Assert.assertEquals(splitName, expected.getChangeNumber(), result.getChangeNumber());
+                Assert.assertEquals(splitName, expected.getConfigurations(), result.getConfigurations());
+            }
+        }
+    }
+
+    @Test
+    public void dependencyIsEvaluatedOnceInBatch() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("parent")).thenReturn(dependentSplit("parent", null));
+        when(splitsStorage.get("child1")).thenReturn(dependentSplit("child1", "parent"));
+        when(splitsStorage.get("child2")).thenReturn(dependentSplit("child2", "parent"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mock(MySegmentsStorage.class)));
+
+        Map<String, EvaluationResult> results = evaluator.getTreatments("key", null,
+                Arrays.asList("child1", "child2", "parent"), null);
+
+        Assert.assertEquals("on", results.get("parent").getTreatment());
+        Assert.assertEquals("on", results.get("child1").getTreatment());
+        Assert.assertEquals("on", results.get("child2").getTreatment());
+        verify(splitsStorage, times(1)).get("parent");
+    }
+
+    @Test
+    public void dependencyCycleEvaluatesToControl() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("a")).thenReturn(dependentSplit("a", "b"));
+        when(splitsStorage.get("b")).thenReturn(dependentSplit("b", "a"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mock(MySegmentsStorage.class)));
+
+        EvaluationResult result = evaluator.getTreatment("key", null, "a", null);
+
+        // b depends on a being "on", a is in progress so b sees control and falls to default
+        Assert.assertEquals("off", result.getTreatment());
+        Assert.assertEquals(TreatmentLabels.DEFAULT_RULE, result.getLabel());
+    }
+
+    @Test
+    public void onlySplitsWithDependenciesUseEvaluationContext() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("parent")).thenReturn(dependentSplit("parent", null));
+        when(splitsStorage.get("child")).thenReturn(dependentSplit("child", "parent"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mock(MySegmentsStorage.class)));
+
+        Assert.assertEquals("on", evaluator.getTreatment("key", null, "parent", null).getTreatment());
+        verify(splitsStorage, never()).getSnapshot();
+
+        Assert.assertEquals("on", evaluator.getTreatment("key", null, "child", null).getTreatment());
+        verify(splitsStorage, atLeastOnce()).getSnapshot();
+    }
+
+    @Test
+    public void deepDependencyChainIsCut() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        int chainLength = 100;
+        for (int i = 0; i < chainLength; i++) {
+            when(splitsStorage.get("s" + i)).thenReturn(dependentSplit("s" + i, i + 1 < chainLength ? "s" + (i + 1) : null));
+        }
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mock(MySegmentsStorage.class)));
+
+        Assert.assertEquals("on", evaluator.getTreatment("key", null, "s90", null).getTreatment());
+        Assert.assertEquals("off", evaluator.getTreatment("key", null, "s0", null).getTreatment());
+    }
+
+    @Test
+    public void sharedMatcherIsEvaluatedOnceInBatch() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        MySegmentsStorage mySegmentsStorage = mock(MySegmentsStorage.class);
+        when(mySegmentsStorage.getAll()).thenReturn(new HashSet<>(Arrays.asList("beta_users")));
+        List<String> splitNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Split split = dependentSplit("split" + i, null);
+            Matcher matcher = split.conditions.get(0).matcherGroup.matchers.get(0);
+            matcher.matcherType = MatcherType.IN_SEGMENT;
+            matcher.userDefinedSegmentMatcherData = new UserDefinedSegmentMatcherData();
+            matcher.userDefinedSegmentMatcherData.segmentName = "beta_users";
+            when(splitsStorage.get(split.name)).thenReturn(split);
+            splitNames.add(split.name);
+        }
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, new SplitParser(mySegmentsStorage));
+
+        Map<String, EvaluationResult> results = evaluator.getTreatments("key", null, splitNames, null);
+
+        for (String splitName : splitNames) {
+            Assert.assertEquals("on", results.get(splitName).getTreatment());
+        }
+        verify(mySegmentsStorage, times(1)).getAll();
+    }
+
+    /**
+     * Split returning "on" when the parent is "on", or always when there is no parent.
+     * Otherwise it returns the default treatment "off".
+     */
+    private Split dependentSplit(String name, String parent) {
+        Matcher matcher = new Matcher();
+        if (parent == null) {
+            matcher.matcherType = MatcherType.ALL_KEYS;
+        } else {
+            matcher.matcherType = MatcherType.IN_SPLIT_TREATMENT;
+            matcher.dependencyMatcherData = new DependencyMatcherData();
+            matcher.dependencyMatcherData.split = parent;
+            matcher.dependencyMatcherData.treatments = Arrays.asList("on");
+        }
+        MatcherGroup matcherGroup = new MatcherGroup();
+        matcherGroup.combiner = MatcherCombiner.AND;
+        matcherGroup.matchers = Arrays.asList(matcher);
+        Condition condition = new Condition();
+        condition.conditionType = ConditionType.ROLLOUT;
+        condition.matcherGroup = matcherGroup;
+        condition.partitions = Arrays.asList(ConditionsTestUtil.partition("on", 100));
+        condition.label = "in parent";
+
+        Split split = new Split();
+        split.name = name;
+        split.status = Status.ACTIVE;
+        split.trafficAllocation = 100;
+        split.trafficAllocationSeed = 1;
+        split.seed = 1;
+        split.defaultTreatment = "off";
+        split.conditions = Arrays.asList(condition);
+        split.changeNumber = 1;
+        split.algo = 2;
+        return split;
+    }
+
     private Map<String, Split> splitsMap(List<Split> splits) {
         Map<String, Split> splitsMap = new HashMap<>();
         for(Split split : splits) {
@@ -0,0 +1,61 @@
+package io.split.android.engine.experiments;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class KeyWhitelistIndexTest {
+
+    @Test
+    public void firstConditionWins() {
+        KeyWhitelistIndex index = index(
+                Lists.newArrayList("a", "b"),
+                Lists.newArrayList("b", "c"),
+                Lists.newArrayList("c", "b", "d"));
+
+        Assert.assertEquals(3, index.conditionCount());
+        Assert.assertEquals(0, index.firstConditionOf("a"));
+        Assert.assertEquals(0, index.firstConditionOf("b"));
+        Assert.assertEquals(1, index.firstConditionOf("c"));
+        Assert.assertEquals(2, index.firstConditionOf("d"));
+        Assert.assertEquals(KeyWhitelistIndex.NOT_FOUND, index.firstConditionOf("e"));
+        Assert.assertEquals(KeyWhitelistIndex.NOT_FOUND, index.firstConditionOf(null));
+    }
+
+    @Test
+    public void whitelistViewsHaveTheOriginalKeys() {
+        KeyWhitelistIndex index = index(
+                Lists.newArrayList("a", "b", "a"),
+                Lists.newArrayList("b", "c"),
+                Lists.newArrayList("c", "b", "d"));
+
+        Assert.assertEquals(Sets.newHashSet("a", "b"), index.whitelist(0));
+        Assert.assertEquals(Sets.newHashSet("b", "c"), index.whitelist(1));
+        Assert.assertEquals(Sets.newHashSet("b", "c", "d"), index.whitelist(2));
+        Assert.assertEquals(Sets.newHashSet("b", "c", "d").hashCode(), index.whitelist(2).hashCode());
+        Assert.assertTrue(index.whitelist(2).contains("b"));
+        Assert.assertFalse(index.whitelist(0).contains("c"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void whitelistViewsAreReadOnly() {
+        Set<String> whitelist = index(Lists.newArrayList("a"), Lists.newArrayList("b")).whitelist(0);
+
+        whitelist.add("c");
+    }
+
+    @SafeVarargs
+    private final KeyWhitelistIndex index(List<String>... whitelists) {
+        List<Collection<String>> list = Lists.newArrayList();
+        for (List<String> whitelist : whitelists) {
+            list.add(whitelist);
+        }
+        return new KeyWhitelistIndex(list);
+    }
+}
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 
 import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
 import io.split.android.client.dtos.DataType;
 import io.split.android.client.dtos.Matcher;
 import io.split.android.client.dtos.MatcherCombiner;
@@ -21,6 +22,8 @@ import io.split.android.client.dtos.Split;
 import io.split.android.client.dtos.Status;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.engine.ConditionsTestUtil;
+import io.split.android.engine.SplitInterpreter;
+import io.split.android.engine.SplitProgram;
 import io.split.android.engine.matchers.AttributeMatcher;
 import io.split.android.engine.matchers.BetweenMatcher;
 import io.split.android.engine.matchers.CombiningMatcher;
@@ -33,6 +36,7 @@ import io.split.android.engine.matchers.collections.PartOfSetMatcher;
 import io.split.android.engine.matchers.strings.ContainsAnyOfMatcher;
 import io.split.android.engine.matchers.strings.EndsWithAnyOfMatcher;
 import io.split.android.engine.matchers.strings.StartsWithAnyOfMatcher;
+import io.split.android.engine.matchers.strings.WhitelistMatcher;
 import io.split.android.engine.segments.RefreshableMySegmentsFetcherProviderImpl;
 import io.split.android.engine.segments.StaticMySegmentsFectherProvider;
 import io.split.android.grammar.Treatments;
@@ -40,6 +44,7 @@ import io.split.android.helpers.SplitHelper;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -329,6 +334,117 @@ public class SplitParserTest {
         assertThat(actual, is(equalTo(expected)));
     }
 
+    @Test
+    public void matchersAreSortedByEvaluationCost() {
+        SplitParser parser = SplitParser.get(mMySegmentsStorage);
+
+        Matcher startsWith = ConditionsTestUtil.whitelistMatcher("user", "name", Lists.newArrayList("a"), false, MatcherType.STARTS_WITH);
+        Matcher ageEqualTo10 = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 10L, false);
+        List<Partition> partitions = Lists.newArrayList(ConditionsTestUtil.partition("on", 100));
+        Condition c = ConditionsTestUtil.and(startsWith, ageEqualTo10, partitions);
+
+        ParsedSplit actual = parser.parse(makeSplit("splitName", Lists.newArrayList(c)));
+
+        AttributeMatcher equalToMatcher = new AttributeMatcher("age", new EqualToMatcher(10, DataType.NUMBER), false);
+        AttributeMatcher startsWithMatcher = new AttributeMatcher("name", new StartsWithAnyOfMatcher(Lists.newArrayList("a")), false);
+        CombiningMatcher combiningMatcher = new CombiningMatcher(MatcherCombiner.AND, Lists.newArrayList(equalToMatcher, startsWithMatcher));
+
+        assertThat(actual.parsedConditions().get(0).matcher(), is(equalTo(combiningMatcher)));
+    }
+
+    @Test
+    public void leadingKeyWhitelistsAreMerged() {
+        SplitParser parser = SplitParser.get(mMySegmentsStorage);
+        List<Condition> conditions = Lists.newArrayList(
+                ConditionsTestUtil.makeWhitelistCondition(ConditionType.WHITELIST, Lists.newArrayList("k1", "k2"),
+                        Lists.newArrayList(ConditionsTestUtil.partition("on", 100))),
+                ConditionsTestUtil.makeWhitelistCondition(ConditionType.WHITELIST, Lists.newArrayList("k2", "k3", "k3"),
+                        Lists.newArrayList(ConditionsTestUtil.partition("off", 100))),
+                ConditionsTestUtil.makeWhitelistCondition(ConditionType.WHITELIST, Lists.newArrayList("k4"),
+                        Lists.newArrayList(ConditionsTestUtil.partition("v1", 50), ConditionsTestUtil.partition("v2", 50))),
+                ConditionsTestUtil.makeWhitelistCondition(ConditionType.ROLLOUT, Lists.newArrayList("k5"),
+                        Lists.newArrayList(ConditionsTestUtil.partition("v3", 100))));
+        conditions.get(0).label = "whitelisted on";
+        conditions.get(1).label = "whitelisted off";
+
+        ParsedSplit actual = parser.parse(makeSplit("splitName", conditions));
+        SplitProgram program = actual.program();
+
+        KeyWhitelistIndex index = actual.keyWhitelistIndex();
+        assertThat(index.conditionCount(), is(3));
+        assertThat(index.firstConditionOf("k2"), is(0));
+        assertThat(index.firstConditionOf("k3"), is(1));
+        assertThat(index.firstConditionOf("k5"), is(KeyWhitelistIndex.NOT_FOUND));
+        assertThat(actual.parsedConditions().get(1).matcher().attributeMatchers().get(0).matcher(),
+                is(equalTo(new AttributeMatcher(null, new WhitelistMatcher(Lists.newArrayList("k2", "k3")), false).matcher())));
+
+        int outcome = SplitInterpreter.evaluate(program, "k2", null, null, null);
+        assertThat(program.treatment(outcome), is(equalTo("on")));
+        assertThat(program.label(outcome), is(equalTo("whitelisted on")));
+        outcome = SplitInterpreter.evaluate(program, "k3", null, null, null);
+        assertThat(program.treatment(outcome), is(equalTo("off")));
+        assertThat(program.label(outcome), is(equalTo("whitelisted off")));
+        assertThat(program.treatment(SplitInterpreter.evaluate(program, "k5", null, null, null)), is(equalTo("v3")));
+        assertThat(program.treatment(SplitInterpreter.evaluate(program, "other", null, null, null)), is(equalTo(Treatments.OFF)));
+        String k4Treatment = program.treatment(SplitInterpreter.evaluate(program, "k4", null, null, null));
+        assertThat(k4Treatment.equals("v1") || k4Treatment.equals("v2"), is(true));
+    }
+
+    @Test
+    public void singleWhitelistIsNotMerged() {
+        SplitParser parser = SplitParser.get(mMySegmentsStorage);
+        List<Condition> conditions = Lists.newArrayList(
+                ConditionsTestUtil.makeWhitelistCondition(ConditionType.WHITELIST, Lists.newArrayList("k1"),
+                        Lists.newArrayList(ConditionsTestUtil.partition("on", 100))),
+                ConditionsTestUtil.makeAllKeysCondition(Lists.newArrayList(ConditionsTestUtil.partition("off", 100))));
+
+        ParsedSplit actual = parser.parse(makeSplit("splitName", conditions));
+
+        assertThat(actual.keyWhitelistIndex(), is(nullValue()));
+    }
+
+    @Test
+    public void equalMatchersAreInternedAcrossSplits() {
+        SplitParser parser = SplitParser.get(mMySegmentsStorage);
+        List<Partition> partitions = Lists.newArrayList(ConditionsTestUtil.partition("on", 100));
+        Matcher age1 = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 10L, false);
+        Matcher age2 = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 10L, false);
+        Matcher date = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.DATETIME, 10L, false);
+        Matcher negated = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 10L, true);
+
+        ParsedSplit split1 = parser.parse(makeSplit("split1", Lists.newArrayList(ConditionsTestUtil.and(age1, partitions))));
+        ParsedSplit split2 = parser.parse(makeSplit("split2", Lists.newArrayList(ConditionsTestUtil.and(age2, date, partitions),
+                ConditionsTestUtil.and(negated, partitions))));
+
+        AttributeMatcher matcher1 = split1.parsedConditions().get(0).matcher().attributeMatchers().get(0);
+        AttributeMatcher matcher2 = split2.parsedConditions().get(0).matcher().attributeMatchers().get(0);
+        assertThat(matcher1 == matcher2, is(true));
+        assertThat(split1.matcherIds()[0], is(split2.matcherIds()[0]));
+        assertThat(split2.matcherIds()[1] != split2.matcherIds()[0], is(true));
+        assertThat(split2.matcherIds()[2] != split2.matcherIds()[0], is(true));
+        assertThat(parser.internedMatcherCount(), is(3));
+    }
+
+    @Test
+    public void updatingSplitsDoesNotGrowInternedMatchersWithoutBound() {
+        SplitParser parser = SplitParser.get(mMySegmentsStorage);
+        List<Partition> partitions = Lists.newArrayList(ConditionsTestUtil.partition("on", 100));
+        Matcher shared = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 10L, false);
+        parser.parse(makeSplit("stable", Lists.newArrayList(ConditionsTestUtil.and(shared, partitions))));
+
+        ParsedSplit updated = null;
+        for (long value = 0; value < 5 * MatcherInterner.MIN_REBUILD_SIZE; value++) {
+            Matcher matcher = ConditionsTestUtil.numericMatcher("user", "age", MatcherType.EQUAL_TO, DataType.NUMBER, 100L + value, false);
+            updated = parser.parse(makeSplit("updated", Lists.newArrayList(ConditionsTestUtil.and(matcher, partitions)), value, null));
+        }
+        ParsedSplit stable = parser.parse(makeSplit("stable", Lists.newArrayList(ConditionsTestUtil.and(shared, partitions))));
+
+        assertThat(parser.internedMatcherCount() <= MatcherInterner.MIN_REBUILD_SIZE, is(true));
+        assertThat(updated.matcherIds()[0] != MatcherInterner.NO_ID, is(true));
+        assertThat(parser.hasCurrentMatcherIds(updated), is(true));
+        assertThat(parser.hasCurrentMatcherIds(stable), is(true));
+    }
+
     private Split makeSplit(String name, List<Condition> conditions) {
         return makeSplit(name, conditions, (long) 1,null);
     }
@@ -4,11 +4,13 @@ import com.google.common.collect.Lists;
 
 import io.split.android.engine.matchers.AllKeysMatcher;
 import io.split.android.engine.matchers.AttributeMatcher;
+import io.split.android.client.Evaluator;
 import io.split.android.client.dtos.MatcherCombiner;
 import io.split.android.engine.matchers.strings.WhitelistMatcher;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -31,4 +33,20 @@ public class CombiningMatcherTest {
         assertThat(combiner.match("c", null, null, null), is(false));
     }
 
+    @Test
+    public void and_stops_on_first_non_matching() {
+        Matcher failing = new WhitelistMatcher(Lists.newArrayList("a"));
+        Matcher notEvaluated = new Matcher() {
+            @Override
+            public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
+                throw new IllegalStateException("Should not be evaluated");
+            }
+        };
+
+        CombiningMatcher combiner = new CombiningMatcher(MatcherCombiner.AND,
+                Lists.newArrayList(AttributeMatcher.vanilla(failing), AttributeMatcher.vanilla(notEvaluated)));
+
+        assertThat(combiner.match("b", null, null, null), is(false));
+    }
+
 }
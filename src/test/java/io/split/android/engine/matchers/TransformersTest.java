@@ -3,6 +3,8 @@ package io.split.android.engine.matchers;
 import org.junit.Test;
 
 import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
 
 import static io.split.android.engine.matchers.Transformers.asDate;
 import static io.split.android.engine.matchers.Transformers.asDateHourMinute;
@@ -10,6 +12,7 @@ import static io.split.android.engine.matchers.Transformers.asLong;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 public class TransformersTest {
@@ -44,4 +47,38 @@ public class TransformersTest {
         assertThat(asDate(Calendar.getInstance()), is(nullValue()));
     }
 
+    @Test
+    public void truncationIsSameThanUtcCalendar() {
+        Random random = new Random(42);
+        long[] values = new long[1000];
+        values[0] = 0;
+        values[1] = -1;
+        values[2] = 1460420421903L;
+        values[3] = -1460420421903L;
+        for (int i = 4; i < values.length; i++) {
+            values[i] = (random.nextLong() % 8000000000000L);
+        }
+
+        for (long value : values) {
+            Calendar c = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            c.setTimeInMillis(value);
+            c.set(Calendar.SECOND, 0);
+            c.set(Calendar.MILLISECOND, 0);
+            assertEquals(c.getTimeInMillis(), Transformers.truncateToMinute(value));
+
+            c.set(Calendar.HOUR_OF_DAY, 0);
+            c.set(Calendar.MINUTE, 0);
+            assertEquals(c.getTimeInMillis(), Transformers.truncateToDay(value));
+        }
+    }
+
+    @Test
+    public void isLongWorks() {
+        assertThat(Transformers.isLong(19), is(true));
+        assertThat(Transformers.isLong(19L), is(true));
+        assertThat(Transformers.isLong("19"), is(false));
+        assertThat(Transformers.isLong(19.0), is(false));
+        assertThat(Transformers.isLong(null), is(false));
+    }
+
 }
@@ -0,0 +1,69 @@
+package io.split.android.engine.matchers.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class StringSetIndexTest {
+
+    @Test
+    public void smallAndBigSetsGiveDenseIds() {
+        for (int size : new int[]{0, 1, StringSetIndex.SMALL_SIZE, StringSetIndex.SMALL_SIZE + 1, 64, 65, 200}) {
+            StringSetIndex index = new StringSetIndex(values(size));
+            Set<Integer> ids = new HashSet<>();
+            for (String value : values(size)) {
+                int id = index.idOf(value);
+                Assert.assertTrue(id >= 0 && id < size);
+                ids.add(id);
+            }
+            Assert.assertEquals(size, index.size());
+            Assert.assertEquals(size, ids.size());
+            Assert.assertEquals(-1, index.idOf("missing"));
+        }
+    }
+
+    @Test
+    public void coverageCountsEveryValueOnce() {
+        for (int size : new int[]{3, 64, 65, 200}) {
+            StringSetIndex index = new StringSetIndex(values(size));
+            List<Object> attribute = new ArrayList<Object>(values(size));
+            attribute.add("other");
+
+            Assert.assertTrue(index.isCoveredBy(attribute));
+
+            attribute.remove("v0");
+            attribute.add("v1");
+            Assert.assertFalse(index.isCoveredBy(attribute));
+        }
+    }
+
+    @Test
+    public void nonStringValuesAreComparedAsStrings() {
+        StringSetIndex index = new StringSetIndex(new HashSet<>(Arrays.asList("1", "true")));
+
+        Assert.assertTrue(index.isCoveredBy(Arrays.<Object>asList(1, true)));
+        Assert.assertTrue(index.contains(StringSetIndex.asString(1)));
+    }
+
+    @Test
+    public void nullInWhitelistIsNeverCovered() {
+        StringSetIndex index = new StringSetIndex(new HashSet<>(Arrays.asList("a", null)));
+
+        Assert.assertTrue(index.hasNull());
+        Assert.assertTrue(index.contains("a"));
+        Assert.assertFalse(index.isCoveredBy(Arrays.asList("a", "b")));
+    }
+
+    private Set<String> values(int size) {
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add("v" + i);
+        }
+        return values;
+    }
+}
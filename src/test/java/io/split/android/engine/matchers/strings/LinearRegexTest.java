@@ -0,0 +1,67 @@
+package io.split.android.engine.matchers.strings;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+public class LinearRegexTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "^abc", "abc$", "a|b", "^abc|abc$", "ab{2,4}c", "ab{2,}c", "ab*c", "ab+c", "ab?c",
+            "a.c", "a\\.c", "[abc]", "[Aa]bc", "[abc]+", "[^abc]+", "\\d\\d", "\\w+", "\\W+", "100\\s*mk",
+            "(abc){3}", "^[a-z0-9_-]{3,16}$", "^[a-z0-9-]+$", "^(19|20)\\d{2}$", "^-?\\d*\\.?\\d+$",
+            "^([a-z0-9_\\.-]+)@([\\da-z\\.-]+)\\.([a-z\\.]{2,6})$",
+            "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$",
+            "^([1-9]|0[1-9]|[12][0-9]|3[01])\\D([1-9]|0[1-9]|1[012])\\D(19[0-9][0-9]|20[0-9][0-9])$",
+            "", "^", "$", "^$", "a*", "(a*)*b", "(a|)+$", "a+?b", "x{0}y", "[\\s\\d]+$", "[-a]", "[a-]",
+            ".$", "\\u0041\\x42", "\\t\\n", "[^\\S]", "}", "]", "(?:)"
+    };
+
+    private static final String[] VALUES = {
+            "", "a", "b", "abc", "zabcd", "abcabc", "abbbc", "ac", "a.c", "Abc", "xzy", "11", "1a1", "foo-1",
+            "100    mk", "abcabcabc", "my-us3r_n4m3", "1900", "-12.3", "john@doe.com", "73.60.124.136",
+            "11/11/2011", "13/13/2011", "aaab", "abc\n", "abc\r\n", "abc\n\n", "\n", "\r", "a ", "AB",
+            "\t\n", " 12 ", "-", "}", "]", "x", "y", "😀", "a😀c"
+    };
+
+    @Test
+    public void sameResultsThanJavaRegex() {
+        for (String pattern : PATTERNS) {
+            LinearRegex linear = LinearRegex.compile(pattern);
+            Assert.assertNotNull(pattern, linear);
+            Pattern java = Pattern.compile(pattern);
+            for (String value : VALUES) {
+                Assert.assertEquals("/" + pattern + "/ " + value,
+                        java.matcher(value).find(), linear.find(value));
+            }
+        }
+    }
+
+    @Test
+    public void unsupportedConstructsAreRejected() {
+        String[] unsupported = {
+                "abc\\b", "perl\\B", "(a)\\1", "(?=a)", "(?!a)", "(?<=a)b", "(?i)abc", "a*+", "a++",
+                "\\p{L}", "\\Qa.b\\E", "[a[b]]", "[a-z&&[^c]]", "\\A", "\\z", "a{1000}", "(a{100}){100}"
+        };
+        for (String pattern : unsupported) {
+            Pattern.compile(pattern);
+            Assert.assertNull(pattern, LinearRegex.compile(pattern));
+        }
+    }
+
+    @Test
+    public void pathologicalPatternRunsInLinearTime() {
+        LinearRegex linear = LinearRegex.compile("^(a+)+$");
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append('a');
+        }
+        value.append('b');
+
+        long start = System.currentTimeMillis();
+        Assert.assertFalse(linear.find(value.toString()));
+        Assert.assertTrue(linear.find(value.substring(0, 5000)));
+        Assert.assertTrue(System.currentTimeMillis() - start < 2000);
+    }
+}
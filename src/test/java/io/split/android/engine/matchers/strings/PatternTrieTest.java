@@ -0,0 +1,96 @@
+package io.split.android.engine.matchers.strings;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PatternTrieTest {
+
+    private static final String ALPHABET = "abc@.";
+
+    @Test
+    public void prefixes() {
+        PatternTrie trie = PatternTrie.forPrefixes(Lists.newArrayList("1.2", "1.10", "", "2"));
+
+        assertThat(trie.matches("1.2.3"), is(true));
+        assertThat(trie.matches("1.10"), is(true));
+        assertThat(trie.matches("2.0"), is(true));
+        assertThat(trie.matches("1.1"), is(false));
+        assertThat(trie.matches(""), is(false));
+    }
+
+    @Test
+    public void suffixes() {
+        PatternTrie trie = PatternTrie.forSuffixes(Lists.newArrayList("@split.io", "@gmail.com"));
+
+        assertThat(trie.matches("user@split.io"), is(true));
+        assertThat(trie.matches("user@gmail.com"), is(true));
+        assertThat(trie.matches("user@split.io.ar"), is(false));
+        assertThat(trie.matches("split.io"), is(false));
+    }
+
+    @Test
+    public void substrings() {
+        PatternTrie trie = PatternTrie.forSubstrings(Lists.newArrayList("he", "she", "his", "hers"));
+
+        assertThat(trie.matches("ushers"), is(true));
+        assertThat(trie.matches("xhisx"), is(true));
+        assertThat(trie.matches("hhhh"), is(false));
+        assertThat(trie.matches("sh"), is(false));
+    }
+
+    @Test
+    public void onlyEmptyPatternsNeverMatch() {
+        assertThat(PatternTrie.forPrefixes(Lists.newArrayList("")).matches("a"), is(false));
+        assertThat(PatternTrie.forSuffixes(Lists.newArrayList("")).matches("a"), is(false));
+        assertThat(PatternTrie.forSubstrings(Lists.newArrayList("")).matches("a"), is(false));
+    }
+
+    @Test
+    public void sameResultsThanStringMethods() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            int patternCount = 1 + random.nextInt(10);
+            for (int i = 0; i < patternCount; i++) {
+                patterns.add(randomString(random, random.nextInt(5)));
+            }
+            PatternTrie prefixes = PatternTrie.forPrefixes(patterns);
+            PatternTrie suffixes = PatternTrie.forSuffixes(patterns);
+            PatternTrie substrings = PatternTrie.forSubstrings(patterns);
+
+            for (int i = 0; i < 50; i++) {
+                String value = randomString(random, random.nextInt(12));
+                boolean startsWith = false;
+                boolean endsWith = false;
+                boolean contains = false;
+                for (String pattern : patterns) {
+                    if (pattern.isEmpty()) {
+                        continue;
+                    }
+                    startsWith |= value.startsWith(pattern);
+                    endsWith |= value.endsWith(pattern);
+                    contains |= value.contains(pattern);
+                }
+                assertThat(prefixes.matches(value), is(startsWith));
+                assertThat(suffixes.matches(value), is(endsWith));
+                assertThat(substrings.matches(value), is(contains));
+            }
+        }
+    }
+
+    private String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package io.split.android.engine.matchers.strings;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+public class RegexCacheTest {
+
+    @Test
+    public void samePatternIsCompiledOnce() {
+        RegexCache cache = new RegexCache(10, true);
+
+        RegexCache.CompiledRegex first = cache.get("^a+b$");
+        RegexCache.CompiledRegex second = cache.get("^a+b$");
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void fallsBackToJavaRegexForUnsupportedPatterns() {
+        RegexCache cache = new RegexCache(10, true);
+
+        RegexCache.CompiledRegex linear = cache.get("^ab+c$");
+        RegexCache.CompiledRegex fallback = cache.get("abc\\b");
+
+        Assert.assertTrue(linear.isLinear());
+        Assert.assertTrue(linear.find("abbc"));
+        Assert.assertFalse(fallback.isLinear());
+        Assert.assertTrue(fallback.find("abc!"));
+        Assert.assertFalse(fallback.find("abcd"));
+    }
+
+    @Test
+    public void linearMatchingCanBeDisabled() {
+        RegexCache cache = new RegexCache(10, false);
+
+        RegexCache.CompiledRegex regex = cache.get("^ab+c$");
+
+        Assert.assertFalse(regex.isLinear());
+        Assert.assertTrue(regex.find("abbc"));
+    }
+
+    @Test
+    public void cacheIsEmptiedWhenFull() {
+        RegexCache cache = new RegexCache(2, true);
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidPatternThrows() {
+        new RegexCache(10, true).get("(abc");
+    }
+}
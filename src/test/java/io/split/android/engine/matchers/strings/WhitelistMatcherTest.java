@@ -1,10 +1,12 @@
 package io.split.android.engine.matchers.strings;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import io.split.android.engine.matchers.strings.WhitelistMatcher;
 
@@ -43,4 +45,19 @@ public class WhitelistMatcherTest {
 
     }
 
+    @Test
+    public void sharing_uses_the_given_set() {
+        Set<String> whitelist = Sets.newHashSet("a", "b");
+
+        WhitelistMatcher matcher = WhitelistMatcher.sharing(whitelist);
+
+        assertThat(matcher.whitelist() == whitelist, is(true));
+        assertThat(matcher.match("a", null, null, null), is(true));
+        assertThat(new WhitelistMatcher(whitelist).whitelist() == whitelist, is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sharing_null_whitelist_fails() {
+        WhitelistMatcher.sharing(null);
+    }
 }
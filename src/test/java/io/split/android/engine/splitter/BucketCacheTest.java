@@ -0,0 +1,57 @@
+package io.split.android.engine.splitter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BucketCacheTest {
+
+    @Test
+    public void sameBucketsThanSplitter() {
+        BucketCache bucketCache = new BucketCache("some_key");
+
+        for (int seed = -1000; seed < 1000; seed += 7) {
+            for (int algo = 1; algo <= 2; algo++) {
+                Assert.assertEquals(Splitter.getBucket("some_key", seed, algo), bucketCache.getBucket("some_key", seed, algo));
+                Assert.assertEquals(Splitter.getBucket("some_key", seed, algo), bucketCache.getBucket("some_key", seed, algo));
+                Assert.assertEquals(Splitter.getBucket("other_key", seed, algo), bucketCache.getBucket("other_key", seed, algo));
+            }
+        }
+    }
+
+    @Test
+    public void repeatedLookupsReturnCachedBucket() {
+        BucketCache bucketCache = new BucketCache("some_key");
+
+        for (int seed = 0; seed < 100; seed++) {
+            bucketCache.getBucket("some_key", seed, 2);
+        }
+        Assert.assertEquals(100, bucketCache.size());
+
+        for (int seed = 0; seed < 100; seed++) {
+            Assert.assertEquals(Splitter.getBucket("some_key", seed, 2), bucketCache.getBucket("some_key", seed, 2));
+        }
+        Assert.assertEquals(100, bucketCache.size());
+    }
+
+    @Test
+    public void otherKeysAreNotCached() {
+        BucketCache bucketCache = new BucketCache("some_key");
+
+        bucketCache.getBucket("other_key", 1, 2);
+
+        Assert.assertEquals(0, bucketCache.size());
+    }
+
+    @Test
+    public void bucketsAreRightWhenTableIsFull() {
+        BucketCache bucketCache = new BucketCache("some_key");
+
+        for (int seed = 0; seed < BucketCache.CAPACITY * 2; seed++) {
+            Assert.assertEquals(Splitter.getBucket("some_key", seed, 1), bucketCache.getBucket("some_key", seed, 1));
+        }
+        for (int seed = 0; seed < BucketCache.CAPACITY * 2; seed++) {
+            Assert.assertEquals(Splitter.getBucket("some_key", seed, 1), bucketCache.getBucket("some_key", seed, 1));
+        }
+        Assert.assertTrue(bucketCache.size() <= BucketCache.CAPACITY);
+    }
+}
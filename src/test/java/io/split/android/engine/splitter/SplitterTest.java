@@ -138,6 +138,28 @@ public class SplitterTest {
         assertThat(Splitter.getTreatment("13", 15, partitions, 1), is(equalTo("on")));
     }
 
+    @Test
+    public void bucketTreatmentsSameAsPartitionsWalk() {
+        List<Partition> partitions = Lists.newArrayList(partition("on", 33), partition("off", 33), partition("v3", 20));
+        String[] bucketTreatments = Splitter.bucketTreatments(partitions);
+
+        assertThat(bucketTreatments.length, is(equalTo(100)));
+        for (int i = 0; i < 10000; i++) {
+            String key = "key" + i;
+            int bucket = Splitter.getBucket(key, 123, 2);
+            assertThat(bucketTreatments[bucket - 1], is(equalTo(Splitter.getTreatment(key, 123, partitions, 2))));
+        }
+    }
+
+    @Test
+    public void bucketTreatmentsWithoutPartitionsAreControl() {
+        String[] bucketTreatments = Splitter.bucketTreatments(Lists.<Partition>newArrayList());
+
+        for (String treatment : bucketTreatments) {
+            assertThat(treatment, is(equalTo("control")));
+        }
+    }
+
     private Partition partition(String treatment, int size) {
         Partition p = new Partition();
         p.treatment = treatment;
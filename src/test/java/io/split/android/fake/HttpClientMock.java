@@ -6,6 +6,7 @@ import java.util.Map;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpStreamRequest;
 
 public class HttpClientMock implements HttpClient {
@@ -29,6 +30,11 @@ public class HttpClientMock implements HttpClient {
         return null;
     }
 
+    @Override
+    public HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBody body) {
+        return null;
+    }
+
     @Override
     public void close() {
 
@@ -16,12 +16,16 @@ import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpClientImpl;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBody;
 import io.split.android.client.network.HttpResponse;
 import io.split.android.client.utils.Json;
 import io.split.android.helpers.FileHelper;
@@ -30,6 +34,8 @@ import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.Okio;
 
 public class HttpClientTest {
 
@@ -182,6 +188,78 @@ public class HttpClientTest {
         Assert.assertNull(badResp.getData());
     }
 
+    @Test
+    public void streamedPost() throws Exception {
+        final String postTracksData = new FileHelper().loadFileContent("tracks_1.json");
+        HttpRequestBody body = new HttpRequestBody() {
+            @Override
+            public void writeTo(OutputStream stream) throws IOException {
+                stream.write(postTracksData.getBytes("UTF-8"));
+            }
+        };
+
+        HttpResponse plainResp = new HttpClientImpl().request(mWebServer.url("/tracks/").uri(), HttpMethod.POST, body).execute();
+        RecordedRequest plainRecReq = mWebServer.takeRequest();
+        HttpResponse belowThresholdResp = new HttpClientImpl(postTracksData.length(), false)
+                .request(mWebServer.url("/tracks/").uri(), HttpMethod.POST, body).execute();
+        RecordedRequest belowThresholdRecReq = mWebServer.takeRequest();
+        HttpResponse gzipResp = new HttpClientImpl(100, false)
+                .request(mWebServer.url("/tracks/").uri(), HttpMethod.POST, body).execute();
+        RecordedRequest gzipRecReq = mWebServer.takeRequest();
+
+        Assert.assertTrue(plainResp.isSuccess());
+        Assert.assertEquals("chunked", plainRecReq.getHeader("Transfer-Encoding"));
+        Assert.assertNull(plainRecReq.getHeader("Content-Encoding"));
+        Assert.assertEquals(postTracksData, plainRecReq.getBody().readUtf8());
+
+        Assert.assertTrue(belowThresholdResp.isSuccess());
+        Assert.assertNull(belowThresholdRecReq.getHeader("Content-Encoding"));
+        Assert.assertEquals(postTracksData, belowThresholdRecReq.getBody().readUtf8());
+
+        Assert.assertTrue(gzipResp.isSuccess());
+        Assert.assertEquals("chunked", gzipRecReq.getHeader("Transfer-Encoding"));
+        Assert.assertEquals("gzip", gzipRecReq.getHeader("Content-Encoding"));
+        Assert.assertEquals(postTracksData, gunzip(gzipRecReq.getBody()));
+    }
+
+    @Test
+    public void compressedPost() throws Exception {
+        String postTracksData = new FileHelper().loadFileContent("tracks_1.json");
+        HttpClient client = new HttpClientImpl(100, false);
+
+        HttpResponse smallResp = client.request(mWebServer.url("/tracks/").uri(), HttpMethod.POST, "[]").execute();
+        RecordedRequest smallRecReq = mWebServer.takeRequest();
+        HttpResponse gzipResp = client.request(mWebServer.url("/tracks/").uri(), HttpMethod.POST, postTracksData).execute();
+        RecordedRequest gzipRecReq = mWebServer.takeRequest();
+
+        Assert.assertTrue(smallResp.isSuccess());
+        Assert.assertNull(smallRecReq.getHeader("Content-Encoding"));
+        Assert.assertEquals("[]", smallRecReq.getBody().readUtf8());
+
+        Assert.assertTrue(gzipResp.isSuccess());
+        Assert.assertEquals("gzip", gzipRecReq.getHeader("Content-Encoding"));
+        Assert.assertTrue(gzipRecReq.getBodySize() < postTracksData.length());
+        Assert.assertEquals(postTracksData, gunzip(gzipRecReq.getBody()));
+    }
+
+    @Test
+    public void compressedResponse() throws Exception {
+        HttpResponse gzipResp = new HttpClientImpl(HttpClientImpl.NO_REQUEST_COMPRESSION, true)
+                .request(mWebServer.url("/gzip/").uri(), HttpMethod.GET).execute();
+        RecordedRequest gzipRecReq = mWebServer.takeRequest();
+        HttpResponse plainResp = new HttpClientImpl()
+                .request(mWebServer.url("/gzip/").uri(), HttpMethod.GET).execute();
+        RecordedRequest plainRecReq = mWebServer.takeRequest();
+
+        Assert.assertEquals("gzip", gzipRecReq.getHeader("Accept-Encoding"));
+        Assert.assertTrue(gzipResp.isSuccess());
+        Assert.assertEquals(30, Json.fromJson(gzipResp.getData(), SplitChange.class).splits.size());
+
+        Assert.assertNull(plainRecReq.getHeader("Accept-Encoding"));
+        Assert.assertTrue(plainResp.isSuccess());
+        Assert.assertEquals(30, Json.fromJson(plainResp.getData(), SplitChange.class).splits.size());
+    }
+
     @After
     public void tearDown() throws IOException {
         mWebServer.shutdown();
@@ -207,6 +285,14 @@ public class HttpClientTest {
                     case "/test3/":
                         return new MockResponse().setResponseCode(200).setBody(splitChangesResponse);
 
+                    case "/gzip/":
+                        if ("gzip".equals(request.getHeader("Accept-Encoding"))) {
+                            return new MockResponse().setResponseCode(200)
+                                    .setHeader("Content-Encoding", "gzip")
+                                    .setBody(gzip(splitChangesResponse));
+                        }
+                        return new MockResponse().setResponseCode(200).setBody(splitChangesResponse);
+
                     case "/test4/":
                         return new MockResponse().setResponseCode(200);
 
@@ -239,6 +325,24 @@ public class HttpClientTest {
         System.out.println("FACTORY_TEST: " + m);
     }
 
+    private Buffer gzip(String data) {
+        Buffer compressed = new Buffer();
+        try {
+            GZIPOutputStream gzipStream = new GZIPOutputStream(compressed.outputStream());
+            gzipStream.write(data.getBytes("UTF-8"));
+            gzipStream.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return compressed;
+    }
+
+    private String gunzip(Buffer body) throws IOException {
+        Buffer decoded = new Buffer();
+        decoded.writeAll(Okio.source(new GZIPInputStream(body.inputStream())));
+        return decoded.readUtf8();
+    }
+
     private List<MySegment> parseMySegments(String json) {
         Type mapType = new TypeToken<Map<String, List<MySegment>>>() {
         }.getType();